@@ -0,0 +1,60 @@
+package cli.benchmark;
+
+import cli.analyzer.RestAnalyzer;
+import cli.generator.SpecGenerator;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.utility.Output;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a definition, maps its lines and checks all rules, like a single analysis on the command line without
+ * writing the report. Every run works on new rule objects, like every analysis of a batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"100", "1000", "10000"})
+    public int paths;
+
+    private String contents;
+    private List<IRestRule> rules;
+
+    @Setup
+    public void setUp() {
+        Output.setInteractive(false);
+        this.contents = new SpecGenerator(SEED).paths(this.paths)
+                .violationsPerRule(this.paths / 100).generate(SpecGenerator.Format.JSON);
+        this.rules = new ActiveRules().getAllRuleObjects();
+        this.rules.forEach(rule -> rule.setIsActive(true));
+        // loads the dictionaries and models before the first measurement
+        RestAnalyzer.warmUp();
+    }
+
+    @Benchmark
+    public int analyze(Blackhole blackhole) {
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(this.contents);
+        return restAnalyzer.runRuleViolationChecks(ActiveRules.copyRuleObjects(this.rules), blackhole::consume);
+    }
+}
@@ -0,0 +1,56 @@
+package cli.benchmark;
+
+import cli.analyzer.LOCMapper;
+import cli.generator.SpecGenerator;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the paths of an already parsed definition to their lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LocMapperBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"100", "1000", "10000"})
+    public int paths;
+
+    private String contents;
+    private OpenAPI openAPI;
+
+    @Setup
+    public void setUp() {
+        this.contents = new SpecGenerator(SEED).paths(this.paths)
+                .violationsPerRule(this.paths / 100).generate(SpecGenerator.Format.JSON);
+        this.openAPI = new OpenAPIParser().readContents(this.contents, null, null).getOpenAPI();
+    }
+
+    @Benchmark
+    public LOCMapper mapOpenAPIKeysToLOC() throws IOException {
+        LOCMapper locMapper = new LOCMapper(this.openAPI, null);
+        locMapper.mapOpenAPIKeysToLOC(new BufferedReader(new StringReader(this.contents)));
+        return locMapper;
+    }
+}
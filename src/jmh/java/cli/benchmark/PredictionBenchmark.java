@@ -0,0 +1,47 @@
+package cli.benchmark;
+
+import cli.rule.rules.RequestTypeDescriptionRule;
+import cli.weka.RequestMethodsWekaClassifier;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifies the description of an operation with the Weka model of {@link RequestTypeDescriptionRule}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PredictionBenchmark {
+
+    @Param({"Returns the users",
+            "Creates a new order for the customer and sends a confirmation to the address stored in the profile"})
+    public String description;
+
+    private RequestMethodsWekaClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        this.classifier = new RequestMethodsWekaClassifier();
+        this.classifier.loadModel(RequestTypeDescriptionRule.MODEL);
+    }
+
+    @Benchmark
+    public ImmutablePair<String, Double> predict() {
+        return this.classifier.predict(this.description);
+    }
+}
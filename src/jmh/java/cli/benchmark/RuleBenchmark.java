@@ -0,0 +1,60 @@
+package cli.benchmark;
+
+import cli.analyzer.RestAnalyzer;
+import cli.generator.SpecGenerator;
+import cli.rule.IRestRule;
+import cli.utility.Output;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks a single rule against a definition that has already been parsed and mapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"CRUDRule", "ContentTypeRule", "FileExtensionRule", "GetResourceRule", "HyphensRule", "LowercaseRule",
+            "PluralNameRule", "RequestTypeDescriptionRule", "SeparatorRule", "SingularDocumentNameRule",
+            "TrailingRule", "TunnelingRule", "UnauthorizedRule", "UnderscoreRule", "VerbPhraseRule"})
+    public String rule;
+
+    @Param({"100", "1000"})
+    public int paths;
+
+    private RestAnalyzer restAnalyzer;
+    private List<IRestRule> rules;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        Output.setInteractive(false);
+        this.restAnalyzer = RestAnalyzer.fromContents(new SpecGenerator(SEED).paths(this.paths)
+                .violationsPerRule(this.paths / 100).generate(SpecGenerator.Format.JSON));
+        this.rules = List.of((IRestRule) Class.forName("cli.rule.rules." + this.rule)
+                .getConstructor(boolean.class).newInstance(true));
+    }
+
+    @Benchmark
+    public int checkViolation(Blackhole blackhole) {
+        return this.restAnalyzer.runRuleViolationChecks(this.rules, blackhole::consume);
+    }
+}
@@ -0,0 +1,62 @@
+package cli.benchmark;
+
+import cli.rule.Utility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The linguistic helpers used by the rules for every path segment: splitting contiguous words with the dictionary and
+ * tagging a word with the POS model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class UtilityBenchmark {
+
+    @Param({"users", "userprofile", "getuserprofilesettingshistory"})
+    public String segment;
+
+    @Setup
+    public void setUp() throws IOException {
+        // loads the dictionary and the model, which only happens once per JVM
+        Utility.splitContiguousWords(this.segment);
+        Utility.getTokenNLP(this.segment);
+    }
+
+    /**
+     * A segment without separators, i.e. a single call of {@link Utility#split}.
+     */
+    @Benchmark
+    public List<String> split() throws IOException {
+        return Utility.splitContiguousWords(this.segment);
+    }
+
+    /**
+     * A segment with separators, split into its parts first.
+     */
+    @Benchmark
+    public List<String> splitContiguousWords() throws IOException {
+        return Utility.splitContiguousWords("get-" + this.segment + "_v2/" + this.segment);
+    }
+
+    @Benchmark
+    public String getTokenNLP() {
+        return Utility.getTokenNLP(this.segment);
+    }
+}
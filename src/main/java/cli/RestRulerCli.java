@@ -1,16 +1,60 @@
 package cli;
 
+import cli.analyzer.AnalysisProfile;
+import cli.analyzer.Baseline;
+import cli.analyzer.BatchAnalyzer;
+import cli.analyzer.RestAnalyzer;
+import cli.daemon.DaemonProtocol;
+import cli.report.Report;
+import cli.report.ReportFormat;
+import cli.rule.LinguisticCache;
+import cli.rule.constants.RuleSeverity;
 import cli.utility.Output;
 import io.micronaut.configuration.picocli.PicocliRunner;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.IExitCodeGenerator;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 @Command(name = "java -jar rest-ruler.jar", description = "...", mixinStandardHelpOptions = true)
-public class RestRulerCli implements Runnable {
+public class RestRulerCli implements Runnable, IExitCodeGenerator {
+    // exit code if a violation with the severity of --fail-on was found or the definition could not be read
+    private static final int EXIT_VIOLATIONS = 1;
+
+    @Spec
+    private CommandSpec spec;
+
+    @Option(names = {"-p", "--path"}, arity = "1..*",
+            description = "Local path or public URL to the OpenAPI definition file that should be analyzed (required unless the daemon or the HTTP service is started); version 2.0 or higher in JSON or YAML are supported. "
+                    + "Several paths, directories and glob patterns (e.g. 'specs/**/*.yaml') can be given to analyze all contained definitions in one run")
+    private List<String> openApiPaths;
+
+    @Option(names = {"--base"},
+            description = "Old version of the definition, e.g. of the target branch of a pull request; together with --head only the paths that differ are checked and only their new violations are reported")
+    private String basePath;
+
+    @Option(names = {"--head"},
+            description = "New version of the definition that is compared with --base")
+    private String headPath;
+
+    @Option(names = {"--baseline"},
+            description = "File with the known violations of the definition, which are not reported; a violation is recognized by its rule, key and message, not by its line")
+    private Path baselineFile;
+
+    @Option(names = {"--update-baseline"},
+            description = "Write all violations of the definition to the --baseline file instead of reporting them")
+    private boolean updateBaseline;
 
-    @Option(names = {"-p", "--path"}, required = true,
-            description = "Local path or public URL to the OpenAPI definition file that should be analyzed (required); version 2.0 or higher in JSON or YAML are supported")
-    private String openApiPath;
+    @Option(names = {"--skip-baselined"},
+            description = "With --baseline, do not check the paths that are unchanged since the baseline was written, including the components they reference, as long as all of their violations are in the baseline and the same rules are active")
+    private boolean skipBaselined;
 
     @Option(names = {"-e", "--expertMode"},
             description = "Interactively select the rules for the analysis")
@@ -24,8 +68,101 @@ public class RestRulerCli implements Runnable {
             description = "Specify a custom filename for the Markdown report")
     private String filename;
 
+    @Option(names = {"--format"},
+            description = "Format of the report: markdown (default), sarif or ndjson; sarif always writes a report file, ndjson is written to the standard output unless a report file is requested")
+    private String format = "markdown";
+
+    @Option(names = {"--fail-on"},
+            description = "Exit with status code 1 if a violation with this severity or a higher one is found: ${COMPLETION-CANDIDATES}")
+    private RuleSeverity failOn;
+
+    @Option(names = {"--fail-fast"},
+            description = "Together with --fail-on, only check the rules of that severity or a higher one, the cheapest first, and stop at the first such violation without generating a report")
+    private boolean failFast;
+
+    @Option(names = {"--profile"},
+            description = "Measure wall time, CPU time and allocated memory of parsing, line mapping and every rule; the profile is printed, added to the Markdown report and written as JSON file")
+    private boolean profile;
+
+    @Option(names = {"--nlp-cache"},
+            description = "Directory in which the POS tags and word splits of path segments are kept across runs, so that later runs over the same paths skip most of the language processing")
+    private Path nlpCacheDirectory;
+
+    @Option(names = {"-t", "--threads"},
+            description = "Maximum number of OpenAPI definitions that are analyzed at the same time when several definitions are given (default: number of processors)")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"--rule-threads"},
+            description = "Number of threads the rules of one definition are checked on, the most expensive rules first (default: 1, one rule after another)")
+    private int ruleThreads = 1;
+
+    @Option(names = {"--rule-budget"},
+            description = "Seconds after which a rule is stopped; its violations found until then are reported and the rule is marked as incomplete (default: no limit)")
+    private long ruleBudgetSeconds;
+
+    @Option(names = {"--analysis-budget"},
+            description = "Seconds after which the rules of a definition that are not finished are stopped and marked as incomplete (default: no limit)")
+    private long analysisBudgetSeconds;
+
+    @Option(names = {"--sample"},
+            description = "Share of the paths (e.g. 0.1) that the language processing rules check, drawn from every first path segment; their estimated share of paths with violations is reported with a 95%% confidence interval. The other rules check all paths (default: all paths)")
+    private double sampleFraction;
+
+    @Option(names = {"--sample-seed"},
+            description = "Seed of the path sample, runs with the same seed check the same paths (default: 42)")
+    private long sampleSeed = RestAnalyzer.DEFAULT_SAMPLE_SEED;
+
+    @Option(names = {"--unsorted"},
+            description = "Write the violations in the order they are found instead of sorting them by line; nothing has to be buffered then")
+    private boolean unsorted;
+
+    @Option(names = {"--virtual-threads"},
+            description = "Analyze every definition of a batch or of the HTTP service on its own virtual thread, e.g. for many remote definitions; the number of threads then only limits the rule checks")
+    private boolean virtualThreads;
+
+    @Option(names = {"--daemon"},
+            description = "Start a daemon that keeps the rules and models loaded and analyzes the definitions sent with --client")
+    private boolean daemon;
+
+    @Option(names = {"--client"},
+            description = "Let a running daemon analyze the definition and print the violations; without a daemon the definition is analyzed as usual")
+    private boolean client;
+
+    @Option(names = {"--stop-daemon"},
+            description = "Stop the running daemon")
+    private boolean stopDaemon;
+
+    @Option(names = {"--socket"},
+            description = "Unix domain socket of the daemon (default: rest-ruler-<user>.sock in the temp directory)")
+    private Path socketPath = DaemonProtocol.getDefaultSocketPath();
+
+    @Option(names = {"--idle-timeout"},
+            description = "Minutes without requests after which the daemon shuts down (default: 30)")
+    private long idleTimeoutMinutes = 30;
+
+    @Option(names = {"--server"},
+            description = "Start an HTTP service that analyzes the definitions sent with POST /analyze")
+    private boolean server;
+
+    @Option(names = {"--port"},
+            description = "Port of the HTTP service (default: 8080)")
+    private int port = 8080;
+
+    @Option(names = {"--queue-size"},
+            description = "Maximum number of analyses of the HTTP service waiting for a free thread, further requests are rejected (default: 100)")
+    private int queueSize = 100;
+
+    private int exitCode;
+
     public static void main(String[] args) {
-        PicocliRunner.run(RestRulerCli.class, args);
+        int exitCode = PicocliRunner.execute(RestRulerCli.class, args);
+        if (exitCode != 0)
+            System.exit(exitCode);
+    }
+
+    @Override
+    public int getExitCode() {
+        return this.exitCode;
     }
 
     /**
@@ -35,12 +172,135 @@ public class RestRulerCli implements Runnable {
         Output output = new Output();
         if (this.expertMode)
             output.askActiveRules();
-        if (this.openApiPath != null) {
+        if (this.unsorted)
+            Report.setSortViolations(false);
+        if (this.profile)
+            AnalysisProfile.setEnabled(true);
+        if (this.ruleThreads < 1)
+            throw new ParameterException(this.spec.commandLine(), "--rule-threads must be at least 1");
+        RestAnalyzer.setRuleThreads(this.ruleThreads);
+        if (this.ruleBudgetSeconds < 0 || this.analysisBudgetSeconds < 0)
+            throw new ParameterException(this.spec.commandLine(), "Time budgets must not be negative");
+        if (this.sampleFraction < 0 || this.sampleFraction > 1)
+            throw new ParameterException(this.spec.commandLine(), "--sample must be between 0 and 1");
+        RestAnalyzer.setSampling(this.sampleFraction, this.sampleSeed);
+        RestAnalyzer.setRuleBudget(this.ruleBudgetSeconds > 0 ? Duration.ofSeconds(this.ruleBudgetSeconds) : null);
+        RestAnalyzer.setAnalysisBudget(this.analysisBudgetSeconds > 0
+                ? Duration.ofSeconds(this.analysisBudgetSeconds) : null);
+        if (this.failFast && this.failOn == null)
+            throw new ParameterException(this.spec.commandLine(), "--fail-fast requires --fail-on");
+        if (this.failOn != null && (this.server || this.daemon || this.client || this.stopDaemon))
+            throw new ParameterException(this.spec.commandLine(),
+                    "--fail-on cannot be combined with --server, --daemon, --client or --stop-daemon");
+        try {
+            Report.setFormat(ReportFormat.of(this.format));
+        } catch (IllegalArgumentException e) {
+            throw new ParameterException(this.spec.commandLine(), e.getMessage());
+        }
+        if (this.nlpCacheDirectory != null)
+            openLinguisticCache();
+        if (this.stopDaemon) {
+            output.stopDaemon(this.socketPath);
+            return;
+        }
+        if (this.server) {
+            output.startServer(this.port, this.threads, this.queueSize, this.virtualThreads);
+            return;
+        }
+        if (this.daemon) {
+            output.startDaemon(this.socketPath, Duration.ofMinutes(this.idleTimeoutMinutes), this.threads);
+            return;
+        }
+        boolean diff = this.basePath != null || this.headPath != null;
+        if (diff)
+            checkDiffOptions();
+        else if (this.openApiPaths == null || this.openApiPaths.isEmpty())
+            throw new ParameterException(this.spec.commandLine(), "Missing required option: '--path=<openApiPaths>'");
+        if (this.baselineFile != null || this.updateBaseline || this.skipBaselined)
+            checkBaselineOptions(diff);
+
+        if (!diff && (this.openApiPaths.size() > 1 || BatchAnalyzer.isMultiSpecificationInput(this.openApiPaths.get(0)))) {
+            if (this.failOn != null)
+                throw new ParameterException(this.spec.commandLine(), "--fail-on only supports a single definition");
+            output.startBatchAnalysis(this.openApiPaths, this.threads, this.virtualThreads);
+            return;
+        }
+
+        String openApiPath = diff ? this.headPath : this.openApiPaths.get(0);
+        if (this.updateBaseline) {
+            if (!output.startBaselineUpdate(openApiPath, this.baselineFile))
+                this.exitCode = EXIT_VIOLATIONS;
+            return;
+        }
+        if (this.baselineFile != null)
+            readBaseline();
+        if (this.failFast) {
+            if (!output.startFailFastAnalysis(openApiPath, this.failOn))
+                this.exitCode = EXIT_VIOLATIONS;
+            return;
+        }
+        // a SARIF log is only written to a file, NDJSON without a file takes the place of the console table
+        if (Report.getFormat() == ReportFormat.SARIF)
+            this.generateReport = true;
+        else if (Report.getFormat() == ReportFormat.NDJSON && !this.generateReport && this.filename == null && !this.client)
+            Report.reserveStandardOutput();
+        if (this.client) {
+            output.startClientAnalysis(openApiPath, this.socketPath);
+            return;
+        }
+        // the violations are only written to the report, the analysis just tells whether one fails it
+        boolean passed;
+        if (diff)
+            passed = filename != null
+                    ? output.startDiffAnalysis(this.basePath, this.headPath, this.filename, this.failOn)
+                    : output.startDiffAnalysis(this.basePath, this.headPath, this.generateReport, this.failOn);
+        else
+            passed = filename != null ? output.startAnalysis(openApiPath, this.filename, this.failOn)
+                    : output.startAnalysis(openApiPath, this.generateReport, this.failOn);
+        if (this.failOn != null && !passed)
+            this.exitCode = EXIT_VIOLATIONS;
+    }
+
+    private void checkDiffOptions() {
+        if (this.basePath == null || this.headPath == null)
+            throw new ParameterException(this.spec.commandLine(), "--base and --head must be given together");
+        if (this.openApiPaths != null || this.client || this.failFast)
+            throw new ParameterException(this.spec.commandLine(),
+                    "--base and --head cannot be combined with --path, --client or --fail-fast");
+    }
+
+    private void checkBaselineOptions(boolean diff) {
+        if (this.baselineFile == null)
+            throw new ParameterException(this.spec.commandLine(),
+                    "--update-baseline and --skip-baselined require --baseline");
+        if (this.client || (!diff && (this.openApiPaths.size() > 1
+                || BatchAnalyzer.isMultiSpecificationInput(this.openApiPaths.get(0)))))
+            throw new ParameterException(this.spec.commandLine(),
+                    "--baseline only supports a single definition and cannot be combined with --client");
+        // the baseline has to contain every violation, otherwise later runs would skip paths with unknown ones
+        if (this.updateBaseline && (diff || this.failFast || this.sampleFraction > 0 || this.ruleBudgetSeconds > 0
+                || this.analysisBudgetSeconds > 0))
+            throw new ParameterException(this.spec.commandLine(), "--update-baseline needs a complete analysis and "
+                    + "cannot be combined with --base, --fail-fast, --sample, --rule-budget or --analysis-budget");
+    }
+
+    private void readBaseline() {
+        try {
+            RestAnalyzer.setBaseline(Baseline.read(this.baselineFile), this.skipBaselined);
+        } catch (IOException e) {
+            throw new ParameterException(this.spec.commandLine(),
+                    "The baseline " + this.baselineFile + " cannot be read: " + e.getMessage());
+        }
+    }
 
-            if (filename != null)
-                output.startAnalysis(this.openApiPath, this.filename);
-            else
-                output.startAnalysis(this.openApiPath, this.generateReport);
+    private void openLinguisticCache() {
+        try {
+            LinguisticCache.open(this.nlpCacheDirectory);
+        } catch (IOException e) {
+            throw new ParameterException(this.spec.commandLine(),
+                    "The NLP cache " + this.nlpCacheDirectory + " cannot be used: " + e.getMessage());
         }
+        // the daemon and the HTTP service keep running after this method, the new results are written when they stop
+        Runtime.getRuntime().addShutdownHook(new Thread(LinguisticCache::close));
     }
 }
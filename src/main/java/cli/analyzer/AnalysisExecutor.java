@@ -0,0 +1,123 @@
+package cli.analyzer;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes analyses of several definitions. An analysis mostly waits for I/O (reading or fetching the definition,
+ * mapping the lines, writing the report), only the rule checks keep the CPU busy. With platform threads every analysis
+ * occupies one of the bounded worker threads from start to end. With virtual threads every analysis gets its own
+ * virtual thread, so many remote definitions can be fetched at the same time, while the rule checks are handed to a
+ * bounded pool of platform threads sized to the CPU. The executor does not limit the number of virtual threads, the
+ * caller bounds how many analyses it submits at once (see {@link BatchAnalyzer} and the permits of the lint service).
+ */
+public class AnalysisExecutor implements Executor, AutoCloseable {
+    private final boolean virtualThreads;
+    private final ExecutorService analysisExecutor;
+    private final ExecutorService ruleExecutor;
+
+    /**
+     * @param threads        number of platform threads; with virtual threads only the rule checks are limited by it
+     * @param virtualThreads true to run every analysis on its own virtual thread
+     */
+    public AnalysisExecutor(int threads, boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        if (virtualThreads) {
+            this.analysisExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            this.ruleExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+        } else {
+            this.analysisExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+            this.ruleExecutor = null;
+        }
+    }
+
+    /**
+     * @param analysis the whole analysis of one definition
+     * @return the future of the analysis
+     */
+    public <T> Future<T> submit(Callable<T> analysis) {
+        return this.analysisExecutor.submit(analysis);
+    }
+
+    @Override
+    public void execute(Runnable analysis) {
+        this.analysisExecutor.execute(analysis);
+    }
+
+    /**
+     * Checks the rules for the analysis. Called from within an analysis; with virtual threads the checks run on the
+     * bounded platform pool and the virtual thread waits for them, otherwise they run on the calling thread.
+     *
+     * @param restAnalyzer the analysis of the definition
+     * @param activeRules  all rules to be executed
+     * @return list of all violations for the set of rules
+     */
+    public List<Violation> runRuleViolationChecks(RestAnalyzer restAnalyzer, List<IRestRule> activeRules) {
+        if (!this.virtualThreads)
+            return restAnalyzer.runRuleViolationChecks(activeRules);
+        return waitFor(this.ruleExecutor.submit(() -> restAnalyzer.runRuleViolationChecks(activeRules)));
+    }
+
+    /**
+     * Checks the rules for the analysis and passes the violations to the sink, see
+     * {@link #runRuleViolationChecks(RestAnalyzer, List)}.
+     *
+     * @param restAnalyzer the analysis of the definition
+     * @param activeRules  all rules to be executed
+     * @param sink         receives the violations; with virtual threads it is called from a platform thread
+     * @return number of violations for the set of rules
+     */
+    public int runRuleViolationChecks(RestAnalyzer restAnalyzer, List<IRestRule> activeRules, ViolationSink sink) {
+        if (!this.virtualThreads)
+            return restAnalyzer.runRuleViolationChecks(activeRules, sink);
+        return waitFor(this.ruleExecutor.submit(() -> restAnalyzer.runRuleViolationChecks(activeRules, sink)));
+    }
+
+    /**
+     * @return true if every analysis runs on its own virtual thread
+     */
+    public boolean usesVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Stops the threads; analyses that are still running are interrupted.
+     */
+    @Override
+    public void close() {
+        this.analysisExecutor.shutdownNow();
+        if (this.ruleExecutor != null)
+            this.ruleExecutor.shutdownNow();
+    }
+
+    /**
+     * Stops accepting analyses but lets the running ones finish.
+     */
+    public void shutdown() {
+        this.analysisExecutor.shutdown();
+        if (this.ruleExecutor != null)
+            this.ruleExecutor.shutdown();
+    }
+
+    private static <T> T waitFor(Future<T> ruleChecks) {
+        try {
+            return ruleChecks.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The rule checks were interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package cli.analyzer;
+
+import cli.rule.IRestRule;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import net.steppschuh.markdowngenerator.table.Table;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Records where the time of an analysis is spent: wall time, CPU time and allocated bytes of parsing the definition,
+ * mapping the lines and of every rule. CPU time and allocated bytes are taken from the thread the phase runs on; if
+ * the JVM cannot measure them (e.g. on virtual threads) they are reported as not available. Profiles of several
+ * analyses can be added up, e.g. in batch mode.
+ */
+public class AnalysisProfile {
+    public static final String PARSE = "Parse";
+    public static final String LOC_MAPPING = "LOC mapping";
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static volatile boolean enabled;
+    private final Map<String, Entry> phases = new LinkedHashMap<>();
+    private final Map<String, Entry> rules = new LinkedHashMap<>();
+    private int analysisCount = 1;
+
+    /**
+     * @param isEnabled true to profile every analysis
+     */
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * @return true if every analysis is profiled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return an empty profile to which the profiles of several analyses are added
+     */
+    public static AnalysisProfile aggregate() {
+        AnalysisProfile profile = new AnalysisProfile();
+        profile.analysisCount = 0;
+        return profile;
+    }
+
+    /**
+     * Starts measuring a phase or rule on the current thread.
+     *
+     * @return the measurement, which has to be stopped on the same thread
+     */
+    public Measurement start() {
+        return new Measurement();
+    }
+
+    /**
+     * @param profile profile of another analysis whose times are added to this one
+     */
+    public synchronized void add(AnalysisProfile profile) {
+        synchronized (profile) {
+            profile.phases.values().forEach(entry -> merge(this.phases, entry));
+            profile.rules.values().forEach(entry -> merge(this.rules, entry));
+            this.analysisCount += profile.analysisCount;
+        }
+    }
+
+    /**
+     * @return parsing and line mapping in the order they were measured
+     */
+    public synchronized List<Entry> getPhases() {
+        return new ArrayList<>(this.phases.values());
+    }
+
+    /**
+     * @return the rules, the slowest first
+     */
+    public synchronized List<Entry> getRules() {
+        List<Entry> entries = new ArrayList<>(this.rules.values());
+        entries.sort(Comparator.comparingLong(Entry::getWallNanos).reversed());
+        return entries;
+    }
+
+    /**
+     * @return the number of analyses the times were added up from
+     */
+    public synchronized int getAnalysisCount() {
+        return analysisCount;
+    }
+
+    /**
+     * @return the profile as Markdown table, phases first and then the rules from the slowest to the fastest
+     */
+    public String toMarkdownTable() {
+        Table.Builder table = new Table.Builder().addRow("Phase / Rule", "Estimated (ms)", "Wall (ms)", "CPU (ms)",
+                "Allocated (MB)", "Violations");
+        long wallNanos = 0;
+        for (Entry entry : getPhases()) {
+            table.addRow(entry.getName(), "-", formatMillis(entry.getWallNanos()), formatMillis(entry.getCpuNanos()),
+                    formatMegabytes(entry.getAllocatedBytes()), "-");
+            wallNanos += entry.getWallNanos();
+        }
+        for (Entry entry : getRules()) {
+            table.addRow(entry.getName(), formatMillis(entry.getEstimatedNanos()), formatMillis(entry.getWallNanos()),
+                    formatMillis(entry.getCpuNanos()), formatMegabytes(entry.getAllocatedBytes()),
+                    entry.getViolations());
+            wallNanos += entry.getWallNanos();
+        }
+        table.addRow("Total", "", formatMillis(wallNanos), "", "", "");
+        return table.build().toString();
+    }
+
+    /**
+     * Writes the profile as JSON object; times are given in nanoseconds, values that could not be measured as -1.
+     *
+     * @param out the profile is written to it, it is not closed
+     * @throws IOException if the profile cannot be written
+     */
+    public void writeJson(Writer out) throws IOException {
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeNumberField("analyses", getAnalysisCount());
+            generator.writeArrayFieldStart("phases");
+            for (Entry entry : getPhases()) {
+                writeEntry(generator, entry, false);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("rules");
+            for (Entry entry : getRules()) {
+                writeEntry(generator, entry, true);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeEntry(JsonGenerator generator, Entry entry, boolean rule) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(rule ? "rule" : "phase", entry.getName());
+        if (rule) {
+            generator.writeStringField("ruleId", entry.getId());
+            generator.writeNumberField("estimatedNanos", entry.getEstimatedNanos());
+        }
+        generator.writeNumberField("wallNanos", entry.getWallNanos());
+        generator.writeNumberField("cpuNanos", entry.getCpuNanos());
+        generator.writeNumberField("allocatedBytes", entry.getAllocatedBytes());
+        if (rule)
+            generator.writeNumberField("violations", entry.getViolations());
+        generator.writeEndObject();
+    }
+
+    private synchronized void add(Map<String, Entry> entries, Entry entry) {
+        merge(entries, entry);
+    }
+
+    private static void merge(Map<String, Entry> entries, Entry entry) {
+        entries.merge(entry.getId(), entry, Entry::plus);
+    }
+
+    private static String formatMillis(long nanos) {
+        return nanos < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String formatMegabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    private static long getCpuTime() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean))
+            return -1;
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        try {
+            return threadMXBean.isThreadAllocatedMemoryEnabled() ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long difference(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    /**
+     * A phase or rule whose measurement is running.
+     */
+    public class Measurement {
+        private final long wallStart = System.nanoTime();
+        private final long cpuStart = getCpuTime();
+        private final long allocatedStart = getAllocatedBytes();
+
+        /**
+         * @param phase name of the measured phase, e.g. {@link #PARSE}
+         */
+        public void stopPhase(String phase) {
+            add(phases, stop(phase, phase, 0));
+        }
+
+        /**
+         * @param rule           the measured rule
+         * @param violations     number of violations the rule has found
+         * @param estimatedNanos wall time the rule was scheduled with, see {@link RuleCostModel}
+         */
+        public void stopRule(IRestRule rule, int violations, long estimatedNanos) {
+            add(rules, stop(rule.getClass().getSimpleName(), rule.getTitle(), violations, estimatedNanos));
+        }
+
+        private Entry stop(String id, String name, int violations) {
+            return stop(id, name, violations, -1);
+        }
+
+        private Entry stop(String id, String name, int violations, long estimatedNanos) {
+            long allocatedEnd = getAllocatedBytes();
+            long cpuEnd = getCpuTime();
+            long wallEnd = System.nanoTime();
+            return new Entry(id, name, wallEnd - this.wallStart, difference(this.cpuStart, cpuEnd),
+                    difference(this.allocatedStart, allocatedEnd), violations, estimatedNanos);
+        }
+    }
+
+    /**
+     * The measured times of a phase or rule.
+     */
+    public static class Entry {
+        private final String id;
+        private final String name;
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final int violations;
+        private final long estimatedNanos;
+
+        Entry(String id, String name, long wallNanos, long cpuNanos, long allocatedBytes, int violations,
+              long estimatedNanos) {
+            this.id = id;
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.violations = violations;
+            this.estimatedNanos = estimatedNanos;
+        }
+
+        Entry plus(Entry other) {
+            return new Entry(this.id, this.name, this.wallNanos + other.wallNanos,
+                    this.cpuNanos < 0 || other.cpuNanos < 0 ? -1 : this.cpuNanos + other.cpuNanos,
+                    this.allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : this.allocatedBytes + other.allocatedBytes,
+                    this.violations + other.violations,
+                    this.estimatedNanos < 0 || other.estimatedNanos < 0 ? -1 : this.estimatedNanos + other.estimatedNanos);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * @return CPU time in nanoseconds, -1 if it could not be measured
+         */
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        /**
+         * @return allocated bytes, -1 if they could not be measured
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public int getViolations() {
+            return violations;
+        }
+
+        /**
+         * @return wall time in nanoseconds the rule was estimated to take, -1 for phases
+         */
+        public long getEstimatedNanos() {
+            return estimatedNanos;
+        }
+    }
+}
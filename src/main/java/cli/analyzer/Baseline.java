@@ -0,0 +1,280 @@
+package cli.analyzer;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The known violations of a definition, e.g. of a legacy API, that are not reported anymore. Every violation is kept
+ * as fingerprint of its rule, its key and its normalized message, so it is still recognized when lines are added
+ * above it. Besides the violations, the baseline keeps a hash of every path together with the components it
+ * references: a path whose hash is unchanged can only have the known violations, so its rules do not need to check
+ * it again as long as the same rules are active.
+ */
+public class Baseline {
+    // changed whenever the layout of the file or the fingerprint changes
+    private static final int VERSION = 2;
+    private final Set<String> fingerprints;
+    // the violations of the file, only kept to write them again
+    private final List<String[]> violations;
+    private final Map<String, String> pathHashes;
+    // number of violations of every path when the baseline was written
+    private final Map<String, Integer> pathViolations;
+    // number of violations of every key in the baseline
+    private final Map<String, Integer> keyViolations = new HashMap<>();
+    private final List<String> rules;
+
+    /**
+     * @param openAPI     the analyzed definition
+     * @param activeRules the rules of the analysis
+     * @param violations  all violations the rules found in the definition
+     */
+    public Baseline(OpenAPI openAPI, List<IRestRule> activeRules, Collection<Violation> violations) {
+        this.fingerprints = new HashSet<>();
+        this.violations = new ArrayList<>();
+        List<Violation> sorted = new ArrayList<>(violations);
+        sorted.sort(Comparator.comparing((Violation violation) -> violation.getRule().getTitle())
+                .thenComparing(violation -> String.valueOf(violation.getKeyViolation())));
+        for (Violation violation : sorted) {
+            String fingerprint = getFingerprint(violation);
+            if (this.fingerprints.add(fingerprint))
+                this.violations.add(new String[] {fingerprint, violation.getRule().getTitle(),
+                        violation.getKeyViolation()});
+        }
+        this.pathHashes = hashPaths(openAPI);
+        this.pathViolations = new HashMap<>();
+        this.violations.forEach(violation -> this.keyViolations.merge(violation[2], 1, Integer::sum));
+        this.pathHashes.keySet().forEach(path -> this.pathViolations.put(path, this.keyViolations.getOrDefault(path, 0)));
+        this.rules = getRuleTitles(activeRules);
+    }
+
+    private Baseline(Set<String> fingerprints, List<String[]> violations, Map<String, String> pathHashes,
+                     Map<String, Integer> pathViolations, List<String> rules) {
+        this.fingerprints = fingerprints;
+        this.violations = violations;
+        this.pathHashes = pathHashes;
+        this.pathViolations = pathViolations;
+        this.violations.forEach(violation -> this.keyViolations.merge(violation[2], 1, Integer::sum));
+        this.rules = rules;
+    }
+
+    /**
+     * @param file a baseline file written by {@link #write(Path)}
+     * @return the baseline of the file
+     * @throws IOException if the file cannot be read or is no baseline
+     */
+    public static Baseline read(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        if (root == null || root.path("version").asInt() != VERSION)
+            throw new IOException(file + " is no baseline of this version");
+        Set<String> fingerprints = new HashSet<>();
+        List<String[]> violations = new ArrayList<>();
+        for (JsonNode violation : root.path("violations")) {
+            String fingerprint = violation.path("fingerprint").asText();
+            fingerprints.add(fingerprint);
+            violations.add(new String[] {fingerprint, violation.path("rule").asText(),
+                    violation.path("key").asText()});
+        }
+        Map<String, String> pathHashes = new LinkedHashMap<>();
+        Map<String, Integer> pathViolations = new HashMap<>();
+        root.path("paths").fields().forEachRemaining(path -> {
+            pathHashes.put(path.getKey(), path.getValue().path("hash").asText());
+            pathViolations.put(path.getKey(), path.getValue().path("violations").asInt());
+        });
+        List<String> rules = new ArrayList<>();
+        root.path("rules").forEach(rule -> rules.add(rule.asText()));
+        return new Baseline(fingerprints, violations, pathHashes, pathViolations, rules);
+    }
+
+    /**
+     * Writes the baseline as JSON file, sorted by rule and key so that changes of the baseline are easy to review.
+     *
+     * @param file the file of the baseline, it is overwritten
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null)
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeNumberField("version", VERSION);
+            generator.writeArrayFieldStart("rules");
+            for (String rule : this.rules) {
+                generator.writeString(rule);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("violations");
+            for (String[] violation : this.violations) {
+                generator.writeStartObject();
+                generator.writeStringField("fingerprint", violation[0]);
+                generator.writeStringField("rule", violation[1]);
+                generator.writeStringField("key", violation[2]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("paths");
+            for (Map.Entry<String, String> path : this.pathHashes.entrySet()) {
+                generator.writeObjectFieldStart(path.getKey());
+                generator.writeStringField("hash", path.getValue());
+                generator.writeNumberField("violations", this.pathViolations.get(path.getKey()));
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * @param violation a violation found by a rule
+     * @return true if the violation is known
+     */
+    public boolean contains(Violation violation) {
+        return this.fingerprints.contains(getFingerprint(violation));
+    }
+
+    /**
+     * @return number of known violations
+     */
+    public int size() {
+        return this.fingerprints.size();
+    }
+
+    /**
+     * Leaves out the paths the rules do not need to check again: paths that are unchanged, including the components
+     * they reference, and whose violations are all still in the baseline, i.e. none of them was removed from the
+     * file to report it again. If other rules are active than when the baseline was written, all paths are kept.
+     *
+     * @param openAPI     the definition that is analyzed
+     * @param activeRules the rules of the analysis
+     * @return the definition with only the new and changed paths, the definition itself if all paths are kept
+     */
+    public OpenAPI withoutUnchangedPaths(OpenAPI openAPI, List<IRestRule> activeRules) {
+        if (openAPI == null || openAPI.getPaths() == null || !this.rules.equals(getRuleTitles(activeRules)))
+            return openAPI;
+        Map<String, String> hashes = hashPaths(openAPI);
+        Paths changedPaths = new Paths();
+        openAPI.getPaths().forEach((path, pathItem) -> {
+            if (!hashes.get(path).equals(this.pathHashes.get(path)) || !isFullyBaselined(path))
+                changedPaths.addPathItem(path, pathItem);
+        });
+        return changedPaths.size() == openAPI.getPaths().size() ? openAPI
+                : RestAnalyzer.withPaths(openAPI, changedPaths);
+    }
+
+    private boolean isFullyBaselined(String path) {
+        return this.pathViolations.getOrDefault(path, -1).equals(this.keyViolations.getOrDefault(path, 0));
+    }
+
+    /**
+     * The line is left out, it differs as soon as anything above the violation is changed; the message and the
+     * suggestion are compared without case and with single spaces. The suggestion is part of the fingerprint because
+     * most messages are the same for every violation of a rule, only the suggestion names e.g. the operation, so a
+     * missing 401 response of {@code GET /pets} does not hide the one of {@code POST /pets}.
+     *
+     * @param violation a violation found by a rule
+     * @return a fingerprint that stays the same as long as the rule, the key, the message and the suggestion are the
+     * same
+     */
+    public static String getFingerprint(Violation violation) {
+        return hash(violation.getRule().getTitle() + '\0' + violation.getKeyViolation() + '\0'
+                + normalize(violation.getErrorMessage()) + '\0' + normalize(violation.getImprovementSuggestion()))
+                .substring(0, 32);
+    }
+
+    private static String normalize(String text) {
+        return text != null ? text.strip().replaceAll("\\s+", " ").toLowerCase() : "";
+    }
+
+    /**
+     * @return the hash of every path together with the global security, the security schemes its operations use and
+     * the components it references, directly or through other components
+     */
+    private static Map<String, String> hashPaths(OpenAPI openAPI) {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        if (openAPI == null || openAPI.getPaths() == null)
+            return hashes;
+        Map<String, JsonNode> components = SpecDiff.getComponents(openAPI.getComponents());
+        Map<String, Set<String>> references = new HashMap<>();
+        // the global security applies to every operation without its own
+        String globalSecurity = String.valueOf(Json.mapper().valueToTree(openAPI.getSecurity()));
+        openAPI.getPaths().forEach((path, pathItem) -> {
+            JsonNode tree = Json.mapper().valueToTree(pathItem);
+            Set<String> direct = new HashSet<>();
+            SpecDiff.collectReferences(tree, direct);
+            // the security schemes are referenced by their name, not by $ref
+            addSecuritySchemes(openAPI.getSecurity(), direct);
+            pathItem.readOperationsMap().values().forEach(operation ->
+                    addSecuritySchemes(operation.getSecurity(), direct));
+            // sorted, so the hash does not depend on the order in which the references are found
+            Set<String> referenced = new TreeSet<>();
+            addReferences(direct, components, references, referenced);
+            StringBuilder contents = new StringBuilder(tree.toString()).append('\0').append(globalSecurity);
+            for (String component : referenced) {
+                contents.append('\0').append(component).append('\0').append(components.get(component));
+            }
+            hashes.put(path, hash(contents.toString()));
+        });
+        return hashes;
+    }
+
+    private static void addSecuritySchemes(List<SecurityRequirement> security, Set<String> references) {
+        if (security != null)
+            security.forEach(requirement -> requirement.keySet()
+                    .forEach(name -> references.add("securitySchemes/" + name)));
+    }
+
+    private static void addReferences(Set<String> direct, Map<String, JsonNode> components,
+                                      Map<String, Set<String>> references, Set<String> referenced) {
+        for (String component : direct) {
+            if (components.containsKey(component) && referenced.add(component))
+                addReferences(references.computeIfAbsent(component, key -> {
+                    Set<String> found = new HashSet<>();
+                    SpecDiff.collectReferences(components.get(key), found);
+                    return found;
+                }), components, references, referenced);
+        }
+    }
+
+    private static List<String> getRuleTitles(List<IRestRule> activeRules) {
+        return activeRules.stream().filter(IRestRule::getIsActive).map(IRestRule::getTitle).sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static String hash(String contents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(contents.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package cli.analyzer;
+
+import cli.report.Report;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.ViolationSink;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes several OpenAPI definitions in one JVM. Dictionaries, models and the rule classes are loaded once and
+ * shared by all analyses, the specifications themselves are analyzed by a bounded pool of worker threads or, for many
+ * remote definitions, on virtual threads (see {@link AnalysisExecutor}). For every specification a Markdown report is
+ * written, at the end an aggregated report over all specifications is created.
+ * <p>
+ * A definition is only read once one of {@code threads + FETCH_WINDOW} permits is free, so at most that many parsed
+ * definitions, with their line mappings, are held in memory at the same time; with virtual threads the window lets
+ * the next definitions be fetched while the rules of others are checked.
+ */
+public class BatchAnalyzer {
+    private static final List<String> SPEC_FILE_EXTENSIONS = List.of(".json", ".yaml", ".yml");
+    private static final String GLOB_CHARACTERS = "*?[{";
+    // definitions that may be fetched and parsed in addition to the ones whose rules are checked
+    static final int FETCH_WINDOW = 8;
+    private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private final Report report = Report.getInstance();
+    private final int threads;
+    private final boolean virtualThreads;
+    private final int fetchWindow;
+    private final Path outputDir;
+    // analyses that are running at the moment and the most that ran at the same time
+    private final AtomicInteger runningAnalyses = new AtomicInteger();
+    private final AtomicInteger peakAnalyses = new AtomicInteger();
+
+    /**
+     * @param threads   maximum number of specifications that are analyzed at the same time
+     * @param outputDir directory the per specification reports and the aggregated report are written to
+     */
+    public BatchAnalyzer(int threads, Path outputDir) {
+        this(threads, false, outputDir);
+    }
+
+    /**
+     * @param threads        maximum number of specifications that are analyzed at the same time; with virtual threads
+     *                       the maximum number of specifications whose rules are checked at the same time
+     * @param virtualThreads true to analyze every specification on its own virtual thread
+     * @param outputDir      directory the per specification reports and the aggregated report are written to
+     */
+    public BatchAnalyzer(int threads, boolean virtualThreads, Path outputDir) {
+        this(threads, virtualThreads, FETCH_WINDOW, outputDir);
+    }
+
+    BatchAnalyzer(int threads, boolean virtualThreads, int fetchWindow, Path outputDir) {
+        this.threads = Math.max(1, threads);
+        this.virtualThreads = virtualThreads;
+        this.fetchWindow = Math.max(0, fetchWindow);
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * @return maximum number of specifications that are read, parsed or analyzed at the same time
+     */
+    int getMaxAnalysesInFlight() {
+        return this.threads + this.fetchWindow;
+    }
+
+    /**
+     * @return the most specifications that were read, parsed or analyzed at the same time
+     */
+    int getPeakAnalyses() {
+        return this.peakAnalyses.get();
+    }
+
+    /**
+     * Analyzes all given specifications with the given rules and writes the reports.
+     *
+     * @param locations   paths or URLs of the specifications, see {@link #resolveLocations(List)}
+     * @param activeRules rules to be checked; every analysis works on its own copy of the rules
+     * @return the results of all specifications in the order of the given locations
+     */
+    public List<BatchResult> runBatchAnalyse(List<String> locations, List<IRestRule> activeRules) {
+        List<BatchResult> results = new ArrayList<>();
+        AnalysisProfile profile = AnalysisProfile.isEnabled() ? AnalysisProfile.aggregate() : null;
+        int poolSize = this.virtualThreads ? this.threads : Math.min(this.threads, Math.max(1, locations.size()));
+        // taken before a definition is read and given back when its report is written
+        Semaphore inFlight = new Semaphore(getMaxAnalysesInFlight());
+        try (AnalysisExecutor executor = new AnalysisExecutor(poolSize, this.virtualThreads)) {
+            List<Future<BatchResult>> futures = new ArrayList<>();
+            int index = 1;
+            for (String location : locations) {
+                String reportTitle = String.format("%04d-%s", index++, getFileName(location));
+                inFlight.acquire();
+                try {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return analyzeSpecification(executor, location, activeRules, reportTitle, profile);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+            for (Future<BatchResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.severe("Batch analysis was interrupted: " + e.getMessage());
+        } catch (ExecutionException e) {
+            logger.severe("Error on executing the batch analysis: " + e.getMessage());
+        }
+
+        Map<String, Integer> ruleViolationCounts = new TreeMap<>();
+        for (BatchResult result : results) {
+            result.getRuleCounts().forEach((rule, count) -> ruleViolationCounts.merge(rule, count, Integer::sum));
+        }
+        this.report.generateBatchReport(results, ruleViolationCounts, this.outputDir);
+        if (profile != null)
+            this.report.generateProfileReport(profile, this.outputDir, "Summary", true);
+        return results;
+    }
+
+    /**
+     * Analyzes a single specification of the batch and writes its report. Errors are not thrown but recorded in the
+     * result, so that one broken specification does not abort the whole batch.
+     */
+    private BatchResult analyzeSpecification(AnalysisExecutor executor, String location, List<IRestRule> activeRules,
+                                             String reportTitle, AnalysisProfile profile) {
+        BatchResult result = new BatchResult(location);
+        long start = System.nanoTime();
+        RestAnalyzer restAnalyzer = null;
+        this.peakAnalyses.accumulateAndGet(this.runningAnalyses.incrementAndGet(), Math::max);
+        try {
+            restAnalyzer = new RestAnalyzer(location);
+            if (restAnalyzer.openAPI == null || restAnalyzer.openAPI.getPaths() == null) {
+                result.setErrorMessage("The definition could not be parsed");
+                return result;
+            }
+            // the violations are only counted and written to the report, they are not kept
+            Path reportFile = this.report.getReportFile(this.outputDir, reportTitle);
+            try (ViolationSink reportSink = this.report.openReportFile(reportFile, location, activeRules)) {
+                executor.runRuleViolationChecks(restAnalyzer, ActiveRules.copyRuleObjects(activeRules),
+                        ViolationSink.of(result::addViolation, reportSink));
+            }
+            result.setReportFile(reportFile);
+            result.setIncompleteRules(restAnalyzer.getIncompleteRules());
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Error on analyzing " + location + ": " + e);
+            result.setErrorMessage(e.getClass().getSimpleName()
+                    + (e.getMessage() != null ? " " + e.getMessage() : ""));
+        } finally {
+            this.runningAnalyses.decrementAndGet();
+            result.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+            if (profile != null && restAnalyzer != null)
+                profile.add(restAnalyzer.getProfile());
+        }
+        return result;
+    }
+
+    /**
+     * Expands the given inputs to the specifications that should be analyzed. URLs and files are taken as they are,
+     * directories are searched recursively for JSON and YAML files and inputs containing glob characters (e.g.
+     * {@code specs/**}{@code /*.yaml}) are matched against the files below their fixed leading directories.
+     *
+     * @param inputs paths, URLs, directories or glob patterns
+     * @return the locations of all found specifications without duplicates
+     */
+    public static List<String> resolveLocations(List<String> inputs) throws IOException {
+        Set<String> locations = new LinkedHashSet<>();
+        for (String input : inputs) {
+            if (input.toLowerCase().startsWith("http")) {
+                locations.add(input);
+            } else if (isGlob(input)) {
+                locations.addAll(resolveGlob(input));
+            } else if (Files.isDirectory(Path.of(input))) {
+                locations.addAll(findSpecifications(Path.of(input), path -> true));
+            } else {
+                locations.add(input);
+            }
+        }
+        return new ArrayList<>(locations);
+    }
+
+    /**
+     * @param input path or URL given by the user
+     * @return true if the input has to be expanded to several specifications
+     */
+    public static boolean isMultiSpecificationInput(String input) {
+        return !input.toLowerCase().startsWith("http") && (isGlob(input) || Files.isDirectory(Path.of(input)));
+    }
+
+    private static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0);
+    }
+
+    private static List<String> resolveGlob(String glob) throws IOException {
+        // The directory walk starts at the longest leading part of the pattern without glob characters
+        String[] parts = glob.split("/");
+        StringBuilder baseDir = new StringBuilder();
+        for (String part : parts) {
+            if (isGlob(part))
+                break;
+            baseDir.append(part).append("/");
+        }
+        Path base = baseDir.length() == 0 ? Path.of("") : Path.of(baseDir.toString());
+        if (!Files.isDirectory(base))
+            return List.of();
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        return findSpecifications(base, matcher);
+    }
+
+    private static List<String> findSpecifications(Path dir, PathMatcher filter) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> SPEC_FILE_EXTENSIONS.stream().anyMatch(ext -> path.toString().toLowerCase().endsWith(ext)))
+                    .filter(filter::matches)
+                    .map(Path::toString)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String getFileName(String location) {
+        String name = location.substring(Math.max(location.lastIndexOf('/'), location.lastIndexOf('\\')) + 1);
+        return name.isEmpty() ? "specification" : name;
+    }
+}
@@ -0,0 +1,100 @@
+package cli.analyzer;
+
+import cli.rule.Violation;
+import cli.rule.constants.RuleSeverity;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of the analysis of a single specification in a batch run. Only the counts are kept, the violations
+ * themselves are written to the report file of the specification and are not held in memory.
+ */
+public class BatchResult {
+    private final String location;
+    private final Map<RuleSeverity, Integer> severityCounts = new EnumMap<>(RuleSeverity.class);
+    private final Map<String, Integer> ruleCounts = new HashMap<>();
+    private int violationCount;
+    private long durationMillis;
+    private Path reportFile;
+    private String errorMessage;
+    private List<String> incompleteRules = List.of();
+
+    public BatchResult(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Counts the given violations per severity and per rule.
+     *
+     * @param violations all violations found in the specification
+     */
+    public void addViolations(List<Violation> violations) {
+        violations.forEach(this::addViolation);
+    }
+
+    /**
+     * Counts the violation per severity and per rule.
+     *
+     * @param violation a violation found in the specification
+     */
+    public void addViolation(Violation violation) {
+        this.severityCounts.merge(violation.getRule().getSeverityType(), 1, Integer::sum);
+        this.ruleCounts.merge(violation.getRule().getTitle(), 1, Integer::sum);
+        this.violationCount++;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public int getSeverityCount(RuleSeverity severity) {
+        return severityCounts.getOrDefault(severity, 0);
+    }
+
+    public Map<String, Integer> getRuleCounts() {
+        return ruleCounts;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(Path reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * @return titles of the rules that were stopped by their time budget
+     */
+    public List<String> getIncompleteRules() {
+        return incompleteRules;
+    }
+
+    public void setIncompleteRules(List<String> incompleteRules) {
+        this.incompleteRules = List.copyOf(incompleteRules);
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,72 @@
+package cli.analyzer;
+
+import java.time.Duration;
+
+/**
+ * Tells a rule to stop checking further paths, either because its time budget or the budget of the whole analysis is
+ * used up, or because the analysis is cancelled, e.g. when a fail-fast check has found its violation. The rules ask
+ * the token of the current check (see {@link RestAnalyzer#getCancellationToken()}) in their path loops and return the
+ * violations found so far; nothing is interrupted.
+ */
+public class CancellationToken {
+    private static final CancellationToken NONE = new CancellationToken(null, null);
+    private final CancellationToken parent;
+    // System.nanoTime() at which the budget is used up, only valid if there is a budget
+    private final long deadline;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+    private volatile boolean stopped;
+
+    /**
+     * @param budget time from now until the token is cancelled, null for no time limit
+     * @param parent token whose cancellation also cancels this one, e.g. the token of the analysis; may be null
+     */
+    public CancellationToken(Duration budget, CancellationToken parent) {
+        this.parent = parent;
+        this.hasDeadline = budget != null;
+        this.deadline = budget != null ? System.nanoTime() + budget.toNanos() : 0;
+    }
+
+    /**
+     * @return a token that is never cancelled
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    /**
+     * Cancels the token and all tokens created with it as parent.
+     */
+    public void cancel() {
+        if (this != NONE)
+            this.cancelled = true;
+    }
+
+    /**
+     * Called by the rules before they check the next path.
+     *
+     * @return true if the rule should stop and return the violations found so far
+     */
+    public boolean isCancelled() {
+        if (this.cancelled || isExpired() || (this.parent != null && this.parent.isCancelled())) {
+            this.stopped = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the budget of this token or of one of its parents is used up
+     */
+    public boolean isExpired() {
+        return (this.hasDeadline && System.nanoTime() - this.deadline >= 0)
+                || (this.parent != null && this.parent.isExpired());
+    }
+
+    /**
+     * @return true if a rule has seen the token cancelled, i.e. it has skipped paths and its violations are incomplete
+     */
+    public boolean hasStopped() {
+        return this.stopped;
+    }
+}
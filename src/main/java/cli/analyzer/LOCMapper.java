@@ -1,12 +1,16 @@
 package cli.analyzer;
 
+import cli.jfr.FetchEvent;
+import cli.jfr.LocMappingEvent;
 import io.swagger.v3.oas.models.OpenAPI;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,6 +23,7 @@ public class LOCMapper {
     private final Map<String, Map<String, Integer>> keyLOCMap = new HashMap<>();
     private final OpenAPI openAPI;
     private final String filePath;
+    private PathSuffixTrie pathSuffixes;
 
     /**
      * Calls the mapper to map all keys from the parsed OpenAPI object to the line of code from the original
@@ -35,7 +40,8 @@ public class LOCMapper {
     /**
      * Reads the file and goes through every line.
      * <p>
-     * Goes to all lines and checks if the line contains a path.
+     * Goes to all lines and checks if the line contains a path. The definition is read completely before the lines
+     * are mapped, so that reading and mapping can be told apart in a flight recording.
      */
     public void mapOpenAPIKeysToLOC() {
         boolean isURL = this.filePath.startsWith("http");
@@ -44,45 +50,101 @@ public class LOCMapper {
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(isURL ?
-                new InputStreamReader(new URL(this.filePath).openStream()) : new FileReader(this.filePath))) {
-            String line;
-            int currentLine = 0;
+        FetchEvent fetchEvent = new FetchEvent();
+        fetchEvent.begin();
+        byte[] contents;
+        try (InputStream in = isURL ? new URL(this.filePath).openStream() : new FileInputStream(this.filePath)) {
+            contents = in.readAllBytes();
+        } catch (IOException e) {
+            System.err.println("Issues appeared when trying to read the file! Error message: " + e.getMessage());
+            return;
+        }
+        fetchEvent.end();
+        if (fetchEvent.shouldCommit()) {
+            fetchEvent.setLocation(this.filePath);
+            fetchEvent.setRemote(isURL);
+            fetchEvent.setBytes(contents.length);
+            fetchEvent.commit();
+        }
 
-            while ((line = br.readLine()) != null) {
-                currentLine++;
-                mapPaths(line, currentLine);
-            }
-            this.keyLOCMap.put("paths", this.pathMap);
+        try (BufferedReader br = new BufferedReader(new StringReader(new String(contents, Charset.defaultCharset())))) {
+            mapOpenAPIKeysToLOC(br);
         } catch (IOException e) {
             System.err.println("Issues appeared when trying to read the file! Error message: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Goes through every line of the given definition, e.g. when the definition was not read from a file but
+     * received as request body.
+     *
+     * @param br reader of the original json/yaml definition
+     * @throws IOException if the definition cannot be read
+     */
+    public void mapOpenAPIKeysToLOC(BufferedReader br) throws IOException {
+        LocMappingEvent locMappingEvent = new LocMappingEvent();
+        locMappingEvent.begin();
+        String line;
+        int currentLine = 0;
+
+        while ((line = br.readLine()) != null) {
+            currentLine++;
+            mapPaths(line, currentLine);
+        }
+        this.keyLOCMap.put("paths", this.pathMap);
+        locMappingEvent.end();
+        if (locMappingEvent.shouldCommit()) {
+            locMappingEvent.setLocation(this.filePath);
+            locMappingEvent.setLineCount(currentLine);
+            locMappingEvent.setPathCount(this.openAPI != null && this.openAPI.getPaths() != null
+                    ? this.openAPI.getPaths().size() : 0);
+            locMappingEvent.commit();
         }
     }
 
     /**
      * Checks if the given line contains a path. if it does, the path is saved with the line of code in a map.
+     * <p>
+     * A path is found in json if it is in single or double quotes and in yaml if it is followed by a colon, with or
+     * without quotes. Since every form ends with a quote or a colon after the path, only the paths ending right before
+     * a quote or colon of the line are looked up, instead of searching every path in every line.
      *
      * @param line        the current line from the original json/yaml file
      * @param currentLine the current line of code from the original json/yaml file
      */
     private void mapPaths(String line, int currentLine) {
-        for (String keyPath : this.openAPI.getPaths().keySet()) {
-            // To search for the path in the json file
-            String pathWithDoubleQuotes = "\"" + keyPath + "\"";
-            String pathWithSingleQuotes = "'" + keyPath + "'";
-            // To search for the path in the yaml file
-            String pathWithColon = keyPath + ":";
-            String pathWithColonAndSingleQuotes = keyPath + "':";
-            String pathWithColonAndDoubleQuotes = keyPath + "\":";
-
-            if (!line.contains(pathWithDoubleQuotes) && !line.contains(pathWithSingleQuotes) && !line.contains(pathWithColon) && !line.contains(pathWithColonAndSingleQuotes) && !line.contains(pathWithColonAndDoubleQuotes))
-                continue;
+        if (this.pathSuffixes == null)
+            this.pathSuffixes = PathSuffixTrie.of(this.openAPI);
 
-            this.pathMap.put(keyPath, currentLine);
+        for (int end = 0; end < line.length(); end++) {
+            char terminator = line.charAt(end);
+            if (terminator != ':' && terminator != '"' && terminator != '\'')
+                continue;
+            // walks back from the terminator through all paths ending at this position
+            PathSuffixTrie node = this.pathSuffixes;
+            int start = end;
+            while (node != null) {
+                if (node.path != null && isPathInLine(line, start, end, terminator))
+                    this.pathMap.put(node.path, currentLine);
+                node = start > 0 ? node.children.get(line.charAt(--start)) : null;
+            }
         }
     }
 
+    /**
+     * @param start      index of the first character of the path in the line
+     * @param end        index of the quote or colon after the path
+     * @param terminator the quote or colon after the path
+     * @return true if the path is written as "path", 'path', path:, path': or path":
+     */
+    private static boolean isPathInLine(String line, int start, int end, char terminator) {
+        if (terminator == ':')
+            return true;
+        boolean followedByColon = end + 1 < line.length() && line.charAt(end + 1) == ':';
+        boolean quoted = start > 0 && line.charAt(start - 1) == terminator;
+        return followedByColon || quoted;
+    }
+
     /**
      * @return the whole map of the keys. Map of a map. The inside map is for example the path keys with the loc.
      */
@@ -104,4 +166,26 @@ public class LOCMapper {
         return this.pathMap.get(keyPath);
     }
 
+    /**
+     * The paths of the definition spelled backwards, so that all paths ending at a position of a line are found by
+     * walking back from it.
+     */
+    private static class PathSuffixTrie {
+        private final Map<Character, PathSuffixTrie> children = new HashMap<>();
+        private String path;
+
+        static PathSuffixTrie of(OpenAPI openAPI) {
+            PathSuffixTrie root = new PathSuffixTrie();
+            if (openAPI == null || openAPI.getPaths() == null)
+                return root;
+            for (String path : openAPI.getPaths().keySet()) {
+                PathSuffixTrie node = root;
+                for (int i = path.length() - 1; i >= 0; i--) {
+                    node = node.children.computeIfAbsent(path.charAt(i), character -> new PathSuffixTrie());
+                }
+                node.path = path;
+            }
+            return root;
+        }
+    }
 }
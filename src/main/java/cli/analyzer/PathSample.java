@@ -0,0 +1,196 @@
+package cli.analyzer;
+
+import cli.rule.IRestRule;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A stratified random sample of the paths of a definition, for the rules whose language processing is too expensive
+ * to check every path of a huge definition. The paths are grouped by their first segment (e.g. all paths below
+ * /users), and the same share of every group is drawn, at least one path, so that no part of the API is left out. The
+ * sample only depends on the paths and the seed, so a run with the same seed checks the same paths.
+ */
+public class PathSample {
+    // quantile of the standard normal distribution for a 95 % confidence interval
+    private static final double Z_95 = 1.959964;
+    private final OpenAPI openAPI;
+    private final int totalPaths;
+    // the first segment of every sampled path
+    private final Map<String, String> strata = new LinkedHashMap<>();
+    // number of paths and of sampled paths per first segment
+    private final Map<String, int[]> stratumSizes = new LinkedHashMap<>();
+
+    /**
+     * @param openAPI  the definition whose paths are sampled
+     * @param fraction share of the paths of every first segment that is drawn, between 0 and 1
+     * @param seed     seed of the random selection
+     */
+    public PathSample(OpenAPI openAPI, double fraction, long seed) {
+        if (!(fraction > 0 && fraction <= 1))
+            throw new IllegalArgumentException("The sample fraction must be greater than 0 and at most 1");
+        Map<String, List<String>> pathsByStratum = new LinkedHashMap<>();
+        Paths paths = openAPI.getPaths() != null ? openAPI.getPaths() : new Paths();
+        for (String path : paths.keySet()) {
+            pathsByStratum.computeIfAbsent(getFirstSegment(path), key -> new ArrayList<>()).add(path);
+        }
+        Random random = new Random(seed);
+        Set<String> sampled = new HashSet<>();
+        pathsByStratum.forEach((stratum, stratumPaths) -> {
+            int size = Math.max(1, (int) Math.ceil(fraction * stratumPaths.size()));
+            List<String> shuffled = new ArrayList<>(stratumPaths);
+            Collections.shuffle(shuffled, random);
+            sampled.addAll(shuffled.subList(0, size));
+            this.stratumSizes.put(stratum, new int[] {stratumPaths.size(), size});
+        });
+        // the sampled paths keep the order of the definition
+        Paths samplePaths = new Paths();
+        paths.forEach((path, pathItem) -> {
+            if (sampled.contains(path)) {
+                samplePaths.addPathItem(path, pathItem);
+                this.strata.put(path, getFirstSegment(path));
+            }
+        });
+        this.totalPaths = paths.size();
+        this.openAPI = RestAnalyzer.withPaths(openAPI, samplePaths);
+    }
+
+    /**
+     * @return the definition with only the sampled paths; everything else is shared with the whole definition
+     */
+    public OpenAPI getOpenAPI() {
+        return this.openAPI;
+    }
+
+    /**
+     * @return number of sampled paths
+     */
+    public int getSampledPaths() {
+        return this.strata.size();
+    }
+
+    /**
+     * @return number of paths of the whole definition
+     */
+    public int getTotalPaths() {
+        return this.totalPaths;
+    }
+
+    /**
+     * Estimates the share of all paths a rule would find a violation in, weighting every first segment by its
+     * number of paths.
+     *
+     * @param rule           the rule that checked the sample
+     * @param violatingPaths the sampled paths the rule found a violation in
+     * @return the estimated share with its 95 % confidence interval
+     */
+    public Estimate estimate(IRestRule rule, Collection<String> violatingPaths) {
+        Map<String, Integer> violationsByStratum = new LinkedHashMap<>();
+        for (String path : new HashSet<>(violatingPaths)) {
+            String stratum = this.strata.get(path);
+            if (stratum != null)
+                violationsByStratum.merge(stratum, 1, Integer::sum);
+        }
+        double rate = 0;
+        double variance = 0;
+        int violations = 0;
+        for (Map.Entry<String, int[]> stratum : this.stratumSizes.entrySet()) {
+            int size = stratum.getValue()[0];
+            int sampled = stratum.getValue()[1];
+            int stratumViolations = violationsByStratum.getOrDefault(stratum.getKey(), 0);
+            double weight = (double) size / this.totalPaths;
+            double stratumRate = (double) stratumViolations / sampled;
+            rate += weight * stratumRate;
+            // a stratum that is checked completely does not add to the uncertainty
+            double finitePopulationCorrection = 1 - (double) sampled / size;
+            variance += weight * weight * finitePopulationCorrection * stratumRate * (1 - stratumRate)
+                    / Math.max(1, sampled - 1);
+            violations += stratumViolations;
+        }
+        double margin = Z_95 * Math.sqrt(variance);
+        return new Estimate(rule.getTitle(), getSampledPaths(), this.totalPaths, violations, rate,
+                Math.max(0, rate - margin), Math.min(1, rate + margin));
+    }
+
+    private static String getFirstSegment(String path) {
+        for (String segment : path.split("/")) {
+            if (!segment.isBlank())
+                return segment;
+        }
+        return "";
+    }
+
+    /**
+     * The estimated share of paths with a violation of a rule that only checked the sample.
+     */
+    public static class Estimate {
+        private final String rule;
+        private final int sampledPaths;
+        private final int totalPaths;
+        private final int violatingPaths;
+        private final double rate;
+        private final double lowerBound;
+        private final double upperBound;
+
+        Estimate(String rule, int sampledPaths, int totalPaths, int violatingPaths, double rate, double lowerBound,
+                 double upperBound) {
+            this.rule = rule;
+            this.sampledPaths = sampledPaths;
+            this.totalPaths = totalPaths;
+            this.violatingPaths = violatingPaths;
+            this.rate = rate;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        public int getSampledPaths() {
+            return sampledPaths;
+        }
+
+        public int getTotalPaths() {
+            return totalPaths;
+        }
+
+        /**
+         * @return number of sampled paths with a violation
+         */
+        public int getViolatingPaths() {
+            return violatingPaths;
+        }
+
+        /**
+         * @return estimated share of all paths with a violation
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        public double getLowerBound() {
+            return lowerBound;
+        }
+
+        public double getUpperBound() {
+            return upperBound;
+        }
+
+        /**
+         * @return estimated number of all paths with a violation
+         */
+        public long getEstimatedViolatingPaths() {
+            return Math.round(rate * totalPaths);
+        }
+    }
+}
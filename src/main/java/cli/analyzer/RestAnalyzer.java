@@ -1,22 +1,94 @@
 package cli.analyzer;
 
+import cli.jfr.ParseEvent;
+import cli.jfr.RuleEvent;
 import cli.report.Report;
+import cli.report.ReportFormat;
+import cli.rule.ActiveRules;
+import cli.rule.ComponentIndex;
 import cli.rule.IRestRule;
+import cli.rule.PathSegments;
+import cli.rule.ResourceTree;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import cli.rule.constants.RuleSeverity;
+import cli.utility.Output;
+import cli.utility.ProgressService;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class RestAnalyzer {
     // Singleton
     private static final Report report = Report.getInstance();
-    public static LOCMapper locMapper;
+    // The analysis whose rules are currently executed on this thread. Rules resolve their line numbers through it,
+    // which keeps several analyses (e.g. in batch mode) from overwriting each other's LOC mapping.
+    private static final ThreadLocal<RestAnalyzer> currentAnalysis = new ThreadLocal<>();
+    private static final String WARM_UP_DEFINITION = "/warmup_openapi.json";
+    // rules of an analysis are checked one after another unless more threads are set
+    private static volatile int ruleThreads = 1;
+    private static ExecutorService ruleExecutor;
+    // null for no time limit
+    private static volatile Duration ruleBudget;
+    private static volatile Duration analysisBudget;
+    // seed of the path sample if no other seed is set, so that runs without a seed check the same paths
+    public static final long DEFAULT_SAMPLE_SEED = 42;
+    // share of the paths the rules that support sampling check, 0 to check all paths
+    private static volatile double sampleFraction;
+    private static volatile long sampleSeed = DEFAULT_SAMPLE_SEED;
+    // the token of the rule that is currently checked on this thread
+    private static final ThreadLocal<CancellationToken> currentCancellation = new ThreadLocal<>();
+    private static volatile Baseline baseline;
+    private static volatile boolean skipBaselinedPaths;
     private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private final LOCMapper locMapper;
+    private final List<String> parseMessages;
+    private final String location;
+    // null if the analysis is not profiled
+    private final AnalysisProfile profile = AnalysisProfile.isEnabled() ? new AnalysisProfile() : null;
+    // titles of the rules that were stopped by their time budget or the budget of the analysis
+    private final List<String> incompleteRules = new ArrayList<>();
+    private final List<PathSample.Estimate> samplingEstimates = new ArrayList<>();
+    // the part of the definition the rules check, e.g. the changed paths of a pull request; null for all of it
+    private volatile OpenAPI scope;
+    // decides which violations are passed on, e.g. only the new ones of a pull request; null for all of them
+    private volatile Predicate<Violation> violationFilter;
+    private final AtomicInteger baselinedViolations = new AtomicInteger();
+    private int skippedPaths;
+    private boolean baselineApplied;
+    // created when the first rule needs them
+    private PathSample sample;
+    private PathSegments pathSegments;
+    private ResourceTree resourceTree;
+    private ComponentIndex componentIndex;
     public final OpenAPI openAPI;
 
     /**
@@ -24,12 +96,211 @@ public class RestAnalyzer {
      * @param url location of the OpenAPI file (link or file path)
      */
     public RestAnalyzer(String url) {
+        AnalysisProfile.Measurement parse = startMeasurement();
+        ParseEvent parseEvent = new ParseEvent();
+        parseEvent.begin();
         SwaggerParseResult swaggerParseResult = new OpenAPIParser().readLocation(url, null, null);
         this.openAPI = swaggerParseResult.getOpenAPI();
-        locMapper = new LOCMapper(openAPI, url);
-        locMapper.mapOpenAPIKeysToLOC();
+        this.parseMessages = getMessages(swaggerParseResult);
+        this.location = url;
+        commit(parseEvent, url, this.openAPI, this.parseMessages);
+        if (parse != null)
+            parse.stopPhase(AnalysisProfile.PARSE);
+        AnalysisProfile.Measurement locMapping = startMeasurement();
+        this.locMapper = new LOCMapper(openAPI, url);
+        this.locMapper.mapOpenAPIKeysToLOC();
+        if (locMapping != null)
+            locMapping.stopPhase(AnalysisProfile.LOC_MAPPING);
     }
 
+    private RestAnalyzer(SwaggerParseResult swaggerParseResult, String contents) {
+        // the definition has already been parsed, only the line mapping is measured
+        this.openAPI = swaggerParseResult.getOpenAPI();
+        this.parseMessages = getMessages(swaggerParseResult);
+        this.location = null;
+        this.locMapper = new LOCMapper(openAPI, null);
+        if (this.openAPI != null && this.openAPI.getPaths() != null) {
+            AnalysisProfile.Measurement locMapping = startMeasurement();
+            try {
+                this.locMapper.mapOpenAPIKeysToLOC(new BufferedReader(new StringReader(contents)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (locMapping != null)
+                locMapping.stopPhase(AnalysisProfile.LOC_MAPPING);
+        }
+    }
+
+    /**
+     * Creates the analysis of a definition that is not read from a file or URL, e.g. the body of a request.
+     * @param contents the OpenAPI definition in JSON or YAML
+     * @return the analysis, whose {@link #openAPI} is null if the definition could not be parsed
+     */
+    public static RestAnalyzer fromContents(String contents) {
+        ParseEvent parseEvent = new ParseEvent();
+        parseEvent.begin();
+        SwaggerParseResult swaggerParseResult = new OpenAPIParser().readContents(contents, null, null);
+        commit(parseEvent, null, swaggerParseResult.getOpenAPI(), getMessages(swaggerParseResult));
+        return new RestAnalyzer(swaggerParseResult, contents);
+    }
+
+    private static void commit(ParseEvent parseEvent, String location, OpenAPI openAPI, List<String> messages) {
+        parseEvent.end();
+        if (!parseEvent.shouldCommit())
+            return;
+        parseEvent.setLocation(location);
+        parseEvent.setSuccessful(openAPI != null);
+        parseEvent.setMessageCount(messages.size());
+        if (openAPI != null && openAPI.getPaths() != null) {
+            parseEvent.setPathCount(openAPI.getPaths().size());
+            int segmentCount = 0;
+            for (String path : openAPI.getPaths().keySet()) {
+                for (String segment : path.split("/")) {
+                    if (!segment.isEmpty())
+                        segmentCount++;
+                }
+            }
+            parseEvent.setSegmentCount(segmentCount);
+        }
+        parseEvent.commit();
+    }
+
+    /**
+     * Loads the rule classes, dictionaries and models by analyzing a small bundled definition with all rules, so
+     * that long-running processes (daemon, server) answer their first request as fast as the following ones.
+     */
+    public static void warmUp() {
+        Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+        long start = System.nanoTime();
+        try (InputStream in = RestAnalyzer.class.getResourceAsStream(WARM_UP_DEFINITION)) {
+            if (in == null)
+                return;
+            List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+            rules.forEach(rule -> rule.setIsActive(true));
+            fromContents(new String(in.readAllBytes(), StandardCharsets.UTF_8)).runRuleViolationChecks(rules);
+            logger.info(String.format("Warmed up in %d ms", (System.nanoTime() - start) / 1_000_000));
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Error on warming up: " + e);
+        }
+    }
+
+    private static List<String> getMessages(SwaggerParseResult swaggerParseResult) {
+        return swaggerParseResult.getMessages() != null ? swaggerParseResult.getMessages() : List.of();
+    }
+
+    /**
+     * @return the errors and warnings of the parser
+     */
+    public List<String> getParseMessages() {
+        return this.parseMessages;
+    }
+
+    /**
+     * @return path or URL of the analyzed definition, null if it was not read from a file or URL
+     */
+    public String getLocation() {
+        return this.location;
+    }
+
+    /**
+     * @return the times of parsing, line mapping and the rules, null if profiling is not enabled
+     */
+    public AnalysisProfile getProfile() {
+        return this.profile;
+    }
+
+    /**
+     * @return the titles of the rules that were stopped by a time budget, their violations are incomplete
+     */
+    public synchronized List<String> getIncompleteRules() {
+        return new ArrayList<>(this.incompleteRules);
+    }
+
+    /**
+     * @return the token the rule that is currently checked on this thread asks before it checks the next path; a
+     * token that is never cancelled if no rule is checked by an analysis
+     */
+    public static CancellationToken getCancellationToken() {
+        CancellationToken cancellation = currentCancellation.get();
+        return cancellation != null ? cancellation : CancellationToken.none();
+    }
+
+    /**
+     * @return the LOC mapper of the analysis that is currently executed on this thread; a mapper that knows no lines,
+     * i.e. returns 0 for every path, if a rule is checked on its own
+     */
+    public static LOCMapper getLocMapper() {
+        RestAnalyzer restAnalyzer = currentAnalysis.get();
+        return restAnalyzer != null ? restAnalyzer.locMapper : new LOCMapper(null, null);
+    }
+
+    /**
+     * @return the linguistic analysis of the path segments of the analysis that is currently executed on this
+     * thread, shared by all of its rules
+     */
+    public static PathSegments getPathSegments() {
+        RestAnalyzer restAnalyzer = currentAnalysis.get();
+        // a rule that is checked on its own analyzes the segments when it needs them
+        return restAnalyzer != null ? restAnalyzer.getOrCreatePathSegments() : new PathSegments(null);
+    }
+
+    private synchronized PathSegments getOrCreatePathSegments() {
+        // only the rules that support sampling look at the segments, so only the sampled segments are analyzed
+        if (this.pathSegments == null)
+            this.pathSegments = new PathSegments(sampleFraction > 0 ? getOrCreateSample().getOpenAPI()
+                    : getCheckedOpenAPI());
+        return this.pathSegments;
+    }
+
+    private synchronized PathSample getOrCreateSample() {
+        if (this.sample == null)
+            this.sample = new PathSample(getCheckedOpenAPI(), sampleFraction, sampleSeed);
+        return this.sample;
+    }
+
+    /**
+     * @return the estimated share of paths with a violation of every rule that only checked a sample of the paths,
+     * empty if sampling is not enabled
+     */
+    public synchronized List<PathSample.Estimate> getSamplingEstimates() {
+        return new ArrayList<>(this.samplingEstimates);
+    }
+
+    /**
+     * @param openAPI the definition a rule checks
+     * @return the paths of the definition as tree of their segments; the tree of the analysis that is currently
+     * executed on this thread is shared by all of its rules
+     */
+    public static ResourceTree getResourceTree(OpenAPI openAPI) {
+        RestAnalyzer restAnalyzer = currentAnalysis.get();
+        if (restAnalyzer == null || restAnalyzer.getCheckedOpenAPI() != openAPI)
+            return new ResourceTree(openAPI);
+        return restAnalyzer.getOrCreateResourceTree();
+    }
+
+    private synchronized ResourceTree getOrCreateResourceTree() {
+        if (this.resourceTree == null)
+            this.resourceTree = new ResourceTree(getCheckedOpenAPI());
+        return this.resourceTree;
+    }
+
+    /**
+     * @param openAPI the definition a rule checks
+     * @return the index of the components of the definition; the index of the analysis that is currently executed
+     * on this thread is shared by all of its rules
+     */
+    public static ComponentIndex getComponentIndex(OpenAPI openAPI) {
+        RestAnalyzer restAnalyzer = currentAnalysis.get();
+        if (restAnalyzer == null || restAnalyzer.getCheckedOpenAPI() != openAPI)
+            return new ComponentIndex(openAPI);
+        return restAnalyzer.getOrCreateComponentIndex();
+    }
+
+    private synchronized ComponentIndex getOrCreateComponentIndex() {
+        if (this.componentIndex == null)
+            this.componentIndex = new ComponentIndex(getCheckedOpenAPI());
+        return this.componentIndex;
+    }
 
     /**
      * executes rule checking analysis for provided list of rules. Optionally generates a report file.
@@ -39,33 +310,63 @@ public class RestAnalyzer {
      * @return list of all violation objects
      */
     public List<Violation> runAnalyse(List<IRestRule> activeRules, boolean generateReport) {
-        List<Violation> violations = runRuleViolationChecks(activeRules);
-
         //generates Report
-        if (generateReport) {
-            report.generateReport(violations);
-        }else{
-            report.displayReport(violations);
-        }
-        return violations;
+        return runAnalyse(activeRules, generateReport ? getTimestamp() : null);
     }
 
     /**
      * executes rule checking analysis for provided list of rules. Generates a report file with a specified title.
      * returns a list of all violations found.
      * @param activeRules all rules to be checked for
-     * @param title name for the report file
+     * @param title name for the report file, null to only print the violations to the console
      * @return list of all violation objects
      */
     public List<Violation> runAnalyse(List<IRestRule> activeRules, String title){
+        List<Violation> violations = new ArrayList<>();
+        runAnalyse(activeRules, title, violations::add);
+        return violations;
+    }
 
-        //execute all active Rule Checks
-        List<Violation> violations = runRuleViolationChecks(activeRules);
-
-        //generate Report with custom title
-        report.generateReport(violations,title);
+    /**
+     * executes rule checking analysis for provided list of rules and passes the violations to the sink besides the
+     * report, without keeping them. Optionally generates a report file.
+     * @param activeRules all rules to be checked for
+     * @param generateReport generates report if boolean value true
+     * @param sink receives all violations that are reported; it is not closed
+     * @return number of violations found
+     */
+    public int runAnalyse(List<IRestRule> activeRules, boolean generateReport, ViolationSink sink) {
+        return runAnalyse(activeRules, generateReport ? getTimestamp() : null, sink);
+    }
 
-        return violations;
+    /**
+     * executes rule checking analysis for provided list of rules and passes the violations to the sink besides the
+     * report, without keeping them. Generates a report file with a specified title.
+     * @param activeRules all rules to be checked for
+     * @param title name for the report file, null to only print the violations to the console
+     * @param sink receives all violations that are reported; it is not closed
+     * @return number of violations found
+     */
+    public int runAnalyse(List<IRestRule> activeRules, String title, ViolationSink sink) {
+        int violationCount = 0;
+        //execute all active Rule Checks, the report receives the violations while the rules are checked
+        try (ViolationSink reportSink = report.openReport(title, this.location, activeRules)) {
+            violationCount = runRuleViolationChecks(activeRules, ViolationSink.of(sink, reportSink));
+        } catch (IOException e) {
+            logger.severe("Error on writing report: " + e.getMessage());
+        }
+        List<String> incomplete = getIncompleteRules();
+        if (!incomplete.isEmpty())
+            report.generateIncompleteReport(incomplete, Report.getDefaultOutputDir(), title,
+                    title != null && Report.getFormat() == ReportFormat.MARKDOWN);
+        List<PathSample.Estimate> estimates = getSamplingEstimates();
+        if (!estimates.isEmpty())
+            report.generateSamplingReport(estimates, Report.getDefaultOutputDir(), title,
+                    title != null && Report.getFormat() == ReportFormat.MARKDOWN);
+        if (this.profile != null)
+            report.generateProfileReport(this.profile, Report.getDefaultOutputDir(), title,
+                    title != null && Report.getFormat() == ReportFormat.MARKDOWN);
+        return violationCount;
     }
 
     /**
@@ -73,20 +374,419 @@ public class RestAnalyzer {
      * @param activeRules all Rules to be executed
      * @return list of all Violations for the set of rules
      */
-    private List<Violation> runRuleViolationChecks (List<IRestRule> activeRules){
+    public List<Violation> runRuleViolationChecks (List<IRestRule> activeRules){
         List<Violation> violations = new ArrayList<>();
-        int curRule = 1;
+        runRuleViolationChecks(activeRules, violations::add);
+        return violations;
+    }
+
+    /**
+     * executes a Rule check of a provided list of rules and passes the violations to the sink as soon as a rule
+     * has found them, without keeping them. Rules that exceed their time budget or the budget of the analysis are
+     * stopped and pass on the violations found until then, see {@link #getIncompleteRules()}.
+     * @param activeRules all Rules to be executed
+     * @param sink receives all Violations for the set of rules; it is not closed
+     * @return number of Violations for the set of rules
+     */
+    public int runRuleViolationChecks(List<IRestRule> activeRules, ViolationSink sink) {
+        List<IRestRule> rules = new ArrayList<>();
         for (IRestRule rule : activeRules) {
-            if (!rule.getIsActive())
-                continue;
-            String info = String.format("Rule %d of %d is now checked:%n%s", curRule, activeRules.size(),
-                    rule.getTitle());
-            logger.log(Level.INFO, info);
-            List<Violation> test = rule.checkViolation(this.openAPI);
-            curRule++;
-            violations.addAll(test);
+            if (rule.getIsActive())
+                rules.add(rule);
         }
-        return violations;
+        applyBaseline(activeRules);
+        int pathCount = getPathCount();
+        CancellationToken analysisCancellation = new CancellationToken(analysisBudget, null);
+        Predicate<Violation> filter = getViolationFilter();
+        int[] violationCount = {0};
+        ViolationSink countingSink = violation -> {
+            if (filter != null && !filter.test(violation))
+                return;
+            violationCount[0]++;
+            sink.accept(violation);
+        };
+        if (ruleThreads > 1 && rules.size() > 1) {
+            checkRulesInParallel(rules, activeRules.size(), pathCount, analysisCancellation, countingSink);
+            return violationCount[0];
+        }
+        RestAnalyzer previousAnalysis = currentAnalysis.get();
+        currentAnalysis.set(this);
+        try {
+            int curRule = 1;
+            for (IRestRule rule : rules) {
+                checkRule(rule, curRule, activeRules.size(), pathCount, analysisCancellation, countingSink);
+                curRule++;
+            }
+        } finally {
+            restoreAnalysis(previousAnalysis);
+        }
+        return violationCount[0];
+    }
+
+    /**
+     * Checks the rules on the shared rule threads, the most expensive rules first (longest processing time first), so
+     * the cheap rules fill the gaps while the expensive ones are still running. Every violation is passed to the sink
+     * as soon as a rule has found it, one at a time, so the violations of the rules are interleaved and nothing is
+     * kept until the rules before are checked; a sorting sink restores the order of the report.
+     */
+    private void checkRulesInParallel(List<IRestRule> rules, int ruleCount, int pathCount,
+                                      CancellationToken analysisCancellation, ViolationSink sink) {
+        RuleCostModel costModel = RuleCostModel.getShared();
+        List<IRestRule> schedule = new ArrayList<>(rules);
+        schedule.sort(Comparator.comparingLong((IRestRule rule) -> costModel.estimate(rule, pathCount)).reversed());
+        ExecutorService executor = getRuleExecutor();
+        ViolationSink sharedSink = violation -> {
+            synchronized (sink) {
+                sink.accept(violation);
+            }
+        };
+        List<Future<?>> checks = new ArrayList<>();
+        for (IRestRule rule : schedule) {
+            int curRule = rules.indexOf(rule) + 1;
+            checks.add(executor.submit(() -> {
+                RestAnalyzer previousAnalysis = currentAnalysis.get();
+                currentAnalysis.set(this);
+                try {
+                    checkRule(rule, curRule, ruleCount, pathCount, analysisCancellation, sharedSink);
+                } finally {
+                    restoreAnalysis(previousAnalysis);
+                }
+            }));
+        }
+        try {
+            checks.forEach(RestAnalyzer::waitFor);
+        } finally {
+            checks.forEach(check -> check.cancel(true));
+        }
+    }
+
+    /**
+     * Checks only the rules that can find violations of at least the given severity, the cheapest rules first, and
+     * stops as soon as such a violation is found: rules that have not started yet are not checked and the rules that
+     * are running stop at their next path.
+     * @param activeRules all Rules to be executed
+     * @param severity the lowest severity a violation needs to stop the checks
+     * @return the first violation found with at least the severity, empty if there is none
+     */
+    public Optional<Violation> findFirstViolation(List<IRestRule> activeRules, RuleSeverity severity) {
+        applyBaseline(activeRules);
+        int pathCount = getPathCount();
+        RuleCostModel costModel = RuleCostModel.getShared();
+        List<IRestRule> schedule = new ArrayList<>();
+        for (IRestRule rule : activeRules) {
+            if (rule.getIsActive() && rule.getSeverityType() != null && rule.getSeverityType().isAtLeast(severity))
+                schedule.add(rule);
+        }
+        schedule.sort(Comparator.comparingLong((IRestRule rule) -> costModel.estimate(rule, pathCount)));
+        AtomicReference<Violation> found = new AtomicReference<>();
+        CancellationToken analysisCancellation = new CancellationToken(analysisBudget, null);
+        Predicate<Violation> filter = getViolationFilter();
+        ViolationSink sink = violation -> {
+            if (violation.getRule().getSeverityType().isAtLeast(severity) && (filter == null || filter.test(violation))
+                    && found.compareAndSet(null, violation))
+                analysisCancellation.cancel();
+        };
+        if (ruleThreads <= 1 || schedule.size() <= 1) {
+            RestAnalyzer previousAnalysis = currentAnalysis.get();
+            currentAnalysis.set(this);
+            try {
+                for (int i = 0; i < schedule.size() && found.get() == null; i++) {
+                    checkRule(schedule.get(i), i + 1, schedule.size(), pathCount, analysisCancellation, sink);
+                }
+            } finally {
+                restoreAnalysis(previousAnalysis);
+            }
+            return Optional.ofNullable(found.get());
+        }
+        CompletionService<Violation> completion = new ExecutorCompletionService<>(getRuleExecutor());
+        List<Future<Violation>> checks = new ArrayList<>();
+        for (int i = 0; i < schedule.size(); i++) {
+            IRestRule rule = schedule.get(i);
+            int curRule = i + 1;
+            checks.add(completion.submit(() -> {
+                // another rule may have found a violation while this one was waiting for a thread
+                if (found.get() != null)
+                    return null;
+                RestAnalyzer previousAnalysis = currentAnalysis.get();
+                currentAnalysis.set(this);
+                try {
+                    checkRule(rule, curRule, schedule.size(), pathCount, analysisCancellation, sink);
+                } finally {
+                    restoreAnalysis(previousAnalysis);
+                }
+                return found.get();
+            }));
+        }
+        try {
+            for (int i = 0; i < checks.size(); i++) {
+                Violation violation = waitFor(takeNext(completion));
+                if (violation != null)
+                    return Optional.of(violation);
+            }
+            return Optional.empty();
+        } finally {
+            // the running rules stop at their next path, the waiting ones are not started anymore
+            analysisCancellation.cancel();
+            checks.forEach(check -> check.cancel(false));
+        }
+    }
+
+    private void checkRule(IRestRule rule, int curRule, int ruleCount, int pathCount,
+                           CancellationToken analysisCancellation, ViolationSink sink) {
+        String info = String.format("Rule %d of %d is now checked:%n%s", curRule, ruleCount, rule.getTitle());
+        logger.log(Output.isInteractive() ? Level.INFO : Level.FINE, info);
+        int[] violationCount = {0};
+        // the expensive rules only check a sample of the paths of a huge definition
+        PathSample pathSample = sampleFraction > 0 && rule.supportsSampling() && this.openAPI != null
+                ? getOrCreateSample() : null;
+        OpenAPI checkedOpenAPI = pathSample != null ? pathSample.getOpenAPI() : getCheckedOpenAPI();
+        int checkedPaths = pathSample != null ? pathSample.getSampledPaths() : pathCount;
+        Set<String> violatingPaths = new HashSet<>();
+        long estimatedNanos = RuleCostModel.getShared().estimate(rule, checkedPaths);
+        AnalysisProfile.Measurement measurement = startMeasurement();
+        RuleEvent ruleEvent = new RuleEvent();
+        ruleEvent.begin();
+        CancellationToken cancellation = new CancellationToken(ruleBudget, analysisCancellation);
+        currentCancellation.set(cancellation);
+        long start = System.nanoTime();
+        ProgressService.Task progress = ProgressService.begin();
+        try {
+            rule.checkViolation(checkedOpenAPI, violation -> {
+                violationCount[0]++;
+                if (pathSample != null)
+                    violatingPaths.add(violation.getKeyViolation());
+                sink.accept(violation);
+            });
+        } finally {
+            progress.close();
+            currentCancellation.remove();
+        }
+        // a stopped rule has not checked all paths, its time would make the estimate too low
+        if (!cancellation.hasStopped())
+            RuleCostModel.getShared().record(rule, checkedPaths, System.nanoTime() - start);
+        else if (cancellation.isExpired())
+            addIncompleteRule(rule);
+        if (pathSample != null)
+            addSamplingEstimate(pathSample.estimate(rule, violatingPaths));
+        ruleEvent.end();
+        if (ruleEvent.shouldCommit()) {
+            ruleEvent.setRule(rule.getTitle());
+            ruleEvent.setRuleId(rule.getClass().getSimpleName());
+            ruleEvent.setLocation(this.location);
+            ruleEvent.setPathCount(checkedPaths);
+            ruleEvent.setViolationCount(violationCount[0]);
+            ruleEvent.commit();
+        }
+        if (measurement != null)
+            measurement.stopRule(rule, violationCount[0], estimatedNanos);
+    }
+
+    /**
+     * Leaves out the paths that are unchanged since the baseline was written, once per analysis.
+     */
+    private synchronized void applyBaseline(List<IRestRule> activeRules) {
+        Baseline currentBaseline = baseline;
+        if (this.baselineApplied || currentBaseline == null || !skipBaselinedPaths)
+            return;
+        this.baselineApplied = true;
+        OpenAPI checkedOpenAPI = getCheckedOpenAPI();
+        OpenAPI changed = currentBaseline.withoutUnchangedPaths(checkedOpenAPI, activeRules);
+        if (changed == checkedOpenAPI)
+            return;
+        this.skippedPaths = checkedOpenAPI.getPaths().size() - changed.getPaths().size();
+        setScope(changed);
+    }
+
+    /**
+     * @return the filter of this analysis combined with the baseline, null if all violations are passed on
+     */
+    private Predicate<Violation> getViolationFilter() {
+        Predicate<Violation> filter = this.violationFilter;
+        Baseline currentBaseline = baseline;
+        if (currentBaseline == null)
+            return filter;
+        // the known violations are left out first, so they do not count for the filter of the analysis
+        Predicate<Violation> unknown = violation -> {
+            if (!currentBaseline.contains(violation))
+                return true;
+            this.baselinedViolations.incrementAndGet();
+            return false;
+        };
+        return filter != null ? unknown.and(filter) : unknown;
+    }
+
+    private OpenAPI getCheckedOpenAPI() {
+        return this.scope != null ? this.scope : this.openAPI;
+    }
+
+    private int getPathCount() {
+        OpenAPI checkedOpenAPI = getCheckedOpenAPI();
+        return checkedOpenAPI != null && checkedOpenAPI.getPaths() != null ? checkedOpenAPI.getPaths().size() : 0;
+    }
+
+    private synchronized void addSamplingEstimate(PathSample.Estimate estimate) {
+        this.samplingEstimates.add(estimate);
+    }
+
+    private synchronized void addIncompleteRule(IRestRule rule) {
+        this.incompleteRules.add(rule.getTitle());
+        logger.warning(String.format("The rule \"%s\" exceeded its time budget in %s and was stopped, its violations "
+                + "are incomplete", rule.getTitle(), this.location != null ? this.location : "the definition"));
+    }
+
+    private static void restoreAnalysis(RestAnalyzer previousAnalysis) {
+        if (previousAnalysis != null)
+            currentAnalysis.set(previousAnalysis);
+        else
+            currentAnalysis.remove();
+    }
+
+    /**
+     * Lets the rules only check a part of the definition, e.g. the paths changed by a pull request. The line numbers
+     * of the violations are still taken from the whole definition.
+     * @param scope a definition with some of the paths of {@link #openAPI}, null to check all paths
+     */
+    public synchronized void setScope(OpenAPI scope) {
+        this.scope = scope;
+        this.pathSegments = null;
+        this.sample = null;
+        this.resourceTree = null;
+        this.componentIndex = null;
+    }
+
+    /**
+     * @param violationFilter decides which violations are passed on and reported, e.g. only the violations that are
+     *                        not in a baseline; null to pass on all violations
+     */
+    public void setViolationFilter(Predicate<Violation> violationFilter) {
+        this.violationFilter = violationFilter;
+    }
+
+    /**
+     * @return number of violations that were not passed on because they are in the baseline
+     */
+    public int getBaselinedViolationCount() {
+        return this.baselinedViolations.get();
+    }
+
+    /**
+     * @return number of paths the rules did not check because they are unchanged since the baseline was written
+     */
+    public synchronized int getSkippedPathCount() {
+        return this.skippedPaths;
+    }
+
+    /**
+     * @param openAPI a definition
+     * @param paths   some of the paths of the definition
+     * @return a copy of the definition with only the given paths; everything else is shared with the definition
+     */
+    static OpenAPI withPaths(OpenAPI openAPI, Paths paths) {
+        return new OpenAPI()
+                .openapi(openAPI.getOpenapi())
+                .info(openAPI.getInfo())
+                .externalDocs(openAPI.getExternalDocs())
+                .servers(openAPI.getServers())
+                .security(openAPI.getSecurity())
+                .tags(openAPI.getTags())
+                .components(openAPI.getComponents())
+                .extensions(openAPI.getExtensions())
+                .paths(paths);
+    }
+
+    /**
+     * @param threads number of threads the rules of an analysis are checked on; 1 checks them one after another on
+     *                the thread of the analysis
+     */
+    public static synchronized void setRuleThreads(int threads) {
+        ruleThreads = Math.max(1, threads);
+        if (ruleExecutor != null) {
+            ruleExecutor.shutdown();
+            ruleExecutor = null;
+        }
+    }
+
+    /**
+     * @param budget time after which a rule is stopped and reported as incomplete, null for no time limit
+     */
+    public static void setRuleBudget(Duration budget) {
+        ruleBudget = budget;
+    }
+
+    /**
+     * @param budget time after which all rules of an analysis that are not finished are stopped and reported as
+     *               incomplete, null for no time limit
+     */
+    public static void setAnalysisBudget(Duration budget) {
+        analysisBudget = budget;
+    }
+
+    /**
+     * @param fraction share of the paths of every first segment the rules that support sampling check, 0 to check
+     *                 all paths
+     * @param seed     seed of the random selection of the paths
+     */
+    public static void setSampling(double fraction, long seed) {
+        if (fraction < 0 || fraction > 1)
+            throw new IllegalArgumentException("The sample fraction must be between 0 and 1");
+        sampleFraction = fraction;
+        sampleSeed = seed;
+    }
+
+    /**
+     * @param knownViolations    violations that are not passed on and reported, null to pass on all violations
+     * @param skipUnchangedPaths true to let the rules leave out the paths that are unchanged since the baseline was
+     *                           written and whose violations are all in it
+     */
+    public static void setBaseline(Baseline knownViolations, boolean skipUnchangedPaths) {
+        baseline = knownViolations;
+        skipBaselinedPaths = skipUnchangedPaths;
+    }
+
+    private static synchronized ExecutorService getRuleExecutor() {
+        if (ruleExecutor == null)
+            ruleExecutor = Executors.newFixedThreadPool(ruleThreads, runnable -> {
+                Thread thread = new Thread(runnable, "rule-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+        return ruleExecutor;
+    }
+
+    private static <T> Future<T> takeNext(CompletionService<T> ruleChecks) {
+        try {
+            return ruleChecks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The rule checks were interrupted", e);
+        }
+    }
+
+    private static <T> T waitFor(Future<T> ruleCheck) {
+        try {
+            return ruleCheck.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The rule checks were interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private AnalysisProfile.Measurement startMeasurement() {
+        return this.profile != null ? this.profile.start() : null;
+    }
+
+    /**
+     * generates a String of the current date and time
+     * @return timestamp string
+     */
+    private static String getTimestamp() {
+        return DateTimeFormatter.ofPattern("yyyy_MM_dd-HH_mm_ss").format(LocalDateTime.now());
     }
 
 }
@@ -0,0 +1,81 @@
+package cli.analyzer;
+
+import cli.rule.IRestRule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates how long a rule takes for a definition. The costs of the rules differ by orders of magnitude, e.g. the
+ * Lowercase rule takes microseconds where the rules using NLP or Weka take seconds. Every rule starts with a declared
+ * cost per path, measured on generated definitions; after every check the estimate moves towards the measured time,
+ * so later analyses of a batch, the daemon or the HTTP service are scheduled with the costs of this machine.
+ */
+public class RuleCostModel {
+    // nanoseconds per path, measured with --profile on a generated definition with 2000 paths
+    private static final Map<String, Double> DECLARED_NANOS_PER_PATH = Map.ofEntries(
+            Map.entry("FileExtensionRule", 716_000.0),
+            Map.entry("RequestTypeDescriptionRule", 285_000.0),
+            Map.entry("VerbPhraseRule", 220_000.0),
+            Map.entry("HyphensRule", 157_000.0),
+            Map.entry("ContentTypeRule", 134_000.0),
+            Map.entry("CRUDRule", 128_000.0),
+            Map.entry("TunnelingRule", 65_000.0),
+            Map.entry("UnauthorizedRule", 50_000.0),
+            Map.entry("SeparatorRule", 39_000.0),
+            Map.entry("SingularDocumentNameRule", 25_000.0),
+            Map.entry("PluralNameRule", 16_000.0),
+            Map.entry("LowercaseRule", 13_000.0),
+            Map.entry("GetResourceRule", 12_000.0),
+            Map.entry("UnderscoreRule", 11_000.0),
+            Map.entry("TrailingRule", 4_000.0));
+    // cost of a rule that is not declared, e.g. a new rule
+    private static final double DEFAULT_NANOS_PER_PATH = 100_000.0;
+    // weight of the last measurement in the estimate
+    private static final double MEASUREMENT_WEIGHT = 0.5;
+    private static final RuleCostModel shared = new RuleCostModel();
+    private final Map<String, Double> nanosPerPath = new ConcurrentHashMap<>();
+
+    /**
+     * @return the model used by all analyses of this JVM
+     */
+    public static RuleCostModel getShared() {
+        return shared;
+    }
+
+    /**
+     * @param rule      the rule to be checked
+     * @param pathCount number of paths of the definition
+     * @return estimated wall time of the rule in nanoseconds
+     */
+    public long estimate(IRestRule rule, int pathCount) {
+        return Math.round(getNanosPerPath(rule) * Math.max(1, pathCount));
+    }
+
+    /**
+     * @param rule      the checked rule
+     * @param pathCount number of paths of the definition
+     * @param wallNanos measured wall time of the rule
+     */
+    public void record(IRestRule rule, int pathCount, long wallNanos) {
+        double measured = (double) wallNanos / Math.max(1, pathCount);
+        this.nanosPerPath.compute(getId(rule), (id, previous) -> {
+            double estimated = previous != null ? previous : getDeclaredNanosPerPath(id);
+            return estimated + MEASUREMENT_WEIGHT * (measured - estimated);
+        });
+    }
+
+    private double getNanosPerPath(IRestRule rule) {
+        String id = getId(rule);
+        Double measured = this.nanosPerPath.get(id);
+        return measured != null ? measured : getDeclaredNanosPerPath(id);
+    }
+
+    private static double getDeclaredNanosPerPath(String id) {
+        return DECLARED_NANOS_PER_PATH.getOrDefault(id, DEFAULT_NANOS_PER_PATH);
+    }
+
+    private static String getId(IRestRule rule) {
+        return rule.getClass().getSimpleName();
+    }
+}
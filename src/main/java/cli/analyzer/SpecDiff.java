@@ -0,0 +1,258 @@
+package cli.analyzer;
+
+import cli.rule.Violation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The structural difference between two versions of a definition, e.g. the base and the head of a pull request. A
+ * path of the head is changed if it is new, if one of its operations or its other fields differ from the base, or if
+ * it references a component that is new or differs, directly or through other components. The security schemes are
+ * referenced by name and the global security applies to every operation without its own, so a change of either of
+ * them changes every path. The definitions are compared as JSON trees, so formatting, key order and line numbers do
+ * not matter.
+ */
+public class SpecDiff {
+    private static final String COMPONENTS = "#/components/";
+    private static final String SECURITY_SCHEMES = "securitySchemes/";
+    private final OpenAPI baseOpenAPI;
+    private final OpenAPI headOpenAPI;
+    // the changed operations of every changed path, in the order of the head
+    private final Map<String, List<PathItem.HttpMethod>> changedPaths = new LinkedHashMap<>();
+    private final Set<String> changedComponents;
+    // true if the global security or a security scheme differs
+    private final boolean securityChanged;
+
+    /**
+     * @param base the old version of the definition
+     * @param head the new version of the definition
+     */
+    public SpecDiff(OpenAPI base, OpenAPI head) {
+        Map<String, JsonNode> baseComponents = getComponents(base.getComponents());
+        Map<String, JsonNode> headComponents = getComponents(head.getComponents());
+        this.changedComponents = getChangedComponents(baseComponents, headComponents);
+        this.securityChanged = !Objects.equals(Json.mapper().valueToTree(base.getSecurity()),
+                Json.mapper().valueToTree(head.getSecurity()))
+                || this.changedComponents.stream().anyMatch(name -> name.startsWith(SECURITY_SCHEMES));
+
+        Paths basePaths = base.getPaths() != null ? base.getPaths() : new Paths();
+        Paths headPaths = head.getPaths() != null ? head.getPaths() : new Paths();
+        headPaths.forEach((path, pathItem) -> {
+            List<PathItem.HttpMethod> operations = getChangedOperations(basePaths.get(path), pathItem);
+            if (operations != null)
+                this.changedPaths.put(path, operations);
+        });
+        Paths changedHeadPaths = new Paths();
+        Paths changedBasePaths = new Paths();
+        for (String path : this.changedPaths.keySet()) {
+            changedHeadPaths.addPathItem(path, headPaths.get(path));
+            if (basePaths.containsKey(path))
+                changedBasePaths.addPathItem(path, basePaths.get(path));
+        }
+        this.headOpenAPI = RestAnalyzer.withPaths(head, changedHeadPaths);
+        this.baseOpenAPI = RestAnalyzer.withPaths(base, changedBasePaths);
+    }
+
+    /**
+     * @return true if no path of the head is changed
+     */
+    public boolean isEmpty() {
+        return this.changedPaths.isEmpty();
+    }
+
+    /**
+     * @return the changed paths of the head with their changed operations; all operations of a new path are changed
+     */
+    public Map<String, List<PathItem.HttpMethod>> getChangedPaths() {
+        return Collections.unmodifiableMap(this.changedPaths);
+    }
+
+    /**
+     * @return number of changed operations of all changed paths
+     */
+    public int getChangedOperationCount() {
+        return this.changedPaths.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * @return the new, changed and removed components, e.g. {@code schemas/Pet}, including the components that
+     * reference one of them
+     */
+    public Set<String> getChangedComponents() {
+        return Collections.unmodifiableSet(this.changedComponents);
+    }
+
+    /**
+     * @return the head with only the changed paths; everything else is shared with the head
+     */
+    public OpenAPI getHeadOpenAPI() {
+        return this.headOpenAPI;
+    }
+
+    /**
+     * @return the base with only the paths that are changed in the head, as far as the base has them
+     */
+    public OpenAPI getBaseOpenAPI() {
+        return this.baseOpenAPI;
+    }
+
+    /**
+     * Every violation of the base can only cancel out one violation of the head, so a second violation with the same
+     * rule, key and message is still new.
+     *
+     * @param baseViolations the violations of the changed paths of the base
+     * @return a filter that lets through the violations of the head that the base does not have
+     */
+    public static Predicate<Violation> newViolations(Collection<Violation> baseViolations) {
+        Map<String, Integer> remaining = new HashMap<>();
+        for (Violation violation : baseViolations) {
+            remaining.merge(Baseline.getFingerprint(violation), 1, Integer::sum);
+        }
+        return violation -> {
+            String key = Baseline.getFingerprint(violation);
+            synchronized (remaining) {
+                Integer count = remaining.get(key);
+                if (count == null)
+                    return true;
+                if (count == 1)
+                    remaining.remove(key);
+                else
+                    remaining.put(key, count - 1);
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return null if the path is not changed, otherwise its changed operations
+     */
+    private List<PathItem.HttpMethod> getChangedOperations(PathItem basePathItem, PathItem headPathItem) {
+        Map<PathItem.HttpMethod, Operation> headOperations = headPathItem.readOperationsMap();
+        if (basePathItem == null || this.securityChanged)
+            return new ArrayList<>(headOperations.keySet());
+        JsonNode baseTree = Json.mapper().valueToTree(basePathItem);
+        JsonNode headTree = Json.mapper().valueToTree(headPathItem);
+        boolean pathChanged = !baseTree.equals(headTree) || referencesChangedComponent(headTree);
+        if (!pathChanged)
+            return null;
+        // the fields of the path, e.g. its parameters, belong to all of its operations
+        JsonNode headPathTree = withoutOperations(headTree);
+        if (!withoutOperations(baseTree).equals(headPathTree) || referencesChangedComponent(headPathTree))
+            return new ArrayList<>(headOperations.keySet());
+        Map<PathItem.HttpMethod, Operation> baseOperations = basePathItem.readOperationsMap();
+        List<PathItem.HttpMethod> operations = new ArrayList<>();
+        headOperations.forEach((method, operation) -> {
+            JsonNode operationTree = Json.mapper().valueToTree(operation);
+            Operation baseOperation = baseOperations.get(method);
+            if (baseOperation == null || !operationTree.equals(Json.mapper().valueToTree(baseOperation))
+                    || referencesChangedComponent(operationTree))
+                operations.add(method);
+        });
+        // a path whose operations were only removed is still checked, its remaining operations are not changed
+        return operations;
+    }
+
+    private static JsonNode withoutOperations(JsonNode pathItemTree) {
+        ObjectNode tree = ((ObjectNode) pathItemTree).deepCopy();
+        for (PathItem.HttpMethod method : PathItem.HttpMethod.values()) {
+            tree.remove(method.name().toLowerCase());
+        }
+        return tree;
+    }
+
+    private boolean referencesChangedComponent(JsonNode tree) {
+        if (this.changedComponents.isEmpty())
+            return false;
+        Set<String> references = new HashSet<>();
+        collectReferences(tree, references);
+        return !Collections.disjoint(references, this.changedComponents);
+    }
+
+    private static Set<String> getChangedComponents(Map<String, JsonNode> base, Map<String, JsonNode> head) {
+        Set<String> changed = new HashSet<>();
+        head.forEach((name, tree) -> {
+            if (!tree.equals(base.get(name)))
+                changed.add(name);
+        });
+        for (String name : base.keySet()) {
+            if (!head.containsKey(name))
+                changed.add(name);
+        }
+        // a component that references a changed component is changed as well
+        Map<String, Set<String>> referencedBy = new HashMap<>();
+        head.forEach((name, tree) -> {
+            Set<String> references = new HashSet<>();
+            collectReferences(tree, references);
+            references.forEach(reference -> referencedBy.computeIfAbsent(reference, key -> new HashSet<>()).add(name));
+        });
+        Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            for (String name : referencedBy.getOrDefault(queue.poll(), Set.of())) {
+                if (changed.add(name))
+                    queue.add(name);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return the JSON tree of every component, e.g. of {@code schemas/Pet}
+     */
+    static Map<String, JsonNode> getComponents(Components components) {
+        Map<String, JsonNode> trees = new HashMap<>();
+        if (components == null)
+            return trees;
+        addComponents(trees, "schemas", components.getSchemas());
+        addComponents(trees, "responses", components.getResponses());
+        addComponents(trees, "parameters", components.getParameters());
+        addComponents(trees, "examples", components.getExamples());
+        addComponents(trees, "requestBodies", components.getRequestBodies());
+        addComponents(trees, "headers", components.getHeaders());
+        addComponents(trees, "securitySchemes", components.getSecuritySchemes());
+        addComponents(trees, "links", components.getLinks());
+        addComponents(trees, "callbacks", components.getCallbacks());
+        addComponents(trees, "pathItems", components.getPathItems());
+        return trees;
+    }
+
+    private static void addComponents(Map<String, JsonNode> trees, String type, Map<String, ?> components) {
+        if (components != null)
+            components.forEach((name, component) -> trees.put(type + "/" + name, Json.mapper().valueToTree(component)));
+    }
+
+    /**
+     * Adds the components referenced in the tree, e.g. {@code schemas/Pet} for {@code #/components/schemas/Pet}.
+     */
+    static void collectReferences(JsonNode node, Set<String> references) {
+        if (node.isObject()) {
+            JsonNode reference = node.get("$ref");
+            if (reference != null && reference.isTextual() && reference.asText().startsWith(COMPONENTS)) {
+                String[] parts = reference.asText().substring(COMPONENTS.length()).split("/");
+                if (parts.length >= 2)
+                    references.add(parts[0] + "/" + parts[1]);
+            }
+        }
+        if (node.isContainerNode())
+            node.forEach(child -> collectReferences(child, references));
+    }
+}
@@ -0,0 +1,123 @@
+package cli.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Thin client that lets a running {@link DaemonServer} analyze a definition. The client only checks the version of
+ * the daemon and passes the received violations on, it loads neither rules nor models.
+ */
+public class DaemonClient {
+    private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private final Path socketPath;
+
+    /**
+     * @param socketPath file of the Unix domain socket the daemon listens on
+     */
+    public DaemonClient(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    /**
+     * Sends the definition to the daemon and passes every violation to the consumer as soon as it is received.
+     * A daemon of another version is asked to shut down and not used.
+     *
+     * @param location          path or URL of the definition; paths have to be absolute, the daemon may run in another
+     *                          working directory
+     * @param violationConsumer receives the violations
+     * @return the number of violations, empty if no daemon of the same version is running
+     * @throws IOException if the daemon could not analyze the definition
+     */
+    public Optional<Integer> analyze(String location, Consumer<DaemonViolation> violationConsumer) throws IOException {
+        if (!Files.exists(this.socketPath))
+            return Optional.empty();
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(UnixDomainSocketAddress.of(this.socketPath));
+        } catch (IOException e) {
+            logger.fine("No daemon is listening on " + this.socketPath + ": " + e.getMessage());
+            return Optional.empty();
+        }
+
+        try (channel;
+             BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            writeLine(out, DaemonProtocol.HELLO + " " + DaemonProtocol.getVersion());
+            out.flush();
+            String hello = in.readLine();
+            if (hello == null || !hello.equals(DaemonProtocol.HELLO + " " + DaemonProtocol.getVersion())) {
+                // stale daemon of an older (or newer) build, it must not be reused
+                writeLine(out, DaemonProtocol.SHUTDOWN);
+                out.flush();
+                in.readLine();
+                return Optional.empty();
+            }
+
+            writeLine(out, DaemonProtocol.ANALYZE + " " + location);
+            out.flush();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(DaemonProtocol.VIOLATION + " ")) {
+                    violationConsumer.accept(DaemonViolation.decode(line.substring(DaemonProtocol.VIOLATION.length() + 1)));
+                } else if (line.startsWith(DaemonProtocol.DONE + " ")) {
+                    return Optional.of(Integer.parseInt(line.substring(DaemonProtocol.DONE.length() + 1)));
+                } else if (line.startsWith(DaemonProtocol.ERROR + " ")) {
+                    throw new IOException(DaemonProtocol.unescape(line.substring(DaemonProtocol.ERROR.length() + 1)));
+                }
+            }
+            throw new IOException("The daemon closed the connection before the analysis was finished");
+        }
+    }
+
+    /**
+     * Convenience variant of {@link #analyze(String, Consumer)} that collects all violations.
+     *
+     * @param location path or URL of the definition
+     * @return the violations, empty if no daemon of the same version is running
+     * @throws IOException if the daemon could not analyze the definition
+     */
+    public Optional<List<DaemonViolation>> analyze(String location) throws IOException {
+        List<DaemonViolation> violations = new ArrayList<>();
+        return analyze(location, violations::add).map(count -> violations);
+    }
+
+    /**
+     * Asks the daemon to shut down, regardless of its version.
+     *
+     * @return true if a daemon was running
+     */
+    public boolean shutdown() {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(this.socketPath));
+             BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            writeLine(out, DaemonProtocol.HELLO + " " + DaemonProtocol.getVersion());
+            out.flush();
+            in.readLine();
+            writeLine(out, DaemonProtocol.SHUTDOWN);
+            out.flush();
+            return DaemonProtocol.BYE.equals(in.readLine());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void writeLine(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+}
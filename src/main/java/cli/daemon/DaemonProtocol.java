@@ -0,0 +1,101 @@
+package cli.daemon;
+
+import cli.RestRulerCli;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+
+/**
+ * Line based protocol between the daemon and its clients. Every connection handles exactly one request:
+ * <pre>
+ * client: HELLO &lt;version&gt;            daemon: HELLO &lt;version&gt;
+ * client: ANALYZE &lt;location&gt;         daemon: VIOLATION &lt;fields&gt; (zero or more), then DONE &lt;count&gt; or ERROR &lt;message&gt;
+ * client: SHUTDOWN                   daemon: BYE
+ * </pre>
+ * The fields of a violation are separated by tabs; tabs, line breaks and backslashes inside a field are escaped.
+ */
+public final class DaemonProtocol {
+    static final String HELLO = "HELLO";
+    static final String ANALYZE = "ANALYZE";
+    static final String SHUTDOWN = "SHUTDOWN";
+    static final String VIOLATION = "VIOLATION";
+    static final String DONE = "DONE";
+    static final String ERROR = "ERROR";
+    static final String BYE = "BYE";
+    static final String FIELD_SEPARATOR = "\t";
+    // increase when the messages change
+    private static final int PROTOCOL_VERSION = 1;
+    private static String version;
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * @return the socket used when no other one is given, one per user in the temp directory
+     */
+    public static Path getDefaultSocketPath() {
+        return Path.of(System.getProperty("java.io.tmpdir"), "rest-ruler-" + System.getProperty("user.name") + ".sock");
+    }
+
+    /**
+     * The version consists of the protocol version, the version of the application and the modification time of the
+     * jar (or class directory) the application was loaded from. A daemon started before the application was rebuilt
+     * or updated therefore never answers a newer client.
+     *
+     * @return the version exchanged in the handshake
+     */
+    public static synchronized String getVersion() {
+        if (version == null) {
+            String implementationVersion = RestRulerCli.class.getPackage().getImplementationVersion();
+            version = PROTOCOL_VERSION + "-" + (implementationVersion != null ? implementationVersion : "dev") + "-"
+                    + getBuildTimestamp();
+        }
+        return version;
+    }
+
+    private static long getBuildTimestamp() {
+        try {
+            CodeSource codeSource = RestRulerCli.class.getProtectionDomain().getCodeSource();
+            if (codeSource == null)
+                return 0;
+            return Files.getLastModifiedTime(Path.of(codeSource.getLocation().toURI())).toMillis();
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    static String escape(String field) {
+        if (field == null)
+            return "";
+        return field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String field) {
+        StringBuilder sb = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\' || i + 1 == field.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = field.charAt(++i);
+            switch (next) {
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                default:
+                    sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,206 @@
+package cli.daemon;
+
+import cli.analyzer.RestAnalyzer;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.utility.Output;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a warm JVM with loaded rules, dictionaries and models and analyzes the definitions sent by
+ * {@link DaemonClient} over a Unix domain socket. The daemon shuts itself down after it was idle for the configured
+ * time or when a client asks it to, e.g. because the client belongs to a newer version.
+ */
+public class DaemonServer {
+    private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private final Path socketPath;
+    private final Duration idleTimeout;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService idleWatcher = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private volatile long lastActivity = System.nanoTime();
+    private volatile boolean running;
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * @param socketPath  file of the Unix domain socket the daemon listens on
+     * @param idleTimeout time without requests after which the daemon shuts down
+     * @param threads     maximum number of definitions that are analyzed at the same time
+     */
+    public DaemonServer(Path socketPath, Duration idleTimeout, int threads) {
+        this.socketPath = socketPath;
+        this.idleTimeout = idleTimeout;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads));
+    }
+
+    /**
+     * Warms up the JVM, binds the socket and answers requests until the daemon is stopped. Blocks the calling thread.
+     *
+     * @throws IOException if the socket cannot be bound, e.g. because another daemon is already listening on it
+     */
+    public void run() throws IOException {
+        if (isListening(this.socketPath))
+            throw new IOException("A daemon is already listening on " + this.socketPath);
+        Files.deleteIfExists(this.socketPath);
+
+        Output.setInteractive(false);
+        RestAnalyzer.warmUp();
+
+        this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        this.serverChannel.bind(UnixDomainSocketAddress.of(this.socketPath));
+        restrictToOwner(this.socketPath);
+        this.running = true;
+        this.lastActivity = System.nanoTime();
+        long checkInterval = Math.max(100, Math.min(this.idleTimeout.toMillis() / 4, 10_000));
+        this.idleWatcher.scheduleAtFixedRate(this::stopIfIdle, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+
+        try {
+            while (this.running) {
+                SocketChannel channel = this.serverChannel.accept();
+                this.activeRequests.incrementAndGet();
+                this.lastActivity = System.nanoTime();
+                this.workers.submit(() -> handle(channel));
+            }
+        } catch (ClosedChannelException e) {
+            // the channel is closed by stop()
+        } finally {
+            stop();
+            this.workers.shutdown();
+            this.idleWatcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Stops accepting requests and removes the socket file. Requests that are already running are finished.
+     */
+    public synchronized void stop() {
+        if (this.serverChannel == null || !this.serverChannel.isOpen())
+            return;
+        this.running = false;
+        try {
+            this.serverChannel.close();
+            Files.deleteIfExists(this.socketPath);
+        } catch (IOException e) {
+            logger.warning("Error on stopping the daemon: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return true while the daemon accepts requests
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void stopIfIdle() {
+        long idle = System.nanoTime() - this.lastActivity;
+        if (this.activeRequests.get() == 0 && idle >= this.idleTimeout.toNanos()) {
+            logger.info("The daemon was idle for " + this.idleTimeout.toSeconds() + " seconds and is shut down");
+            stop();
+        }
+    }
+
+    private void handle(SocketChannel channel) {
+        try (channel;
+             BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            String hello = in.readLine();
+            if (hello == null || !hello.startsWith(DaemonProtocol.HELLO))
+                return;
+            writeLine(out, DaemonProtocol.HELLO + " " + DaemonProtocol.getVersion());
+            out.flush();
+
+            String request = in.readLine();
+            if (request == null)
+                return;
+            if (request.equals(DaemonProtocol.SHUTDOWN)) {
+                writeLine(out, DaemonProtocol.BYE);
+                out.flush();
+                stop();
+            } else if (request.startsWith(DaemonProtocol.ANALYZE + " ")) {
+                analyze(request.substring(DaemonProtocol.ANALYZE.length() + 1), out);
+            } else {
+                writeLine(out, DaemonProtocol.ERROR + " Unknown request");
+            }
+        } catch (IOException e) {
+            logger.warning("Error on answering a client: " + e.getMessage());
+        } finally {
+            this.lastActivity = System.nanoTime();
+            this.activeRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * Analyzes the definition and sends the violations of every rule as soon as the rule is finished.
+     */
+    private void analyze(String location, Writer out) throws IOException {
+        int count = 0;
+        try {
+            RestAnalyzer restAnalyzer = new RestAnalyzer(location);
+            if (restAnalyzer.openAPI == null || restAnalyzer.openAPI.getPaths() == null) {
+                writeLine(out, DaemonProtocol.ERROR + " The definition could not be parsed");
+                return;
+            }
+            for (IRestRule rule : new ActiveRules().getAllRuleObjects()) {
+                if (!rule.getIsActive())
+                    continue;
+                for (Violation violation : restAnalyzer.runRuleViolationChecks(List.of(rule))) {
+                    writeLine(out, DaemonProtocol.VIOLATION + " " + DaemonViolation.encode(violation));
+                    count++;
+                }
+                out.flush();
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Error on analyzing " + location + ": " + e);
+            writeLine(out, DaemonProtocol.ERROR + " " + DaemonProtocol.escape(e.toString()));
+            return;
+        }
+        writeLine(out, DaemonProtocol.DONE + " " + count);
+    }
+
+    private static void writeLine(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+
+    private static void restrictToOwner(Path socketPath) {
+        try {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            // not a POSIX file system, the permissions of the temp directory apply
+        }
+    }
+
+    static boolean isListening(Path socketPath) {
+        if (!Files.exists(socketPath))
+            return false;
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            return channel.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
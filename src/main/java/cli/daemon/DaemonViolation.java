@@ -0,0 +1,74 @@
+package cli.daemon;
+
+import cli.rule.Violation;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A violation as it is sent from the daemon to the client. The client only prints the violations, so the rule is
+ * represented by its title and severity instead of the rule object.
+ */
+public class DaemonViolation {
+    private final String severity;
+    private final int lineViolation;
+    private final String ruleTitle;
+    private final String keyViolation;
+    private final String errorMessage;
+    private final String improvementSuggestion;
+
+    public DaemonViolation(String severity, int lineViolation, String ruleTitle, String keyViolation,
+                           String errorMessage, String improvementSuggestion) {
+        this.severity = severity;
+        this.lineViolation = lineViolation;
+        this.ruleTitle = ruleTitle;
+        this.keyViolation = keyViolation;
+        this.errorMessage = errorMessage;
+        this.improvementSuggestion = improvementSuggestion;
+    }
+
+    static String encode(Violation violation) {
+        return Arrays.stream(new String[]{
+                        violation.getRule().getSeverityType().name(),
+                        String.valueOf(violation.getLineViolation()),
+                        violation.getRule().getTitle(),
+                        violation.getKeyViolation(),
+                        violation.getErrorMessage(),
+                        violation.getImprovementSuggestion()})
+                .map(DaemonProtocol::escape)
+                .collect(Collectors.joining(DaemonProtocol.FIELD_SEPARATOR));
+    }
+
+    static DaemonViolation decode(String fields) {
+        String[] parts = fields.split(DaemonProtocol.FIELD_SEPARATOR, -1);
+        if (parts.length != 6)
+            throw new IllegalArgumentException("Malformed violation: " + fields);
+        return new DaemonViolation(DaemonProtocol.unescape(parts[0]), Integer.parseInt(parts[1]),
+                DaemonProtocol.unescape(parts[2]), DaemonProtocol.unescape(parts[3]),
+                DaemonProtocol.unescape(parts[4]), DaemonProtocol.unescape(parts[5]));
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public int getLineViolation() {
+        return lineViolation;
+    }
+
+    public String getRuleTitle() {
+        return ruleTitle;
+    }
+
+    public String getKeyViolation() {
+        return keyViolation;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public String getImprovementSuggestion() {
+        return improvementSuggestion;
+    }
+}
@@ -0,0 +1,671 @@
+package cli.generator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates OpenAPI 3 definitions of any size, e.g. for benchmarks and tests on large definitions without network
+ * access. The same seed and parameters always give the same definition. Paths are built from nested resources like
+ * /customers/{customerId}/orders, schemas, parameters, request bodies and responses are referenced from the
+ * components. Violations can be injected for every rule; each injected path is meant to break the given rule, but it
+ * may break other rules as well and the NLP based rules may not recognize every injected violation.
+ * <p>
+ * The definition is written while it is generated, only the paths are kept in memory.
+ */
+public class SpecGenerator {
+    /**
+     * The rules violations can be injected for, in the order they are assigned to the paths.
+     */
+    public static final List<String> RULES = List.of("CRUDRule", "ContentTypeRule", "FileExtensionRule",
+            "GetResourceRule", "HyphensRule", "LowercaseRule", "PluralNameRule", "RequestTypeDescriptionRule",
+            "SeparatorRule", "SingularDocumentNameRule", "TrailingRule", "TunnelingRule", "UnauthorizedRule",
+            "UnderscoreRule", "VerbPhraseRule");
+    // plural and singular; none of them contains a CRUD operation like "add" or "get"
+    private static final String[][] RESOURCES = {{"users", "user"}, {"orders", "order"}, {"items", "item"},
+            {"customers", "customer"}, {"invoices", "invoice"}, {"payments", "payment"}, {"accounts", "account"},
+            {"products", "product"}, {"carts", "cart"}, {"shipments", "shipment"}, {"reviews", "review"},
+            {"comments", "comment"}, {"tags", "tag"}, {"categories", "category"}, {"stores", "store"},
+            {"employees", "employee"}, {"teams", "team"}, {"projects", "project"}, {"tasks", "task"},
+            {"files", "file"}, {"images", "image"}, {"events", "event"}, {"tickets", "ticket"},
+            {"messages", "message"}, {"groups", "group"}, {"roles", "role"}, {"permissions", "permission"},
+            {"sessions", "session"}, {"devices", "device"}, {"locations", "location"}, {"vendors", "vendor"},
+            {"contracts", "contract"}, {"subscriptions", "subscription"}, {"coupons", "coupon"},
+            {"warehouses", "warehouse"}, {"suppliers", "supplier"}, {"deliveries", "delivery"}};
+    private static final String[] WORDS = {"the", "current", "client", "with", "all", "details", "that", "are",
+            "visible", "to", "authorized", "callers", "of", "this", "service", "and", "its", "related", "resources",
+            "in", "a", "single", "response", "when", "available"};
+    private static final String[] PROPERTY_TYPES = {"string", "integer", "boolean", "number"};
+    private static final String SCHEMAS = "#/components/schemas/";
+    private static final String ERROR_SCHEMA = "Error";
+    private static final int MAX_ATTEMPTS = 100;
+
+    private final long seed;
+    private int pathCount = 100;
+    private int depth = 3;
+    private int operations = 2;
+    private int components = 20;
+    private int properties = 6;
+    private int descriptionWords = 12;
+    private int violationsPerRule;
+
+    /**
+     * The formats a definition can be written in.
+     */
+    public enum Format {
+        JSON,
+        YAML;
+
+        /**
+         * @param file the file the definition is written to
+         * @return YAML for files ending with .yaml or .yml, JSON otherwise
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".yaml") || name.endsWith(".yml") ? YAML : JSON;
+        }
+    }
+
+    /**
+     * @param seed the same seed always generates the same definition
+     */
+    public SpecGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param pathCount number of distinct paths (default: 100)
+     * @return this generator
+     */
+    public SpecGenerator paths(int pathCount) {
+        this.pathCount = requireAtLeast(pathCount, 1, "paths");
+        return this;
+    }
+
+    /**
+     * @param depth maximum number of nested resources of a path, e.g. 2 for /customers/{customerId}/orders
+     *              (default: 3)
+     * @return this generator
+     */
+    public SpecGenerator depth(int depth) {
+        this.depth = requireAtLeast(depth, 1, "depth");
+        return this;
+    }
+
+    /**
+     * @param operations maximum number of operations of a path; collections have at most GET and POST, documents at
+     *                   most GET, PUT, PATCH and DELETE (default: 2)
+     * @return this generator
+     */
+    public SpecGenerator operations(int operations) {
+        this.operations = requireAtLeast(operations, 1, "operations");
+        return this;
+    }
+
+    /**
+     * @param components number of shared schemas in the components, which are referenced by the schemas of the
+     *                   resources and by each other (default: 20)
+     * @return this generator
+     */
+    public SpecGenerator components(int components) {
+        this.components = requireAtLeast(components, 0, "components");
+        return this;
+    }
+
+    /**
+     * @param properties number of properties of every schema (default: 6)
+     * @return this generator
+     */
+    public SpecGenerator properties(int properties) {
+        this.properties = requireAtLeast(properties, 2, "properties");
+        return this;
+    }
+
+    /**
+     * @param descriptionWords number of words of the descriptions of operations, parameters and properties
+     *                         (default: 12)
+     * @return this generator
+     */
+    public SpecGenerator descriptionWords(int descriptionWords) {
+        this.descriptionWords = requireAtLeast(descriptionWords, 3, "descriptionWords");
+        return this;
+    }
+
+    /**
+     * @param violationsPerRule number of paths that are changed to break each rule of {@link #RULES} (default: 0)
+     * @return this generator
+     */
+    public SpecGenerator violationsPerRule(int violationsPerRule) {
+        this.violationsPerRule = requireAtLeast(violationsPerRule, 0, "violationsPerRule");
+        return this;
+    }
+
+    /**
+     * @param format format of the definition
+     * @return the generated definition
+     * @throws IllegalArgumentException if the paths cannot be generated with the given parameters
+     */
+    public String generate(Format format) {
+        StringWriter out = new StringWriter();
+        try {
+            write(out, format);
+        } catch (IOException e) {
+            // a StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @param file the definition is written to it, in YAML if it ends with .yaml or .yml and in JSON otherwise
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the paths cannot be generated with the given parameters
+     */
+    public void write(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(out, Format.of(file));
+        }
+    }
+
+    /**
+     * @param out    the definition is written to it, it is not closed
+     * @param format format of the definition
+     * @throws IOException              if the definition cannot be written
+     * @throws IllegalArgumentException if the paths cannot be generated with the given parameters
+     */
+    public void write(Writer out, Format format) throws IOException {
+        Random random = new Random(this.seed);
+        List<GeneratedPath> paths = generatePaths(random);
+        JsonFactory factory = format == Format.YAML
+                ? YAMLFactory.builder().disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+                .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES).build()
+                : new JsonFactory();
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            if (format == Format.JSON)
+                generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("openapi", "3.0.3");
+            generator.writeObjectFieldStart("info");
+            generator.writeStringField("title", "Generated API");
+            generator.writeStringField("version", "1.0.0");
+            generator.writeStringField("description", "Generated with seed " + this.seed + " and " + this.pathCount
+                    + " paths.");
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("servers");
+            generator.writeStartObject();
+            generator.writeStringField("url", "https://api.example.com");
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("security");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("bearerAuth");
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("paths");
+            for (GeneratedPath path : paths) {
+                writePath(generator, path, random);
+            }
+            generator.writeEndObject();
+            writeComponents(generator, random);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Generates a definition, e.g. for manual tests of large definitions.
+     *
+     * @param args output file followed by parameters like paths=20000, seed, depth, operations, components,
+     *             properties, descriptionWords and violationsPerRule
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SpecGenerator <file.json|file.yaml> [paths=100] [seed=0] [depth=3] "
+                    + "[operations=2] [components=20] [properties=6] [descriptionWords=12] [violationsPerRule=0]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        long seed = 0;
+        List<String[]> parameters = new ArrayList<>();
+        for (String arg : Arrays.asList(args).subList(1, args.length)) {
+            String[] parameter = arg.split("=", 2);
+            if (parameter.length != 2)
+                throw new IllegalArgumentException("Expected name=value, but was " + arg);
+            if (parameter[0].equals("seed"))
+                seed = Long.parseLong(parameter[1]);
+            else
+                parameters.add(parameter);
+        }
+        SpecGenerator generator = new SpecGenerator(seed);
+        for (String[] parameter : parameters) {
+            int value = Integer.parseInt(parameter[1]);
+            switch (parameter[0]) {
+                case "paths":
+                    generator.paths(value);
+                    break;
+                case "depth":
+                    generator.depth(value);
+                    break;
+                case "operations":
+                    generator.operations(value);
+                    break;
+                case "components":
+                    generator.components(value);
+                    break;
+                case "properties":
+                    generator.properties(value);
+                    break;
+                case "descriptionWords":
+                    generator.descriptionWords(value);
+                    break;
+                case "violationsPerRule":
+                    generator.violationsPerRule(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter " + parameter[0]);
+            }
+        }
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        generator.write(file);
+        System.out.println("Generated " + file + " (" + Files.size(file) / 1024 + " KB)");
+    }
+
+    private List<GeneratedPath> generatePaths(Random random) {
+        int injectedCount = this.violationsPerRule * RULES.size();
+        if (injectedCount > this.pathCount)
+            throw new IllegalArgumentException(injectedCount + " injected violations need at least as many paths, but "
+                    + "only " + this.pathCount + " paths are generated");
+        // the injected violations are spread over random paths
+        List<Integer> indices = IntStream.range(0, this.pathCount).boxed().collect(Collectors.toList());
+        Collections.shuffle(indices, random);
+        String[] rules = new String[this.pathCount];
+        for (int i = 0; i < injectedCount; i++) {
+            rules[indices.get(i)] = RULES.get(i % RULES.size());
+        }
+
+        List<GeneratedPath> paths = new ArrayList<>(this.pathCount);
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < this.pathCount; i++) {
+            GeneratedPath path = null;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && path == null; attempt++) {
+                GeneratedPath candidate = generatePath(random, rules[i]);
+                if (names.add(candidate.name))
+                    path = candidate;
+            }
+            if (path == null)
+                throw new IllegalArgumentException("Cannot generate " + this.pathCount + " distinct paths with depth "
+                        + this.depth + ", increase the depth");
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private GeneratedPath generatePath(Random random, String rule) {
+        GeneratedPath path = new GeneratedPath(rule);
+        int levels = 1 + random.nextInt(this.depth);
+        // a document ends with the identifier of the last resource, e.g. /orders/{orderId}
+        boolean document = "PluralNameRule".equals(rule) || "VerbPhraseRule".equals(rule) || random.nextBoolean();
+        List<String> segments = new ArrayList<>();
+        for (int level = 0; level < levels; level++) {
+            int resource = random.nextInt(RESOURCES.length);
+            // every resource only once, otherwise the path would have the same parameter twice
+            while (path.resources.contains(resource)) {
+                resource = random.nextInt(RESOURCES.length);
+            }
+            path.resources.add(resource);
+            segments.add(RESOURCES[resource][0]);
+            if (level < levels - 1 || document)
+                segments.add("{" + parameterName(resource) + "}");
+        }
+        path.document = document;
+        path.methods.addAll(pickMethods(random, document));
+        if (rule != null)
+            injectViolation(path, segments, random);
+        path.name = "/" + String.join("/", segments) + ("TrailingRule".equals(rule) ? "/" : "");
+        return path;
+    }
+
+    private List<String> pickMethods(Random random, boolean document) {
+        List<String> methods = new ArrayList<>(document ? List.of("get", "put", "patch", "delete")
+                : List.of("get", "post"));
+        Collections.shuffle(methods, random);
+        List<String> picked = new ArrayList<>(methods.subList(0, 1 + random.nextInt(
+                Math.min(this.operations, methods.size()))));
+        // the operations are written in a fixed order like in most definitions
+        picked.sort((first, second) -> Integer.compare(methodOrder(first), methodOrder(second)));
+        return picked;
+    }
+
+    private static int methodOrder(String method) {
+        return Arrays.asList("get", "post", "put", "patch", "delete").indexOf(method);
+    }
+
+    /**
+     * Changes the path or its operations so that it breaks the rule of the path.
+     */
+    private static void injectViolation(GeneratedPath path, List<String> segments, Random random) {
+        // the names are changed in the first segment, since some rules ignore everything between the first and the
+        // last parameter
+        int firstResource = path.resources.get(0);
+        String other = RESOURCES[random.nextInt(RESOURCES.length)][0];
+        switch (path.rule) {
+            case "CRUDRule":
+                segments.add("fetch");
+                requireMethod(path, "get");
+                break;
+            case "TunnelingRule":
+                // the path names another method than the only operation
+                segments.add("delete");
+                path.methods.clear();
+                path.methods.add("post");
+                break;
+            case "FileExtensionRule":
+                segments.set(segments.size() - 1, segments.get(segments.size() - 1) + ".json");
+                break;
+            case "HyphensRule":
+                segments.set(0, RESOURCES[firstResource][1] + other);
+                break;
+            case "LowercaseRule":
+                segments.set(0, RESOURCES[firstResource][1] + Character.toUpperCase(other.charAt(0))
+                        + other.substring(1));
+                break;
+            case "UnderscoreRule":
+                segments.set(0, RESOURCES[firstResource][1] + "_" + other);
+                break;
+            case "SeparatorRule":
+                segments.set(0, segments.get(0) + ";" + other);
+                break;
+            case "PluralNameRule":
+                // a singular collection, e.g. /order/{orderId}
+                segments.set(0, RESOURCES[firstResource][1]);
+                break;
+            case "SingularDocumentNameRule":
+                // two plurals one after the other, e.g. /orders/items
+                segments.add(1, other);
+                break;
+            case "VerbPhraseRule":
+                // a controller that is neither called with GET nor with POST
+                segments.add("approve");
+                path.methods.clear();
+                path.methods.add("put");
+                break;
+            case "RequestTypeDescriptionRule":
+            case "GetResourceRule":
+                requireMethod(path, "get");
+                break;
+            default:
+                // ContentTypeRule and UnauthorizedRule change the first operation when it is written
+                break;
+        }
+    }
+
+    private static void requireMethod(GeneratedPath path, String method) {
+        if (!path.methods.contains(method))
+            path.methods.add(0, method);
+    }
+
+    private void writePath(JsonGenerator generator, GeneratedPath path, Random random) throws IOException {
+        generator.writeObjectFieldStart(path.name);
+        for (int i = 0; i < path.methods.size(); i++) {
+            String method = path.methods.get(i);
+            boolean first = i == 0;
+            int resource = path.resources.get(path.resources.size() - 1);
+            generator.writeObjectFieldStart(method);
+            generator.writeStringField("operationId", method + capitalize(RESOURCES[resource][1])
+                    + Integer.toHexString(path.name.hashCode()));
+            generator.writeArrayFieldStart("tags");
+            generator.writeString(RESOURCES[path.resources.get(0)][0]);
+            generator.writeEndArray();
+            String description = "RequestTypeDescriptionRule".equals(path.rule) && method.equals("get")
+                    ? "Deletes the " + RESOURCES[resource][1] + " and removes it permanently"
+                    : operationDescription(method, resource, path.document);
+            generator.writeStringField("description", description(random, description));
+
+            List<Integer> parameters = path.document ? path.resources
+                    : path.resources.subList(0, path.resources.size() - 1);
+            if (!parameters.isEmpty()) {
+                generator.writeArrayFieldStart("parameters");
+                for (int parameter : parameters) {
+                    generator.writeStartObject();
+                    generator.writeStringField("$ref", "#/components/parameters/" + parameterName(parameter));
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            if (!method.equals("get") && !method.equals("delete")
+                    || method.equals("get") && "GetResourceRule".equals(path.rule)) {
+                generator.writeObjectFieldStart("requestBody");
+                generator.writeStringField("$ref", "#/components/requestBodies/" + schemaName(resource));
+                generator.writeEndObject();
+            }
+
+            generator.writeObjectFieldStart("responses");
+            String status = method.equals("post") ? "201" : method.equals("delete") ? "204" : "200";
+            generator.writeObjectFieldStart(status);
+            generator.writeStringField("description", "Successful response");
+            if (!status.equals("204") && !(first && "ContentTypeRule".equals(path.rule))) {
+                generator.writeObjectFieldStart("content");
+                generator.writeObjectFieldStart("application/json");
+                generator.writeObjectFieldStart("schema");
+                if (method.equals("get") && !path.document) {
+                    generator.writeStringField("type", "array");
+                    generator.writeObjectFieldStart("items");
+                    generator.writeStringField("$ref", SCHEMAS + schemaName(resource));
+                    generator.writeEndObject();
+                } else {
+                    generator.writeStringField("$ref", SCHEMAS + schemaName(resource));
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+            if (!(first && "UnauthorizedRule".equals(path.rule)))
+                writeResponseRef(generator, "401", "Unauthorized");
+            if (path.document)
+                writeResponseRef(generator, "404", "NotFound");
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeResponseRef(JsonGenerator generator, String status, String response) throws IOException {
+        generator.writeObjectFieldStart(status);
+        generator.writeStringField("$ref", "#/components/responses/" + response);
+        generator.writeEndObject();
+    }
+
+    private void writeComponents(JsonGenerator generator, Random random) throws IOException {
+        generator.writeObjectFieldStart("components");
+
+        generator.writeObjectFieldStart("securitySchemes");
+        generator.writeObjectFieldStart("bearerAuth");
+        generator.writeStringField("type", "http");
+        generator.writeStringField("scheme", "bearer");
+        generator.writeEndObject();
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("parameters");
+        for (int resource = 0; resource < RESOURCES.length; resource++) {
+            generator.writeObjectFieldStart(parameterName(resource));
+            generator.writeStringField("name", parameterName(resource));
+            generator.writeStringField("in", "path");
+            generator.writeBooleanField("required", true);
+            generator.writeStringField("description", description(random, "Identifier of the "
+                    + RESOURCES[resource][1]));
+            generator.writeObjectFieldStart("schema");
+            generator.writeStringField("type", "string");
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("requestBodies");
+        for (int resource = 0; resource < RESOURCES.length; resource++) {
+            generator.writeObjectFieldStart(schemaName(resource));
+            generator.writeBooleanField("required", true);
+            writeJsonContent(generator, schemaName(resource));
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("responses");
+        for (String response : List.of("Unauthorized", "NotFound")) {
+            generator.writeObjectFieldStart(response);
+            generator.writeStringField("description", response.equals("NotFound") ? "Not found" : "Unauthorized");
+            writeJsonContent(generator, ERROR_SCHEMA);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("schemas");
+        generator.writeObjectFieldStart(ERROR_SCHEMA);
+        generator.writeStringField("type", "object");
+        generator.writeObjectFieldStart("properties");
+        writeProperty(generator, "code", "integer", random);
+        writeProperty(generator, "message", "string", random);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        for (int resource = 0; resource < RESOURCES.length; resource++) {
+            writeSchema(generator, schemaName(resource), this.components, random);
+        }
+        // the shared schemas only reference schemas that come before them, so there are no cycles
+        for (int component = 0; component < this.components; component++) {
+            writeSchema(generator, componentName(component), component, random);
+        }
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    private static void writeJsonContent(JsonGenerator generator, String schema) throws IOException {
+        generator.writeObjectFieldStart("content");
+        generator.writeObjectFieldStart("application/json");
+        generator.writeObjectFieldStart("schema");
+        generator.writeStringField("$ref", SCHEMAS + schema);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    /**
+     * @param referencable number of shared schemas the properties may reference
+     */
+    private void writeSchema(JsonGenerator generator, String name, int referencable, Random random)
+            throws IOException {
+        generator.writeObjectFieldStart(name);
+        generator.writeStringField("type", "object");
+        generator.writeArrayFieldStart("required");
+        generator.writeString("id");
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("properties");
+        writeProperty(generator, "id", "string", random);
+        for (int property = 1; property < this.properties; property++) {
+            if (referencable > 0 && random.nextBoolean()) {
+                generator.writeObjectFieldStart("reference" + property);
+                generator.writeStringField("$ref", SCHEMAS + componentName(random.nextInt(referencable)));
+                generator.writeEndObject();
+            } else {
+                writeProperty(generator, "attribute" + property,
+                        PROPERTY_TYPES[random.nextInt(PROPERTY_TYPES.length)], random);
+            }
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeProperty(JsonGenerator generator, String name, String type, Random random)
+            throws IOException {
+        generator.writeObjectFieldStart(name);
+        generator.writeStringField("type", type);
+        generator.writeStringField("description", description(random, "The " + name));
+        generator.writeEndObject();
+    }
+
+    private static String operationDescription(String method, int resource, boolean document) {
+        String noun = document ? "the " + RESOURCES[resource][1] : "the " + RESOURCES[resource][0];
+        switch (method) {
+            case "get":
+                return "Returns " + noun;
+            case "post":
+                return "Creates a new " + RESOURCES[resource][1];
+            case "put":
+                return "Replaces " + noun;
+            case "patch":
+                return "Updates " + noun;
+            default:
+                return "Deletes " + noun;
+        }
+    }
+
+    /**
+     * @return the given beginning filled up with random words to the configured number of words
+     */
+    private String description(Random random, String beginning) {
+        StringBuilder description = new StringBuilder(beginning);
+        int words = beginning.split(" ").length;
+        for (; words < this.descriptionWords; words++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.append('.').toString();
+    }
+
+    private static String parameterName(int resource) {
+        return RESOURCES[resource][1] + "Id";
+    }
+
+    private static String schemaName(int resource) {
+        return capitalize(RESOURCES[resource][1]);
+    }
+
+    private static String componentName(int component) {
+        return capitalize(RESOURCES[component % RESOURCES.length][1]) + "Details" + component;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static int requireAtLeast(int value, int minimum, String name) {
+        if (value < minimum)
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ", but was " + value);
+        return value;
+    }
+
+    /**
+     * A path with the resources it is built from and the operations it gets.
+     */
+    private static class GeneratedPath {
+        private final String rule;
+        private final List<Integer> resources = new ArrayList<>();
+        private final List<String> methods = new ArrayList<>();
+        private String name;
+        private boolean document;
+
+        GeneratedPath(String rule) {
+            this.rule = rule;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading the definition from a file or URL for the line mapping.
+ */
+@Name("restruler.Fetch")
+@Label("Fetch Definition")
+@Category("RESTRuler")
+@Description("Reading an OpenAPI definition from a file or URL")
+@StackTrace(false)
+public class FetchEvent extends Event {
+    @Label("Location")
+    private String location;
+
+    @Label("Remote")
+    private boolean remote;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setRemote(boolean remote) {
+        this.remote = remote;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
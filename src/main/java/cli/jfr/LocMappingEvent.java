@@ -0,0 +1,39 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Mapping the paths of the definition to their lines.
+ */
+@Name("restruler.LocMapping")
+@Label("Map Lines")
+@Category("RESTRuler")
+@Description("Mapping the paths of an OpenAPI definition to their lines")
+@StackTrace(false)
+public class LocMappingEvent extends Event {
+    @Label("Location")
+    private String location;
+
+    @Label("Line Count")
+    private int lineCount;
+
+    @Label("Path Count")
+    private int pathCount;
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    public void setPathCount(int pathCount) {
+        this.pathCount = pathCount;
+    }
+}
@@ -0,0 +1,41 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading a model or dictionary used by the linguistic rules. Happens once per JVM and model.
+ */
+@Name("restruler.ModelLoad")
+@Label("Load Model")
+@Category({"RESTRuler", "NLP"})
+@Description("Loading an NLP model, a Weka model or a dictionary")
+@StackTrace(false)
+public class ModelLoadEvent extends Event {
+    @Label("Model")
+    @Description("Resource the model is loaded from")
+    private String model;
+
+    @Label("Kind")
+    private String kind;
+
+    @Label("Entry Count")
+    @Description("Number of words for dictionaries, 0 for models")
+    private int entryCount;
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+}
@@ -0,0 +1,56 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing the definition with the OpenAPI parser. For files and URLs this includes reading the definition and the
+ * resolution of external references by the parser.
+ */
+@Name("restruler.Parse")
+@Label("Parse Definition")
+@Category("RESTRuler")
+@Description("Parsing an OpenAPI definition including the references resolved by the parser")
+@StackTrace(false)
+public class ParseEvent extends Event {
+    @Label("Location")
+    private String location;
+
+    @Label("Successful")
+    private boolean successful;
+
+    @Label("Path Count")
+    private int pathCount;
+
+    @Label("Segment Count")
+    @Description("Number of segments of all paths")
+    private int segmentCount;
+
+    @Label("Message Count")
+    @Description("Number of errors and warnings of the parser")
+    private int messageCount;
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+
+    public void setPathCount(int pathCount) {
+        this.pathCount = pathCount;
+    }
+
+    public void setSegmentCount(int segmentCount) {
+        this.segmentCount = segmentCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+}
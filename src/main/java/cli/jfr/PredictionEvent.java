@@ -0,0 +1,33 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Classifying texts with a Weka model.
+ */
+@Name("restruler.Prediction")
+@Label("Weka Prediction")
+@Category({"RESTRuler", "NLP"})
+@Description("Classifying one or several texts with a Weka model")
+@StackTrace(false)
+public class PredictionEvent extends Event {
+    @Label("Model")
+    private String model;
+
+    @Label("Instance Count")
+    @Description("Number of texts classified at once")
+    private int instanceCount;
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public void setInstanceCount(int instanceCount) {
+        this.instanceCount = instanceCount;
+    }
+}
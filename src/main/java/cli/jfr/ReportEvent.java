@@ -0,0 +1,50 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Finishing a report. Sorted reports are written when they are closed, which is the duration of the event; the time
+ * spent on passing the violations to the report while the rules were checked is given separately.
+ */
+@Name("restruler.Report")
+@Label("Write Report")
+@Category("RESTRuler")
+@Description("Writing the report of an analysis")
+@StackTrace(false)
+public class ReportEvent extends Event {
+    @Label("Format")
+    private String format;
+
+    @Label("File")
+    private String file;
+
+    @Label("Violation Count")
+    private int violationCount;
+
+    @Label("Streaming Time")
+    @Description("Time spent on passing the violations to the report while the rules were checked")
+    @Timespan
+    private long streamingNanos;
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public void setViolationCount(int violationCount) {
+        this.violationCount = violationCount;
+    }
+
+    public void setStreamingNanos(long streamingNanos) {
+        this.streamingNanos = streamingNanos;
+    }
+}
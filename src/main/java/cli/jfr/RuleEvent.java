@@ -0,0 +1,53 @@
+package cli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking one rule against a definition.
+ */
+@Name("restruler.Rule")
+@Label("Check Rule")
+@Category("RESTRuler")
+@Description("Checking one rule against an OpenAPI definition")
+@StackTrace(false)
+public class RuleEvent extends Event {
+    @Label("Rule")
+    private String rule;
+
+    @Label("Rule Id")
+    private String ruleId;
+
+    @Label("Location")
+    private String location;
+
+    @Label("Path Count")
+    private int pathCount;
+
+    @Label("Violation Count")
+    private int violationCount;
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public void setRuleId(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setPathCount(int pathCount) {
+        this.pathCount = pathCount;
+    }
+
+    public void setViolationCount(int violationCount) {
+        this.violationCount = violationCount;
+    }
+}
@@ -0,0 +1,78 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import net.steppschuh.markdowngenerator.text.heading.Heading;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes the violations as Markdown table as soon as they are received. The short layout is used for the console,
+ * the detailed one with category, severity, quality attributes and improvement suggestion for the report file.
+ */
+public class MarkdownReportWriter implements ViolationSink {
+    private final Writer out;
+    private final boolean detailed;
+    private final boolean closeOutput;
+    private MarkdownTableWriter table;
+    private int violationCount;
+
+    /**
+     * @param out         the report is written to it
+     * @param detailed    true for the layout of the report file, false for the console
+     * @param closeOutput true to close the writer together with this sink
+     */
+    public MarkdownReportWriter(Writer out, boolean detailed, boolean closeOutput) {
+        this.out = out;
+        this.detailed = detailed;
+        this.closeOutput = closeOutput;
+    }
+
+    @Override
+    public void accept(Violation v) {
+        try {
+            IRestRule rule = v.getRule();
+            if (this.detailed) {
+                getTable().addRow(v.getLineViolation(), v.getKeyViolation(), rule.getTitle(), rule.getCategory(),
+                        rule.getSeverityType(), rule.getRuleSoftwareQualityAttribute().toString().replace("[", "").replace("]", ""),
+                        v.getImprovementSuggestion());
+            } else {
+                getTable().addRow(v.getLineViolation(), v.getKeyViolation(), rule.getTitle());
+            }
+            this.violationCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            getTable().finish();
+        } finally {
+            if (this.closeOutput)
+                this.out.close();
+        }
+    }
+
+    /**
+     * @return the number of violations written so far
+     */
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    private MarkdownTableWriter getTable() throws IOException {
+        if (this.table == null) {
+            this.out.write(new Heading(Report.REPORT_HEADING, 1) + "\n");
+            this.table = this.detailed
+                    ? new MarkdownTableWriter(this.out, "Line No.", "Line", "Rule Violated", "Category", "Severity",
+                    "Software Quality Attributes", "Improvement Suggestion")
+                    : new MarkdownTableWriter(this.out, "Line No.", "Line", "Rule Violated");
+        }
+        return this.table;
+    }
+}
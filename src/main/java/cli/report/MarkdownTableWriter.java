@@ -0,0 +1,88 @@
+package cli.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a Markdown table row by row. The width of the columns is taken from the first rows, which are buffered
+ * until {@link #BUFFERED_ROWS} rows are known; small tables therefore look exactly like the ones of the Markdown
+ * generator library, while large tables are written without holding all rows in memory. Values of later rows that
+ * are longer than their column are written in full, which keeps the table valid Markdown.
+ */
+class MarkdownTableWriter {
+    static final int BUFFERED_ROWS = 1000;
+    private static final int MIN_COLUMN_WIDTH = 3;
+    private final Writer out;
+    private final String[] header;
+    private final List<String[]> bufferedRows = new ArrayList<>();
+    private int[] widths;
+
+    /**
+     * @param out    the table is written to it, it is not closed by this class
+     * @param header the titles of the columns
+     */
+    MarkdownTableWriter(Writer out, String... header) {
+        this.out = out;
+        this.header = header;
+    }
+
+    /**
+     * @param values one value per column
+     */
+    void addRow(Object... values) throws IOException {
+        String[] row = Arrays.stream(values).map(String::valueOf).toArray(String[]::new);
+        if (this.widths != null) {
+            writeRow(row);
+            return;
+        }
+        this.bufferedRows.add(row);
+        if (this.bufferedRows.size() >= BUFFERED_ROWS)
+            flushBufferedRows();
+    }
+
+    /**
+     * Writes the rows that are still buffered. Has to be called after the last row.
+     */
+    void finish() throws IOException {
+        if (this.widths == null)
+            flushBufferedRows();
+        this.out.flush();
+    }
+
+    private void flushBufferedRows() throws IOException {
+        this.widths = new int[this.header.length];
+        Arrays.fill(this.widths, MIN_COLUMN_WIDTH);
+        updateWidths(this.header);
+        for (String[] row : this.bufferedRows) {
+            updateWidths(row);
+        }
+        writeRow(this.header);
+        String[] separator = new String[this.header.length];
+        for (int i = 0; i < separator.length; i++) {
+            separator[i] = "-".repeat(this.widths[i]);
+        }
+        writeRow(separator);
+        for (String[] row : this.bufferedRows) {
+            writeRow(row);
+        }
+        this.bufferedRows.clear();
+    }
+
+    private void updateWidths(String[] row) {
+        for (int i = 0; i < row.length && i < this.widths.length; i++) {
+            this.widths[i] = Math.max(this.widths[i], row[i].length());
+        }
+    }
+
+    private void writeRow(String[] row) throws IOException {
+        StringBuilder line = new StringBuilder("|");
+        for (int i = 0; i < this.widths.length; i++) {
+            String value = i < row.length ? row[i] : "";
+            line.append(' ').append(value).append(" ".repeat(Math.max(0, this.widths[i] - value.length()))).append(" |");
+        }
+        this.out.write(line.append('\n').toString());
+    }
+}
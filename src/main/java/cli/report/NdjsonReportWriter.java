@@ -0,0 +1,70 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes every violation as one JSON object per line (newline delimited JSON) as soon as it is received, so that log
+ * pipelines can process the results while the analysis is still running. Nothing is buffered apart from the current
+ * line.
+ */
+public class NdjsonReportWriter implements ViolationSink {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private final JsonGenerator generator;
+    private final String location;
+    private final boolean flushEachLine;
+
+    /**
+     * @param out           the violations are written to it
+     * @param location      path or URL of the analyzed definition, written to every line if not null
+     * @param flushEachLine true to flush every line, e.g. when writing to a pipe
+     * @param closeOutput   true to close the writer together with this sink
+     * @throws IOException if the writer cannot be used
+     */
+    public NdjsonReportWriter(Writer out, String location, boolean flushEachLine, boolean closeOutput)
+            throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out);
+        // the lines are separated by the line break written after every object
+        this.generator.setRootValueSeparator(null);
+        this.generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, closeOutput);
+        this.location = location;
+        this.flushEachLine = flushEachLine;
+    }
+
+    @Override
+    public void accept(Violation violation) {
+        IRestRule rule = violation.getRule();
+        try {
+            this.generator.writeStartObject();
+            if (this.location != null)
+                this.generator.writeStringField("location", this.location);
+            this.generator.writeNumberField("line", violation.getLineViolation());
+            this.generator.writeStringField("key", violation.getKeyViolation());
+            this.generator.writeStringField("rule", rule.getTitle());
+            this.generator.writeStringField("ruleId", SarifReportWriter.getRuleId(rule));
+            this.generator.writeStringField("severity", String.valueOf(rule.getSeverityType()));
+            this.generator.writeStringField("category", String.valueOf(rule.getCategory()));
+            this.generator.writeStringField("suggestion", violation.getImprovementSuggestion());
+            this.generator.writeStringField("message", violation.getErrorMessage());
+            this.generator.writeEndObject();
+            this.generator.writeRaw('\n');
+            if (this.flushEachLine)
+                this.generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // flushes the last lines, the writer is only closed if requested
+        this.generator.close();
+    }
+}
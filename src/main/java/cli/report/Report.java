@@ -1,19 +1,33 @@
 package cli.report;
 
+import cli.analyzer.AnalysisProfile;
+import cli.analyzer.BatchResult;
+import cli.analyzer.PathSample;
+import cli.jfr.ReportEvent;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import cli.rule.constants.RuleSeverity;
 import net.steppschuh.markdowngenerator.table.Table;
 import net.steppschuh.markdowngenerator.text.heading.Heading;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * this class handles all functionality concerning a report generation.
@@ -21,9 +35,13 @@ import java.util.logging.Logger;
 public class Report {
 
     private static final String OUTPUT_DIR = "out";
+    static final String REPORT_HEADING = "REST API Specification Report";
     private static Report instance;
+    private static volatile boolean sortViolations = true;
+    private static volatile ReportFormat format = ReportFormat.MARKDOWN;
+    // the standard output the NDJSON stream is written to, if it is reserved for it
+    private static volatile PrintStream standardOutput;
     private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-    private String title;
 
 
     public static Report getInstance() {
@@ -39,30 +57,7 @@ public class Report {
      * @param violationList list of violations to be displayed in console
      */
     public void displayReport(List<Violation> violationList){
-        //report content for console
-        StringBuilder sbConsoleReport = new StringBuilder();
-        sbConsoleReport.append(new Heading("REST API Specification Report", 1)).append("\n");
-
-        // Table heading
-        Table.Builder consoleReport = new Table.Builder().addRow("Line No.", "Line", "Rule Violated");
-
-        violationList.sort(Violation.getComparator());
-
-        //generate Table entries for each violation
-        for (Violation v : violationList) {
-            IRestRule rule = v.getRule();
-            consoleReport.addRow(v.getLineViolation(), v.getKeyViolation(), rule.getTitle());
-        }
-        //add Table to console output
-        sbConsoleReport.append(consoleReport.build());
-
-        //print to console
-        System.out.println(sbConsoleReport);
-
-        // notification
-        System.out.println("----------------------------------------------");
-        System.out.println("\nIn total " + violationList.size() + " rule violations were found");
-
+        writeViolations(violationList, openReport(null, null, getRules(violationList)));
     }
 
     /**
@@ -70,9 +65,7 @@ public class Report {
      * @param violationList list of Violation objects to be written to file
      */
     public void generateReport(List<Violation> violationList) {
-        this.title = getTimestamp();
-        violationList.sort(Violation.getComparator());
-        writeMarkdownReport(violationList);
+        writeViolations(violationList, openReport(getTimestamp(), null, getRules(violationList)));
     }
 
     /**
@@ -82,84 +75,368 @@ public class Report {
      * @param title custom name tag for the report file
      */
     public void generateReport(List<Violation> violationList, String title) {
-        this.title = cleanTitle(title);
-        violationList.sort(Violation.getComparator());
-        writeMarkdownReport(violationList);
+        writeViolations(violationList, openReport(title, null, getRules(violationList)));
     }
 
     /**
-     * writes a report file in markdown format containing a table of all collected violations
-     * @param violationList list of Violation Objects to be written to file
+     * Opens the report of a single analysis. The violations are printed to the console and, if a title is given,
+     * written to the report file in the selected {@link ReportFormat} while they are received. Unless sorting is
+     * disabled, the Markdown tables are ordered by {@link Violation#getComparator()} with a bounded buffer. If the
+     * standard output is reserved for the report, the violations are written to it as NDJSON instead of the console
+     * table. The totals are printed when the sink is closed.
+     * @param title custom name tag for the report file, null to only print the violations to the console
+     * @param location path or URL of the analyzed definition, null if it was not read from a file
+     * @param rules rules of the analysis, described in the SARIF report
+     * @return the sink the violations are passed to; has to be closed after the analysis
      */
-    private void writeMarkdownReport(List<Violation> violationList) {
-        //report content for File
-        StringBuilder sbMDReport = new StringBuilder();
-        sbMDReport.append(new Heading("REST API Specification Report", 1)).append("\n");
-        //report content for console
-        StringBuilder sbConsoleReport = new StringBuilder();
-        sbConsoleReport.append(new Heading("REST API Specification Report", 1)).append("\n");
-
-        // Table heading
-        Table.Builder mdReport = new Table.Builder().addRow("Line No.", "Line", "Rule Violated", "Category",
-                "Severity", "Software Quality Attributes", "Improvement Suggestion");
-
-        Table.Builder consoleReport = new Table.Builder().addRow("Line No.", "Line", "Rule Violated");
-
-        //generate Table entries for each violation
-        for (Violation v : violationList) {
-            IRestRule rule = v.getRule();
-            mdReport.addRow(v.getLineViolation(), v.getKeyViolation(), rule.getTitle(), rule.getCategory(),
-                    rule.getSeverityType(), rule.getRuleSoftwareQualityAttribute().toString().replace("[", "").replace("]", ""),
-                    v.getImprovementSuggestion());
-            consoleReport.addRow(v.getLineViolation(), v.getKeyViolation(), rule.getTitle());
+    public ViolationSink openReport(String title, String location, List<IRestRule> rules) {
+        List<ViolationSink> sortedReports = new ArrayList<>();
+        // the order of the results does not matter in SARIF and NDJSON, so they do not need to be sorted
+        List<ViolationSink> unsortedReports = new ArrayList<>();
+        PrintStream reportOutput = standardOutput;
+        if (reportOutput != null) {
+            try {
+                unsortedReports.add(new NdjsonReportWriter(new OutputStreamWriter(reportOutput, StandardCharsets.UTF_8),
+                        location, true, false));
+            } catch (IOException e) {
+                logger.severe("Error on writing report: " + e.getMessage());
+            }
+        } else {
+            sortedReports.add(new MarkdownReportWriter(new PrintWriter(System.out), false, false));
+        }
+        Path file = null;
+        if (title != null) {
+            try {
+                file = getReportFile(Path.of(OUTPUT_DIR), title);
+                if (format == ReportFormat.MARKDOWN)
+                    sortedReports.add(new MarkdownReportWriter(Files.newBufferedWriter(file), true, true));
+                else
+                    unsortedReports.add(openFormatWriter(file, location, rules));
+            } catch (IOException e) {
+                logger.severe("Error on writing report: " + e.getMessage());
+                file = null;
+            }
+        }
+        Path reportFile = file;
+        ViolationSink totals = new ViolationSink() {
+            private int violationCount;
+
+            @Override
+            public void accept(Violation violation) {
+                this.violationCount++;
+            }
+
+            @Override
+            public void close() {
+                // notification
+                System.out.println("----------------------------------------------");
+                System.out.println("\nIn total " + this.violationCount + " rule violations were found");
+                //inform user where file has been written to
+                if (reportFile != null)
+                    System.out.println("--> The detailed report can be found here: " + reportFile.getParent().toAbsolutePath() + "\n");
+            }
+        };
+        if (!sortedReports.isEmpty())
+            unsortedReports.add(sortIfEnabled(ViolationSink.of(sortedReports.toArray(new ViolationSink[0]))));
+        // the totals are printed after the tables
+        unsortedReports.add(totals);
+        return recordReportEvent(ViolationSink.of(unsortedReports.toArray(new ViolationSink[0])), reportFile);
+    }
+
+    /**
+     * Reserves the standard output for the NDJSON stream of the violations, see
+     * {@link #openReport(String, String, List)}. Everything else that is printed to the console, e.g. the progress
+     * and the totals, is redirected to the standard error output, so that the stream can be piped into other tools.
+     */
+    public static synchronized void reserveStandardOutput() {
+        if (standardOutput != null)
+            return;
+        standardOutput = System.out;
+        System.setOut(System.err);
+    }
+
+    /**
+     * Opens the report file of a single specification without printing anything to the console. Used by the batch
+     * mode, where the console only shows the aggregated results.
+     * @param file the report file, see {@link #getReportFile(Path, String)}
+     * @param location path or URL of the analyzed definition
+     * @param rules rules of the analysis, described in the SARIF report
+     * @return the sink the violations are passed to; has to be closed after the analysis
+     * @throws IOException if the report file cannot be created
+     */
+    public ViolationSink openReportFile(Path file, String location, List<IRestRule> rules) throws IOException {
+        if (format == ReportFormat.MARKDOWN)
+            return recordReportEvent(sortIfEnabled(new MarkdownReportWriter(Files.newBufferedWriter(file), true, true)), file);
+        return recordReportEvent(openFormatWriter(file, location, rules), file);
+    }
+
+    /**
+     * Records the writing of the report as flight recorder event, if the event is enabled.
+     */
+    private static ViolationSink recordReportEvent(ViolationSink report, Path file) {
+        if (!new ReportEvent().isEnabled())
+            return report;
+        return new ViolationSink() {
+            private long streamingNanos;
+            private int violationCount;
+
+            @Override
+            public void accept(Violation violation) {
+                long start = System.nanoTime();
+                report.accept(violation);
+                this.streamingNanos += System.nanoTime() - start;
+                this.violationCount++;
+            }
+
+            @Override
+            public void close() throws IOException {
+                ReportEvent reportEvent = new ReportEvent();
+                reportEvent.begin();
+                try {
+                    report.close();
+                } finally {
+                    reportEvent.end();
+                    if (reportEvent.shouldCommit()) {
+                        reportEvent.setFormat(file != null ? format.name() : "CONSOLE");
+                        reportEvent.setFile(file != null ? file.toString() : null);
+                        reportEvent.setViolationCount(this.violationCount);
+                        reportEvent.setStreamingNanos(this.streamingNanos);
+                        reportEvent.commit();
+                    }
+                }
+            }
+        };
+    }
+
+    private ViolationSink openFormatWriter(Path file, String location, List<IRestRule> rules) throws IOException {
+        Writer writer = Files.newBufferedWriter(file);
+        try {
+            if (format == ReportFormat.NDJSON)
+                return new NdjsonReportWriter(writer, location, false, true);
+            return new SarifReportWriter(writer, location, rules);
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
         }
-        //add Table to report
-        sbMDReport.append(mdReport.build());
+    }
 
-        //add Table to console output
-        sbConsoleReport.append(consoleReport.build());
+    /**
+     * @param outputDir directory of the report file, it is created if it does not exist
+     * @param title custom name tag for the report file
+     * @return the path of the report file with the given title and the extension of the selected format
+     * @throws IOException if the directory cannot be created
+     */
+    public Path getReportFile(Path outputDir, String title) throws IOException {
+        Files.createDirectories(outputDir);
+        return outputDir.resolve("Report_" + cleanTitle(title) + "." + format.getFileExtension());
+    }
 
-        //print to console
-        System.out.println(sbConsoleReport);
+    /**
+     * @param sortViolations false to write the violations in the order they are found instead of sorting them by line
+     */
+    public static void setSortViolations(boolean sortViolations) {
+        Report.sortViolations = sortViolations;
+    }
+
+    /**
+     * @param format format of the report files of the analyses; the summary of a batch is always written as Markdown
+     */
+    public static void setFormat(ReportFormat format) {
+        Report.format = format;
+    }
 
-        // notification
+    /**
+     * @return format of the report files of the analyses
+     */
+    public static ReportFormat getFormat() {
+        return format;
+    }
+
+    private static List<IRestRule> getRules(List<Violation> violationList) {
+        return violationList.stream().map(Violation::getRule).distinct().collect(Collectors.toList());
+    }
+
+    private ViolationSink sortIfEnabled(ViolationSink sink) {
+        return sortViolations ? new SortingViolationSink(sink) : sink;
+    }
+
+    private void writeViolations(List<Violation> violationList, ViolationSink sink) {
+        try (sink) {
+            violationList.forEach(sink::accept);
+        } catch (IOException e) {
+            logger.severe("Error on writing report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the aggregated report of a batch analysis and prints a summary of it to the console. The report contains
+     * one row per analyzed specification as well as the number of violations per rule over all specifications.
+     * @param results results of all analyzed specifications
+     * @param ruleViolationCounts number of violations per rule title over all specifications
+     * @param outputDir directory the report file is written to
+     */
+    public void generateBatchReport(List<BatchResult> results, Map<String, Integer> ruleViolationCounts,
+                                    Path outputDir) {
+        StringBuilder sbMDReport = new StringBuilder();
+        sbMDReport.append(new Heading("REST API Specification Batch Report", 1)).append("\n");
+
+        Table.Builder specTable = new Table.Builder().addRow("Specification", "Violations", "Critical", "Error",
+                "Warning", "Duration (ms)", "Report");
+        int totalViolations = 0;
+        int failedSpecs = 0;
+        for (BatchResult result : results) {
+            if (result.getErrorMessage() != null) {
+                failedSpecs++;
+                specTable.addRow(result.getLocation(), "-", "-", "-", "-", result.getDurationMillis(),
+                        "Analysis failed: " + result.getErrorMessage());
+                continue;
+            }
+            totalViolations += result.getViolationCount();
+            specTable.addRow(result.getLocation(), result.getViolationCount(),
+                    result.getSeverityCount(RuleSeverity.CRITICAL), result.getSeverityCount(RuleSeverity.ERROR),
+                    result.getSeverityCount(RuleSeverity.WARNING), result.getDurationMillis(),
+                    result.getReportFile() != null ? result.getReportFile().getFileName() : "-");
+        }
+        sbMDReport.append(specTable.build()).append("\n\n");
+
+        if (!ruleViolationCounts.isEmpty()) {
+            sbMDReport.append(new Heading("Violations per Rule", 2)).append("\n");
+            Table.Builder ruleTable = new Table.Builder().addRow("Rule Violated", "Violations");
+            ruleViolationCounts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> ruleTable.addRow(entry.getKey(), entry.getValue()));
+            sbMDReport.append(ruleTable.build());
+        }
+
+        Table.Builder incompleteTable = new Table.Builder().addRow("Specification", "Incomplete Rules");
+        boolean hasIncompleteRules = false;
+        for (BatchResult result : results) {
+            if (!result.getIncompleteRules().isEmpty()) {
+                incompleteTable.addRow(result.getLocation(), String.join(", ", result.getIncompleteRules()));
+                hasIncompleteRules = true;
+            }
+        }
+        if (hasIncompleteRules) {
+            sbMDReport.append("\n\n").append(new Heading("Incomplete Rules", 2)).append("\n");
+            sbMDReport.append(incompleteTable.build());
+        }
+
+        System.out.println(sbMDReport);
         System.out.println("----------------------------------------------");
-        System.out.println("\nIn total " + violationList.size() + " rule violations were found");
+        System.out.println("\nIn total " + totalViolations + " rule violations were found in " + results.size()
+                + " specifications" + (failedSpecs > 0 ? " (" + failedSpecs + " could not be analyzed)" : ""));
 
         try {
-            writeReportToFile(sbMDReport);
+            Path file = writeReportToFile(sbMDReport, outputDir, "Summary");
+            System.out.println("--> The detailed reports can be found here: " + file.getParent().toAbsolutePath() + "\n");
         } catch (IOException e) {
             logger.severe("Error on writing report: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
-    private void writeReportToFile(StringBuilder sbMDReport) throws IOException {
-        Path file;
-        //create directory
-        Path path = Path.of(OUTPUT_DIR);
-        if (!Files.isDirectory(path)) {
-            path = Files.createDirectory(path);
+    /**
+     * Prints the rules that were stopped by their time budget, whose violations are incomplete. Optionally they are
+     * appended to the Markdown report.
+     * @param ruleTitles titles of the stopped rules
+     * @param outputDir directory of the report
+     * @param title custom name tag of the report
+     * @param appendToMarkdownReport true to append the rules to the Markdown report with the given title
+     */
+    public void generateIncompleteReport(List<String> ruleTitles, Path outputDir, String title,
+                                         boolean appendToMarkdownReport) {
+        StringBuilder notice = new StringBuilder();
+        notice.append(new Heading("Incomplete Rules", 2)).append("\n");
+        notice.append("The following rules exceeded their time budget and were stopped, only the violations found "
+                + "until then are reported:\n\n");
+        ruleTitles.forEach(ruleTitle -> notice.append("- ").append(ruleTitle).append("\n"));
+        System.out.println(notice);
+        if (appendToMarkdownReport && title != null)
+            appendToMarkdownReport(outputDir, title, notice);
+    }
+
+    /**
+     * Prints the estimated share of paths with a violation of every rule that only checked a sample of the paths.
+     * Optionally the table is appended to the Markdown report.
+     * @param estimates the estimates of the sampled rules
+     * @param outputDir directory of the report
+     * @param title custom name tag of the report
+     * @param appendToMarkdownReport true to append the table to the Markdown report with the given title
+     */
+    public void generateSamplingReport(List<PathSample.Estimate> estimates, Path outputDir, String title,
+                                       boolean appendToMarkdownReport) {
+        Table.Builder table = new Table.Builder().addRow("Rule", "Sampled Paths", "Paths with Violations",
+                "Estimated Share", "95 % Confidence Interval", "Estimated Paths with Violations");
+        for (PathSample.Estimate estimate : estimates) {
+            table.addRow(estimate.getRule(), estimate.getSampledPaths() + " of " + estimate.getTotalPaths(),
+                    estimate.getViolatingPaths(), formatPercent(estimate.getRate()),
+                    formatPercent(estimate.getLowerBound()) + " - " + formatPercent(estimate.getUpperBound()),
+                    estimate.getEstimatedViolatingPaths());
         }
+        String notice = new Heading("Sampled Rules", 2) + "\n"
+                + "The following rules only checked a sample of the paths, the violations above are those of the "
+                + "sample:\n\n" + table.build() + "\n";
+        System.out.println(notice);
+        if (appendToMarkdownReport && title != null)
+            appendToMarkdownReport(outputDir, title, notice);
+    }
 
-        //write file
-        String filename = "Report_" + title + ".md";
-        if (Files.notExists(path.resolve(filename))){
-            file = Files.createFile(path.resolve(filename));
-        }else{
-            file = path.resolve(filename);
+    private void appendToMarkdownReport(Path outputDir, String title, CharSequence text) {
+        try {
+            Path reportFile = outputDir.resolve("Report_" + cleanTitle(title) + ".md");
+            Files.writeString(reportFile, "\n\n" + text, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.severe("Error on writing report: " + e.getMessage());
         }
+    }
 
+    private static String formatPercent(double share) {
+        return String.format(Locale.ROOT, "%.1f %%", share * 100);
+    }
 
-        BufferedWriter bw = Files.newBufferedWriter(file);
-        PrintWriter printWriter = new PrintWriter(bw);
-        printWriter.print(sbMDReport);
+    /**
+     * Prints the profile of an analysis or a batch as table and writes it as JSON file. Optionally the table is
+     * appended to the Markdown report.
+     * @param profile the measured times
+     * @param outputDir directory of the report and the JSON file
+     * @param title custom name tag of the report, null to name the JSON file after the current time
+     * @param appendToMarkdownReport true to append the table to the Markdown report with the given title
+     */
+    public void generateProfileReport(AnalysisProfile profile, Path outputDir, String title,
+                                      boolean appendToMarkdownReport) {
+        String heading = new Heading("Profile", 2).toString();
+        String table = profile.toMarkdownTable();
+        System.out.println(heading + "\n" + table + "\n");
+        try {
+            Files.createDirectories(outputDir);
+            if (appendToMarkdownReport && title != null) {
+                Path reportFile = outputDir.resolve("Report_" + cleanTitle(title) + ".md");
+                Files.writeString(reportFile, "\n\n" + heading + "\n" + table + "\n", StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            Path jsonFile = outputDir.resolve("Profile_" + cleanTitle(title != null ? title : getTimestamp()) + ".json");
+            try (Writer writer = Files.newBufferedWriter(jsonFile)) {
+                profile.writeJson(writer);
+            }
+            System.out.println("--> The profile can be found here: " + jsonFile.toAbsolutePath() + "\n");
+        } catch (IOException e) {
+            logger.severe("Error on writing profile: " + e.getMessage());
+        }
+    }
 
-        //inform user where file has been written to
-        System.out.println("--> The detailed report can be found here: " + path.toAbsolutePath() + "\n");
+    /**
+     * @return the directory reports are written to if no other directory is specified
+     */
+    public static Path getDefaultOutputDir() {
+        return Path.of(OUTPUT_DIR);
+    }
 
-        printWriter.close();
-        bw.close();
+    private Path writeReportToFile(StringBuilder sbMDReport, Path path, String title) throws IOException {
+        Files.createDirectories(path);
+        Path file = path.resolve("Report_" + cleanTitle(title) + ".md");
+        try (PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(file))) {
+            printWriter.print(sbMDReport);
+        }
+        return file;
     }
 
     /**
@@ -0,0 +1,45 @@
+package cli.report;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The formats the detailed report of an analysis can be written in.
+ */
+public enum ReportFormat {
+    MARKDOWN("md"),
+    SARIF("sarif"),
+    NDJSON("ndjson");
+
+    private final String fileExtension;
+
+    ReportFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * @param name name of the format, case is ignored
+     * @return the format with the given name
+     * @throws IllegalArgumentException if there is no format with the given name
+     */
+    public static ReportFormat of(String name) {
+        for (ReportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name))
+                return format;
+        }
+        throw new IllegalArgumentException("Unknown report format '" + name + "', expected one of: " + getNames());
+    }
+
+    /**
+     * @return the names of all formats as they are given on the command line
+     */
+    public static String getNames() {
+        return Arrays.stream(values()).map(format -> format.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "));
+    }
+}
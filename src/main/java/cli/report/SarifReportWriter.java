@@ -0,0 +1,230 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import cli.rule.constants.RuleSeverity;
+import cli.rule.constants.RuleSoftwareQualityAttribute;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the violations as SARIF 2.1.0 log, e.g. for code scanning dashboards. The metadata of the rules is written
+ * once at the beginning, every violation is written as result referencing its rule as soon as it is received. The log
+ * is generated token by token, so the memory used does not grow with the number of results.
+ */
+public class SarifReportWriter implements ViolationSink {
+    static final String SARIF_VERSION = "2.1.0";
+    static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String TOOL_NAME = "RESTRuler";
+    private static final String TOOL_URI = "https://github.com/manuelmerkel/RESTRuler";
+    private static final String SOURCE_ROOT = "%SRCROOT%";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private final JsonGenerator generator;
+    private final String artifactUri;
+    private final boolean relativeArtifact;
+    // rule copies of different analyses are equal for the log, so they are identified by their id
+    private final Map<String, Integer> ruleIndex = new HashMap<>();
+
+    /**
+     * Writes the beginning of the log including the metadata of the rules.
+     *
+     * @param out      the log is written to it and closed together with this sink
+     * @param location path or URL of the analyzed definition, null if it was not read from a file
+     * @param rules    rules of the analysis, inactive ones are left out
+     * @throws IOException if the log cannot be written
+     */
+    public SarifReportWriter(Writer out, String location, List<IRestRule> rules) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out).useDefaultPrettyPrinter();
+        this.artifactUri = location != null ? toArtifactUri(location) : null;
+        this.relativeArtifact = this.artifactUri != null && !this.artifactUri.contains(":");
+        writeStart(rules);
+    }
+
+    /**
+     * @param rule the rule
+     * @return the id of the rule in the log
+     */
+    static String getRuleId(IRestRule rule) {
+        return rule.getClass().getSimpleName();
+    }
+
+    @Override
+    public void accept(Violation violation) {
+        try {
+            writeResult(violation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.generator.writeEndArray(); // results
+            if (this.artifactUri != null) {
+                this.generator.writeArrayFieldStart("artifacts");
+                this.generator.writeStartObject();
+                writeArtifactLocation();
+                this.generator.writeEndObject();
+                this.generator.writeEndArray();
+            }
+            this.generator.writeEndObject(); // run
+            this.generator.writeEndArray(); // runs
+            this.generator.writeEndObject();
+        } finally {
+            this.generator.close();
+        }
+    }
+
+    private void writeStart(List<IRestRule> rules) throws IOException {
+        this.generator.writeStartObject();
+        this.generator.writeStringField("$schema", SARIF_SCHEMA);
+        this.generator.writeStringField("version", SARIF_VERSION);
+        this.generator.writeArrayFieldStart("runs");
+        this.generator.writeStartObject();
+
+        this.generator.writeObjectFieldStart("tool");
+        this.generator.writeObjectFieldStart("driver");
+        this.generator.writeStringField("name", TOOL_NAME);
+        String version = SarifReportWriter.class.getPackage().getImplementationVersion();
+        if (version != null)
+            this.generator.writeStringField("version", version);
+        this.generator.writeStringField("informationUri", TOOL_URI);
+        this.generator.writeArrayFieldStart("rules");
+        for (IRestRule rule : rules) {
+            if (rule.getIsActive() && !this.ruleIndex.containsKey(getRuleId(rule)))
+                writeRule(rule);
+        }
+        this.generator.writeEndArray();
+        this.generator.writeEndObject(); // driver
+        this.generator.writeEndObject(); // tool
+
+        if (this.relativeArtifact) {
+            // relative paths are resolved against the directory the analysis was started in
+            this.generator.writeObjectFieldStart("originalUriBaseIds");
+            this.generator.writeObjectFieldStart(SOURCE_ROOT);
+            this.generator.writeStringField("uri", Path.of("").toAbsolutePath().toUri().toString());
+            this.generator.writeEndObject();
+            this.generator.writeEndObject();
+        }
+        this.generator.writeArrayFieldStart("results");
+    }
+
+    private void writeRule(IRestRule rule) throws IOException {
+        this.ruleIndex.put(getRuleId(rule), this.ruleIndex.size());
+        this.generator.writeStartObject();
+        this.generator.writeStringField("id", getRuleId(rule));
+        this.generator.writeObjectFieldStart("shortDescription");
+        this.generator.writeStringField("text", rule.getTitle());
+        this.generator.writeEndObject();
+        this.generator.writeObjectFieldStart("defaultConfiguration");
+        this.generator.writeStringField("level", getLevel(rule.getSeverityType()));
+        this.generator.writeEndObject();
+        this.generator.writeObjectFieldStart("properties");
+        this.generator.writeStringField("category", String.valueOf(rule.getCategory()));
+        this.generator.writeStringField("severity", String.valueOf(rule.getSeverityType()));
+        this.generator.writeArrayFieldStart("qualityAttributes");
+        for (RuleSoftwareQualityAttribute attribute : rule.getRuleSoftwareQualityAttribute()) {
+            this.generator.writeString(attribute.name());
+        }
+        this.generator.writeEndArray();
+        this.generator.writeEndObject(); // properties
+        this.generator.writeEndObject();
+    }
+
+    private void writeResult(Violation violation) throws IOException {
+        IRestRule rule = violation.getRule();
+        String ruleId = getRuleId(rule);
+        this.generator.writeStartObject();
+        this.generator.writeStringField("ruleId", ruleId);
+        Integer index = this.ruleIndex.get(ruleId);
+        if (index != null)
+            this.generator.writeNumberField("ruleIndex", index);
+        this.generator.writeStringField("level", getLevel(rule.getSeverityType()));
+        this.generator.writeObjectFieldStart("message");
+        this.generator.writeStringField("text", violation.getErrorMessage() != null
+                ? violation.getErrorMessage() : rule.getTitle());
+        this.generator.writeEndObject();
+
+        this.generator.writeArrayFieldStart("locations");
+        this.generator.writeStartObject();
+        if (this.artifactUri != null) {
+            this.generator.writeObjectFieldStart("physicalLocation");
+            writeArtifactLocation();
+            // lines that could not be mapped are not valid regions
+            if (violation.getLineViolation() > 0) {
+                this.generator.writeObjectFieldStart("region");
+                this.generator.writeNumberField("startLine", violation.getLineViolation());
+                this.generator.writeEndObject();
+            }
+            this.generator.writeEndObject();
+        }
+        if (violation.getKeyViolation() != null) {
+            this.generator.writeArrayFieldStart("logicalLocations");
+            this.generator.writeStartObject();
+            this.generator.writeStringField("fullyQualifiedName", violation.getKeyViolation());
+            this.generator.writeEndObject();
+            this.generator.writeEndArray();
+        }
+        this.generator.writeEndObject();
+        this.generator.writeEndArray(); // locations
+
+        if (violation.getImprovementSuggestion() != null) {
+            this.generator.writeObjectFieldStart("properties");
+            this.generator.writeStringField("improvementSuggestion", violation.getImprovementSuggestion());
+            this.generator.writeEndObject();
+        }
+        this.generator.writeEndObject();
+    }
+
+    private void writeArtifactLocation() throws IOException {
+        this.generator.writeObjectFieldStart("artifactLocation");
+        this.generator.writeStringField("uri", this.artifactUri);
+        if (this.relativeArtifact)
+            this.generator.writeStringField("uriBaseId", SOURCE_ROOT);
+        this.generator.writeEndObject();
+    }
+
+    /**
+     * @param severity severity of the rule
+     * @return the SARIF level, critical violations and errors are both reported as error
+     */
+    static String getLevel(RuleSeverity severity) {
+        if (severity == null)
+            return "warning";
+        switch (severity) {
+            case CRITICAL:
+            case ERROR:
+                return "error";
+            default:
+                return "warning";
+        }
+    }
+
+    /**
+     * @param location path or URL of the analyzed definition
+     * @return URLs and absolute paths as absolute URI, relative paths as relative URI with forward slashes
+     */
+    static String toArtifactUri(String location) {
+        if (location.toLowerCase().startsWith("http"))
+            return location;
+        try {
+            Path path = Path.of(location);
+            if (path.isAbsolute())
+                return path.toUri().toString();
+            return path.normalize().toString().replace('\\', '/').replace(" ", "%20");
+        } catch (InvalidPathException e) {
+            return location.replace('\\', '/');
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Passes the violations in the order of {@link Violation#getComparator()} on to another sink. Up to
+ * {@code maxInMemory} violations are sorted in memory; if there are more, every full buffer is sorted and written to a
+ * temporary file and the files are merged when the sink is closed. The memory used stays bounded no matter how many
+ * violations are found.
+ */
+public class SortingViolationSink implements ViolationSink {
+    public static final int DEFAULT_MAX_IN_MEMORY = 100_000;
+    private final ViolationSink target;
+    private final int maxInMemory;
+    private final Comparator<Violation> comparator = Violation.getComparator();
+    private final List<Violation> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    // the rules are not written to the temporary files, only their index in this list
+    private final List<IRestRule> rules = new ArrayList<>();
+    private final Map<IRestRule, Integer> ruleIndex = new IdentityHashMap<>();
+    private Path tempDir;
+
+    /**
+     * @param target receives the sorted violations and is closed together with this sink
+     */
+    public SortingViolationSink(ViolationSink target) {
+        this(target, DEFAULT_MAX_IN_MEMORY);
+    }
+
+    /**
+     * @param target      receives the sorted violations and is closed together with this sink
+     * @param maxInMemory maximum number of violations held in memory
+     */
+    public SortingViolationSink(ViolationSink target, int maxInMemory) {
+        this.target = target;
+        this.maxInMemory = Math.max(1, maxInMemory);
+    }
+
+    @Override
+    public void accept(Violation violation) {
+        this.buffer.add(violation);
+        if (this.buffer.size() >= this.maxInMemory) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.buffer.sort(this.comparator);
+            if (this.runs.isEmpty()) {
+                this.buffer.forEach(this.target::accept);
+            } else {
+                merge();
+            }
+        } finally {
+            this.buffer.clear();
+            deleteRuns();
+            this.target.close();
+        }
+    }
+
+    private void spill() throws IOException {
+        this.buffer.sort(this.comparator);
+        if (this.tempDir == null)
+            this.tempDir = Files.createTempDirectory("rest-ruler-sort");
+        Path run = this.tempDir.resolve("run-" + this.runs.size());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            for (Violation violation : this.buffer) {
+                write(out, violation);
+            }
+        }
+        this.runs.add(run);
+        this.buffer.clear();
+    }
+
+    /**
+     * Merges the sorted temporary files and the sorted rest of the buffer.
+     */
+    private void merge() throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>((a, b) -> this.comparator.compare(a.head, b.head));
+            for (Path run : this.runs) {
+                RunReader reader = new RunReader(new DataInputStream(new BufferedInputStream(Files.newInputStream(run))));
+                readers.add(reader);
+                if (reader.next())
+                    queue.add(reader);
+            }
+            RunReader memory = new RunReader(null);
+            if (memory.next())
+                queue.add(memory);
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                this.target.accept(reader.head);
+                if (reader.next())
+                    queue.add(reader);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private void write(DataOutputStream out, Violation violation) throws IOException {
+        Integer index = this.ruleIndex.get(violation.getRule());
+        if (index == null) {
+            index = this.rules.size();
+            this.rules.add(violation.getRule());
+            this.ruleIndex.put(violation.getRule(), index);
+        }
+        out.writeInt(index);
+        out.writeInt(violation.getLineViolation());
+        writeString(out, violation.getImprovementSuggestion());
+        writeString(out, violation.getKeyViolation());
+        writeString(out, violation.getErrorMessage());
+    }
+
+    private Violation read(DataInputStream in) throws IOException {
+        IRestRule rule = this.rules.get(in.readInt());
+        int line = in.readInt();
+        return new Violation(rule, line, readString(in), readString(in), readString(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private void deleteRuns() throws IOException {
+        for (Path run : this.runs) {
+            Files.deleteIfExists(run);
+        }
+        this.runs.clear();
+        if (this.tempDir != null) {
+            Files.deleteIfExists(this.tempDir);
+            this.tempDir = null;
+        }
+    }
+
+    /**
+     * Reads one sorted run; the in-memory rest of the buffer is read from the list if no stream is given.
+     */
+    private class RunReader implements Closeable {
+        private final DataInputStream in;
+        private int bufferPosition;
+        private Violation head;
+
+        RunReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        boolean next() throws IOException {
+            if (this.in == null) {
+                this.head = this.bufferPosition < buffer.size() ? buffer.get(this.bufferPosition++) : null;
+                return this.head != null;
+            }
+            try {
+                this.head = read(this.in);
+                return true;
+            } catch (EOFException e) {
+                this.head = null;
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.in != null)
+                this.in.close();
+        }
+    }
+}
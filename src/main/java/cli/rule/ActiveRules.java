@@ -17,6 +17,9 @@ import java.util.logging.Logger;
 public class ActiveRules {
     private static final String PATH_TO_RULES = "cli.rule.rules";
     private static final String METHOD_NAME = "getTitle";
+    // Scanning the classpath is by far the most expensive part of creating the rule objects. The found rule classes
+    // never change while the JVM is running, so the scan is only done once.
+    private static Set<Class<?>> ruleClasses;
     private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     /**
@@ -31,8 +34,7 @@ public class ActiveRules {
     public List<IRestRule> getAllRuleObjects() {
         List<IRestRule> rules = new ArrayList<>();
 
-        Reflections reflections = new Reflections(PATH_TO_RULES, Scanners.SubTypes.filterResultsBy(s -> true));
-        Set<Class<?>> allClasses = reflections.getSubTypesOf(Object.class);
+        Set<Class<?>> allClasses = getRuleClasses();
 
         Config config = new Config();
         Properties prop = config.getConfig();
@@ -78,6 +80,40 @@ public class ActiveRules {
         return rules;
     }
 
+    /**
+     * Creates new objects of the given rules with the same state (active or disabled). Rules keep state while they
+     * are checked, so every analysis that runs concurrently to others needs its own rule objects. In contrast to
+     * {@link #getAllRuleObjects()} neither the classpath nor the config file is read.
+     *
+     * @param rules the rules to be copied
+     * @return the list of new IRestRule objects
+     */
+    public static List<IRestRule> copyRuleObjects(List<IRestRule> rules) {
+        List<IRestRule> copies = new ArrayList<>();
+        for (IRestRule rule : rules) {
+            try {
+                copies.add(rule.getClass().getConstructor(boolean.class).newInstance(rule.getIsActive()));
+            } catch (NoSuchMethodException | InvocationTargetException | InstantiationException
+                    | IllegalAccessException e) {
+                throw new IllegalStateException("Rule " + rule.getTitle() + " cannot be copied", e);
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Scans the package {@link #PATH_TO_RULES} for the rule classes on the first call.
+     *
+     * @return all classes found in the rule package
+     */
+    private static synchronized Set<Class<?>> getRuleClasses() {
+        if (ruleClasses == null) {
+            Reflections reflections = new Reflections(PATH_TO_RULES, Scanners.SubTypes.filterResultsBy(s -> true));
+            ruleClasses = reflections.getSubTypesOf(Object.class);
+        }
+        return ruleClasses;
+    }
+
     private Map<String, String> addDefaultValuesToConfig(List<IRestRule> rules) {
         Map<String, String> ruleStatus = new HashMap<>();
         for (IRestRule rule : rules) {
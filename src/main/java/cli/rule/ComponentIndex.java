@@ -0,0 +1,77 @@
+package cli.rule;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * What the components of a definition define, looked up by the last part of a $ref (e.g. "NotFound" for
+ * "#/components/responses/NotFound"). A definition usually references a few hundred components from thousands of
+ * places, so the components are examined once per analysis and every $ref is resolved with one hash lookup.
+ */
+public class ComponentIndex {
+    private final Set<String> responsesWithContent;
+    private final Set<String> requestBodiesWithContent;
+    private final Set<String> parametersWithSchema;
+
+    /**
+     * @param openAPI the definition whose components are indexed
+     */
+    public ComponentIndex(OpenAPI openAPI) {
+        Components components = openAPI != null ? openAPI.getComponents() : null;
+        if (components == null)
+            components = new Components();
+        this.responsesWithContent = collect(components.getResponses(),
+                response -> hasContent(response.getContent()));
+        this.requestBodiesWithContent = collect(components.getRequestBodies(),
+                requestBody -> hasContent(requestBody.getContent()));
+        this.parametersWithSchema = collect(components.getParameters(), parameter -> parameter.getSchema() != null);
+    }
+
+    /**
+     * @param name last part of the $ref to the response
+     * @return true if the response exists and defines a content
+     */
+    public boolean hasResponseContent(String name) {
+        return this.responsesWithContent.contains(name);
+    }
+
+    /**
+     * @param name last part of the $ref to the request body
+     * @return true if the request body exists and defines a content
+     */
+    public boolean hasRequestBodyContent(String name) {
+        return this.requestBodiesWithContent.contains(name);
+    }
+
+    /**
+     * @param name last part of the $ref to the parameter
+     * @return true if the parameter exists and defines a schema
+     */
+    public boolean hasParameterSchema(String name) {
+        return this.parametersWithSchema.contains(name);
+    }
+
+    private static boolean hasContent(Content content) {
+        return content != null && !content.isEmpty();
+    }
+
+    private static <T> Set<String> collect(Map<String, T> components, Predicate<T> defined) {
+        Set<String> names = new HashSet<>();
+        if (components == null)
+            return names;
+        components.forEach((name, component) -> {
+            if (component != null && defined.test(component))
+                names.add(name);
+        });
+        return names;
+    }
+}
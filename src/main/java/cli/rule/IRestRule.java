@@ -21,6 +21,14 @@ public interface IRestRule {
 
     void setIsActive(boolean isActive);
 
+    /**
+     * @return true if the rule may only check a sample of the paths of a huge definition, e.g. because its language
+     * processing is expensive, see {@link cli.analyzer.PathSample}
+     */
+    default boolean supportsSampling() {
+        return false;
+    }
+
     /**
      * Method used to check for any violations of the implemented rule
      *
@@ -28,4 +36,18 @@ public interface IRestRule {
      * @return List of Violations of the executing Rule
      */
     List<Violation> checkViolation(OpenAPI openAPI);
+
+    /**
+     * Checks for violations of the rule and passes them to the sink instead of returning them, so that they do not
+     * have to be kept until the whole analysis is finished. The default still collects all violations of the rule
+     * first; a rule that checks path by path overrides it and passes every violation on as soon as it is found.
+     *
+     * @param openAPI structured Object containing a representation of a OpenAPI specification
+     * @param sink receives the violations of the executing Rule
+     */
+    default void checkViolation(OpenAPI openAPI, ViolationSink sink) {
+        for (Violation violation : checkViolation(openAPI)) {
+            sink.accept(violation);
+        }
+    }
 }
@@ -0,0 +1,303 @@
+package cli.rule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the POS tags and word splits of path segments on disk, so that later runs over the same API vocabulary, e.g.
+ * daily CI runs, skip the NLP work. Tags and splits only change with the POS model or the dictionary, so the name of
+ * the cache file contains a checksum of both; a new model or dictionary starts a new file. The file is only appended
+ * to: it is read completely when the cache is opened, and new results are appended in blocks while the cache is open
+ * and when it is closed. A file that ends with an incomplete entry, e.g. after the JVM was killed, is read up to that
+ * entry, and the incomplete entry is cut off before the next results are appended.
+ */
+public class LinguisticCache {
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    // changed whenever the layout of the entries changes
+    private static final int VERSION = 1;
+    private static final byte TAG = 'T';
+    private static final byte SPLIT = 'S';
+    // new results are appended as soon as there are this many
+    private static final int FLUSH_THRESHOLD = 1000;
+    private static volatile LinguisticCache instance;
+    private final Path file;
+    // the tagger returns null for some segments, which a concurrent map cannot hold
+    private final Map<String, Optional<String>> tags = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> splits = new ConcurrentHashMap<>();
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // end of the last complete entry of the file that was read or written
+    private long length;
+
+    LinguisticCache(Path directory, String checksum) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve("nlp-" + checksum + ".cache");
+        load();
+    }
+
+    /**
+     * Opens the cache in the directory for the POS model and dictionary of this version; {@link Utility} uses it
+     * until it is closed. A cache that is already open is closed first.
+     *
+     * @param directory directory of the cache files, it is created if it does not exist
+     * @return the opened cache
+     * @throws IOException if the directory cannot be created or the cache file cannot be read
+     */
+    public static synchronized LinguisticCache open(Path directory) throws IOException {
+        close();
+        instance = new LinguisticCache(directory, getChecksum());
+        return instance;
+    }
+
+    /**
+     * Appends the new results to the cache file and stops using the cache.
+     */
+    public static synchronized void close() {
+        LinguisticCache cache = instance;
+        instance = null;
+        if (cache != null)
+            cache.flush();
+    }
+
+    /**
+     * @return the opened cache, null if tags and splits are not cached on disk
+     */
+    public static LinguisticCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the file the results are read from and appended to
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * @return number of cached tags and splits
+     */
+    public int size() {
+        return this.tags.size() + this.splits.size();
+    }
+
+    /**
+     * @param segment path segment or word
+     * @return true if the tag of the segment is cached
+     */
+    public boolean containsTag(String segment) {
+        return this.tags.containsKey(segment);
+    }
+
+    /**
+     * @param segment path segment or word
+     * @return the cached tag, null if the tagger has no tag for it or it is not cached
+     */
+    public String getTag(String segment) {
+        Optional<String> tag = this.tags.get(segment);
+        return tag != null ? tag.orElse(null) : null;
+    }
+
+    /**
+     * @param segment path segment or word
+     * @param tag     the tag of the first token of the segment, may be null
+     */
+    public void putTag(String segment, String tag) {
+        if (this.tags.putIfAbsent(segment, Optional.ofNullable(tag)) == null)
+            append(out -> {
+                out.writeByte(TAG);
+                out.writeUTF(segment);
+                out.writeBoolean(tag != null);
+                if (tag != null)
+                    out.writeUTF(tag);
+            });
+    }
+
+    /**
+     * @param segment path segment
+     * @return the cached words of every part of the segment, null if they are not cached; the list cannot be changed
+     */
+    public List<String> getSplit(String segment) {
+        return this.splits.get(segment);
+    }
+
+    /**
+     * @param segment path segment
+     * @param words   the words of every part of the segment
+     */
+    public void putSplit(String segment, List<String> words) {
+        List<String> split = List.copyOf(words);
+        if (this.splits.putIfAbsent(segment, split) == null)
+            append(out -> {
+                out.writeByte(SPLIT);
+                out.writeUTF(segment);
+                out.writeInt(split.size());
+                for (String word : split) {
+                    out.writeUTF(word);
+                }
+            });
+    }
+
+    /**
+     * Appends the results that are not yet in the cache file. The file is locked while writing, so several processes
+     * can share the directory. The entries other processes have appended in the meantime are read first; an incomplete
+     * entry at the end of the file is cut off, otherwise the appended entries could not be read anymore.
+     */
+    public synchronized void flush() {
+        if (this.pending.isEmpty())
+            return;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] entry;
+        while ((entry = this.pending.poll()) != null) {
+            bytes.writeBytes(entry);
+            this.pendingCount.decrementAndGet();
+        }
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                appendEntries(channel, bytes.toByteArray());
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error on writing the linguistic cache " + this.file, e);
+        }
+    }
+
+    /**
+     * Appends the entries after the last complete entry of the locked file.
+     */
+    private void appendEntries(FileChannel channel, byte[] entries) throws IOException {
+        long size = channel.size();
+        if (size != this.length) {
+            // a file that became shorter was replaced, it is read from the start
+            long start = size > this.length ? this.length : 0;
+            this.length = start + readEntries(read(channel, start, size));
+            if (this.length < size)
+                channel.truncate(this.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(entries);
+        while (buffer.hasRemaining()) {
+            this.length += channel.write(buffer, this.length);
+        }
+    }
+
+    private void append(EntryWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (UTFDataFormatException e) {
+            // longer than 64 KB, such a segment is not worth caching
+            return;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error on adding to the linguistic cache", e);
+            return;
+        }
+        this.pending.add(bytes.toByteArray());
+        if (this.pendingCount.incrementAndGet() >= FLUSH_THRESHOLD)
+            flush();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(this.file))
+            return;
+        this.length = readEntries(Files.readAllBytes(this.file));
+    }
+
+    private static byte[] read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0)
+                break;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param contents entries of the cache file
+     * @return number of bytes up to the end of the last complete entry
+     */
+    private int readEntries(byte[] contents) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(contents);
+        int end = 0;
+        try (DataInputStream in = new DataInputStream(bytes)) {
+            while (true) {
+                int kind = in.read();
+                if (kind < 0)
+                    break;
+                String segment = in.readUTF();
+                if (kind == TAG) {
+                    this.tags.put(segment, Optional.ofNullable(in.readBoolean() ? in.readUTF() : null));
+                } else if (kind == SPLIT) {
+                    int count = in.readInt();
+                    List<String> words = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        words.add(in.readUTF());
+                    }
+                    this.splits.put(segment, List.copyOf(words));
+                } else {
+                    logger.warning("The linguistic cache " + this.file + " is damaged, it is only read up to the "
+                            + "damaged entry.");
+                    break;
+                }
+                end = contents.length - bytes.available();
+            }
+        } catch (EOFException e) {
+            logger.fine("The last entry of the linguistic cache " + this.file + " is incomplete.");
+        }
+        return end;
+    }
+
+    /**
+     * @return hex SHA-256 checksum of the POS model, the dictionary and the layout of the cache file
+     * @throws IOException if the model or the dictionary cannot be read
+     */
+    static String getChecksum() throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((byte) VERSION);
+            for (String resource : List.of(Utility.MODELS_EN_POS_MAXENT_BIN, Utility.PATH_TO_ENGLISH_DICTIONARY)) {
+                InputStream resourceIn = Utility.class.getResourceAsStream(resource);
+                if (resourceIn == null)
+                    throw new IOException("The resource " + resource + " does not exist");
+                try (InputStream in = new DigestInputStream(resourceIn, digest)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private interface EntryWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,139 @@
+package cli.rule;
+
+import cli.analyzer.CancellationToken;
+import cli.analyzer.RestAnalyzer;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The linguistic analysis of the path segments of one definition, shared by all rules of an analysis. The same
+ * segments (e.g. "users" or "orders") occur in many paths, so every distinct segment is only tagged (see
+ * {@link Utility#getTokenNLP}) and split into words (see {@link Utility#splitContiguousWords}) once. On the first
+ * request of a tag or a split, all distinct segments of the definition are tagged or split in parallel; segments the
+ * rules derive in another way are analyzed on their first request.
+ */
+public class PathSegments {
+    private final Set<String> segments;
+    // the tagger returns null for some segments, which a concurrent map cannot hold
+    private final Map<String, Optional<String>> tokens = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> splits = new ConcurrentHashMap<>();
+    private final AtomicInteger computations = new AtomicInteger();
+    private volatile boolean tokensPlanned;
+    private volatile boolean splitsPlanned;
+
+    /**
+     * @param openAPI the definition whose path segments are analyzed
+     */
+    public PathSegments(OpenAPI openAPI) {
+        this.segments = collectSegments(openAPI);
+    }
+
+    /**
+     * @param segment path segment or word
+     * @return the POS tag of the first token of the segment, like {@link Utility#getTokenNLP}
+     */
+    public String getTokenNLP(String segment) {
+        if (!this.tokensPlanned)
+            planTokens();
+        return this.tokens.computeIfAbsent(segment, this::computeToken).orElse(null);
+    }
+
+    /**
+     * @param segment path segment
+     * @return the words of every part of the segment, like {@link Utility#splitContiguousWords}; the list cannot be
+     * changed
+     * @throws IOException if the dictionary cannot be read
+     */
+    public List<String> splitContiguousWords(String segment) throws IOException {
+        try {
+            if (!this.splitsPlanned)
+                planSplits();
+            return this.splits.computeIfAbsent(segment, this::computeSplit);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return number of tags and splits computed so far; every distinct segment is counted at most once per kind
+     */
+    public int getComputations() {
+        return this.computations.get();
+    }
+
+    /**
+     * @return the distinct segments of all paths without the path parameters
+     */
+    public Set<String> getSegments() {
+        return this.segments;
+    }
+
+    private synchronized void planTokens() {
+        if (this.tokensPlanned)
+            return;
+        // a stopped rule does not need the remaining segments, they are analyzed when another rule requests them
+        CancellationToken cancellation = RestAnalyzer.getCancellationToken();
+        this.segments.parallelStream().forEach(segment -> {
+            if (!cancellation.isCancelled())
+                this.tokens.computeIfAbsent(segment, this::computeToken);
+        });
+        this.tokensPlanned = true;
+    }
+
+    private synchronized void planSplits() {
+        if (this.splitsPlanned)
+            return;
+        CancellationToken cancellation = RestAnalyzer.getCancellationToken();
+        this.segments.parallelStream().forEach(segment -> {
+            if (!cancellation.isCancelled())
+                this.splits.computeIfAbsent(segment, this::computeSplit);
+        });
+        this.splitsPlanned = true;
+    }
+
+    private Optional<String> computeToken(String segment) {
+        this.computations.incrementAndGet();
+        return Optional.ofNullable(Utility.getTokenNLP(segment));
+    }
+
+    private List<String> computeSplit(String segment) {
+        this.computations.incrementAndGet();
+        try {
+            return List.copyOf(Utility.splitContiguousWords(segment));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Collects the segments the rules look at: every segment without parameters as it is written and the first
+     * segment of a path in lowercase, which decides whether a path starts with a singular or a plural.
+     */
+    private static Set<String> collectSegments(OpenAPI openAPI) {
+        Set<String> segments = new LinkedHashSet<>();
+        if (openAPI == null || openAPI.getPaths() == null)
+            return segments;
+        for (String path : openAPI.getPaths().keySet()) {
+            boolean first = true;
+            for (String segment : path.split("/")) {
+                if (segment.isBlank())
+                    continue;
+                if (first)
+                    segments.add(segment.trim().toLowerCase());
+                first = false;
+                if (!segment.contains("{"))
+                    segments.add(segment);
+            }
+        }
+        return segments;
+    }
+}
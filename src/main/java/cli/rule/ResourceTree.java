@@ -0,0 +1,111 @@
+package cli.rule;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * The paths of a definition as tree of their segments: every node is a segment below the segments of its parent, so
+ * a prefix like /customers/{customerId}/orders shared by many paths is only one branch. Rules that look at a path
+ * from its first to its last segment carry their state down the tree instead, so every distinct prefix is only
+ * checked once.
+ */
+public class ResourceTree {
+    private final Node root = new Node(null, null);
+    // the node of every path in the order of the definition
+    private final Map<String, Node> nodesByPath = new LinkedHashMap<>();
+    private int nodeCount;
+
+    /**
+     * @param openAPI the definition whose paths are added to the tree
+     */
+    public ResourceTree(OpenAPI openAPI) {
+        if (openAPI == null || openAPI.getPaths() == null)
+            return;
+        for (String path : openAPI.getPaths().keySet()) {
+            Node node = this.root;
+            for (String segment : path.split("/")) {
+                // like the rules, only empty segments and single blanks are left out
+                if (segment.isEmpty() || segment.equals(" "))
+                    continue;
+                Node parent = node;
+                node = parent.children.computeIfAbsent(segment, key -> {
+                    this.nodeCount++;
+                    return new Node(key, parent);
+                });
+            }
+            this.nodesByPath.put(path, node);
+        }
+    }
+
+    /**
+     * Computes the state of every node from the state of its parent, starting with the state of the root; every node
+     * is visited once.
+     *
+     * @param rootState  state of the root, which has no segment
+     * @param transition computes the state of a node from the state of its parent and the node
+     * @return the state of the last segment of every path, in the order of the paths in the definition
+     */
+    public <S> Map<String, S> getPathStates(S rootState, BiFunction<S, Node, S> transition) {
+        Map<Node, S> states = new IdentityHashMap<>();
+        states.put(this.root, rootState);
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(this.root);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            S state = states.get(node);
+            for (Node child : node.getChildren()) {
+                states.put(child, transition.apply(state, child));
+                nodes.push(child);
+            }
+        }
+        Map<String, S> pathStates = new LinkedHashMap<>();
+        this.nodesByPath.forEach((path, node) -> pathStates.put(path, states.get(node)));
+        return pathStates;
+    }
+
+    /**
+     * @return number of nodes without the root, i.e. the number of distinct path prefixes
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * A segment of one or more paths.
+     */
+    public static final class Node {
+        private final String segment;
+        private final Node parent;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+
+        private Node(String segment, Node parent) {
+            this.segment = segment;
+            this.parent = parent;
+        }
+
+        /**
+         * @return the segment as it is written in the paths
+         */
+        public String getSegment() {
+            return this.segment;
+        }
+
+        /**
+         * @return true if the segment is the first segment of its paths
+         */
+        public boolean isFirstSegment() {
+            return this.parent != null && this.parent.segment == null;
+        }
+
+        public Collection<Node> getChildren() {
+            return this.children.values();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package cli.rule;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -12,11 +11,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import com.google.common.collect.Lists;
+import cli.jfr.ModelLoadEvent;
 import cli.rule.rules.SingularDocumentNameRule;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -27,20 +28,28 @@ import opennlp.tools.tokenize.SimpleTokenizer;
 
 public class Utility {
     private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-    private static final String PATH_TO_ENGLISH_DICTIONARY = "/wordninja_words.txt";
+    static final String PATH_TO_ENGLISH_DICTIONARY = "/wordninja_words.txt";
 
     public static final String MODELS_EN_POS_MAXENT_BIN = "/models/en-pos-maxent.bin";
 
+    // Resources, dictionaries and models never change while the JVM is running. They are loaded once and shared by
+    // all analyses, so that e.g. a batch run over hundreds of specifications does not read them again for every path.
+    private static final Map<String, List<String>> resourceLines = new ConcurrentHashMap<>();
+    private static final Map<String, String> resourceContents = new ConcurrentHashMap<>();
+    private static Map<String, Number> wordCost;
+    private static int maxWordLength;
+    private static POSModel posModel;
+    // The model can be shared, the tagger itself is not thread safe
+    private static final ThreadLocal<POSTaggerME> posTagger = new ThreadLocal<>();
+
     private Utility() {
         throw new IllegalStateException("Utility class");
     }
 
     public static boolean getPathSegmentContained(String word, String filePath) {
         boolean isWordInDictionary = false;
-        try (InputStream is = Utility.class.getResourceAsStream(filePath);
-                BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-            String wordFromDictionary;
-            while ((wordFromDictionary = br.readLine()) != null) {
+        try {
+            for (String wordFromDictionary : getResourceLines(filePath)) {
                 if (word.toLowerCase().contains(wordFromDictionary)) {
                     isWordInDictionary = true;
                     break;
@@ -55,8 +64,13 @@ public class Utility {
 
     public static boolean getPathSegmentMatch(String word, String filePath) {
         boolean isWordInDictionary = false;
-        try (Scanner scanner = new Scanner(Utility.class.getResourceAsStream(filePath))) {
-            if (scanner.useDelimiter("\\Z").next().matches(word))
+        try {
+            String dictionary = resourceContents.computeIfAbsent(filePath, file -> {
+                try (Scanner scanner = new Scanner(Utility.class.getResourceAsStream(file))) {
+                    return scanner.useDelimiter("\\Z").next();
+                }
+            });
+            if (dictionary.matches(word))
                 isWordInDictionary = true;
         } catch (Exception e) {
             logger.severe(
@@ -65,6 +79,25 @@ public class Utility {
         return isWordInDictionary;
     }
 
+    /**
+     * Reads all lines of a resource file. The file is only read on the first call, afterwards the cached lines are
+     * returned.
+     *
+     * @param filePath path of the resource file
+     * @return unmodifiable list of the lines of the file, empty if the file cannot be read
+     */
+    public static List<String> getResourceLines(String filePath) {
+        return resourceLines.computeIfAbsent(filePath, file -> {
+            try (InputStream is = Utility.class.getResourceAsStream(file);
+                    BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+                return List.copyOf(br.lines().collect(Collectors.toList()));
+            } catch (Exception e) {
+                logger.severe("Error on reading the resource file " + file + ": " + e.getMessage());
+                return List.of();
+            }
+        });
+    }
+
     public static OpenAPI getOpenAPI(String path) {
         SwaggerParseResult swaggerParseResult = new OpenAPIParser().readLocation(path, null, null);
         return swaggerParseResult.getOpenAPI();
@@ -85,7 +118,8 @@ public class Utility {
     }
 
     /**
-     * Get a token from a word using the nlp apache pos tagger library.
+     * Get a token from a word using the nlp apache pos tagger library. If the {@link LinguisticCache} is open, the
+     * token is taken from it or added to it.
      * 
      * @param pathSegment
      * @return
@@ -94,12 +128,26 @@ public class Utility {
         if (pathSegment.equals("")) {
             return null;
         }
+        LinguisticCache cache = LinguisticCache.getInstance();
+        if (cache == null)
+            return tagFirstToken(pathSegment);
+        if (cache.containsTag(pathSegment))
+            return cache.getTag(pathSegment);
+        String tag = tagFirstToken(pathSegment);
+        cache.putTag(pathSegment, tag);
+        return tag;
+    }
+
+    private static String tagFirstToken(String pathSegment) {
         SimpleTokenizer tokenizer = SimpleTokenizer.INSTANCE;
         String[] tokens = tokenizer.tokenize(pathSegment);
-        try (InputStream modelIn = Utility.class.getResourceAsStream(MODELS_EN_POS_MAXENT_BIN);) {
-            POSModel posModel = new POSModel(modelIn);
-            POSTaggerME posTagger = new POSTaggerME(posModel);
-            String tags[] = posTagger.tag(tokens);
+        try {
+            POSTaggerME tagger = posTagger.get();
+            if (tagger == null) {
+                tagger = new POSTaggerME(getPOSModel());
+                posTagger.set(tagger);
+            }
+            String tags[] = tagger.tag(tokens);
             return tags[0];
         } catch (IOException e) {
             e.printStackTrace();
@@ -108,6 +156,26 @@ public class Utility {
         return null;
     }
 
+    /**
+     * Loads the POS model on the first call and returns the shared instance afterwards.
+     *
+     * @return the english POS model
+     * @throws IOException if the model cannot be read
+     */
+    private static synchronized POSModel getPOSModel() throws IOException {
+        if (posModel == null) {
+            ModelLoadEvent modelLoadEvent = new ModelLoadEvent();
+            modelLoadEvent.begin();
+            try (InputStream modelIn = Utility.class.getResourceAsStream(MODELS_EN_POS_MAXENT_BIN)) {
+                posModel = new POSModel(modelIn);
+            }
+            modelLoadEvent.setModel(MODELS_EN_POS_MAXENT_BIN);
+            modelLoadEvent.setKind("POS model");
+            modelLoadEvent.commit();
+        }
+        return posModel;
+    }
+
     /**
      * Given a word check if it is plural or singular based on token.
      * 
@@ -127,15 +195,48 @@ public class Utility {
     }
 
     /**
-     * Split a string into words if possible using an english dictionary to match the words.
+     * Split a string into words if possible using an english dictionary to match the words. If the
+     * {@link LinguisticCache} is open, the words are taken from it or added to it.
      * 
      * @param sentence
      * @return
      * @throws IOException
      */
     public static List<String> splitContiguousWords(String sentence) throws IOException {
+        LinguisticCache cache = LinguisticCache.getInstance();
+        if (cache == null)
+            return splitWords(sentence);
+        List<String> cachedWords = cache.getSplit(sentence);
+        if (cachedWords != null)
+            return new ArrayList<>(cachedWords);
+        List<String> splitWords = splitWords(sentence);
+        cache.putSplit(sentence, splitWords);
+        return splitWords;
+    }
+
+    private static List<String> splitWords(String sentence) throws IOException {
         String splitRegex = "[^a-zA-Z0-9']+";
-        Map<String, Number> wordCost = new HashMap<>();
+        Map<String, Number> costs = getWordCost();
+        List<String> splitWords = new ArrayList<>();
+        for (String partSentence : sentence.split(splitRegex)) {
+            splitWords.add(split(partSentence, costs, maxWordLength));
+        }
+        return splitWords;
+    }
+
+    /**
+     * Builds the word costs of the english dictionary on the first call and returns the shared map afterwards.
+     *
+     * @return map of the dictionary words to their costs
+     * @throws IOException if the dictionary stream cannot be closed
+     */
+    private static synchronized Map<String, Number> getWordCost() throws IOException {
+        if (wordCost != null)
+            return wordCost;
+
+        ModelLoadEvent modelLoadEvent = new ModelLoadEvent();
+        modelLoadEvent.begin();
+        Map<String, Number> costs = new HashMap<>();
         List<String> dictionaryWords = new ArrayList<>();
         InputStream is = null;
 
@@ -154,15 +255,16 @@ public class Utility {
         double naturalLogDictionaryWordsCount = Math.log(dictionaryWords.size());
         long wordIdx = 0;
         for (String word : dictionaryWords) {
-            wordCost.put(word, Math.log(++wordIdx * naturalLogDictionaryWordsCount));
+            costs.put(word, Math.log(++wordIdx * naturalLogDictionaryWordsCount));
         }
-        int maxWordLength =
+        maxWordLength =
                 Collections.max(dictionaryWords, Comparator.comparing(String::length)).length();
-        List<String> splitWords = new ArrayList<>();
-        for (String partSentence : sentence.split(splitRegex)) {
-            splitWords.add(split(partSentence, wordCost, maxWordLength));
-        }
-        return splitWords;
+        wordCost = Collections.unmodifiableMap(costs);
+        modelLoadEvent.setModel(PATH_TO_ENGLISH_DICTIONARY);
+        modelLoadEvent.setKind("Dictionary");
+        modelLoadEvent.setEntryCount(dictionaryWords.size());
+        modelLoadEvent.commit();
+        return wordCost;
     }
 
     /**
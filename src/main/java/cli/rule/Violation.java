@@ -3,6 +3,10 @@ package cli.rule;
 import java.util.Comparator;
 
 public class Violation {
+    // created once; compares the line without boxing it
+    private static final Comparator<Violation> COMPARATOR = Comparator.comparingInt(Violation::getLineViolation)
+            .thenComparing(Violation::getKeyViolation).thenComparing(v -> v.getRule().getTitle());
+
     private int lineViolation;
     private String improvementSuggestion;
 
@@ -57,7 +61,7 @@ public class Violation {
     }
 
     public static Comparator<Violation> getComparator() {
-        return Comparator.comparing(Violation::getLineViolation).thenComparing(Violation::getKeyViolation).thenComparing(v -> v.getRule().getTitle());
+        return COMPARATOR;
     }
 
 }
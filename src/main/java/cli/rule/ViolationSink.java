@@ -0,0 +1,59 @@
+package cli.rule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the violations of an analysis as soon as they are found, e.g. to write them to a report, instead of
+ * collecting all of them in a list first. A sink that writes to a file or buffers violations has to be closed after
+ * the analysis.
+ */
+@FunctionalInterface
+public interface ViolationSink extends Closeable {
+
+    /**
+     * @param violation a violation found by a rule
+     */
+    void accept(Violation violation);
+
+    /**
+     * Called after the last violation; writes buffered violations and releases resources.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * @param sinks the sinks every violation is passed to, in the given order
+     * @return a sink that passes every violation to all given sinks and closes all of them
+     */
+    static ViolationSink of(ViolationSink... sinks) {
+        List<ViolationSink> targets = List.of(sinks);
+        return new ViolationSink() {
+            @Override
+            public void accept(Violation violation) {
+                for (ViolationSink sink : targets) {
+                    sink.accept(violation);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                IOException exception = null;
+                for (ViolationSink sink : targets) {
+                    try {
+                        sink.close();
+                    } catch (IOException e) {
+                        if (exception == null)
+                            exception = e;
+                        else
+                            exception.addSuppressed(e);
+                    }
+                }
+                if (exception != null)
+                    throw exception;
+            }
+        };
+    }
+}
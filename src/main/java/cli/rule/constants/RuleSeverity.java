@@ -1,5 +1,13 @@
 package cli.rule.constants;
 
 public enum RuleSeverity {
-    WARNING, ERROR, CRITICAL
+    WARNING, ERROR, CRITICAL;
+
+    /**
+     * @param severity the lowest severity
+     * @return true if this severity is the given one or a higher one
+     */
+    public boolean isAtLeast(RuleSeverity severity) {
+        return compareTo(severity) >= 0;
+    }
 }
@@ -9,6 +9,7 @@ import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
 import cli.rule.Utility;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.ErrorMessage;
 import cli.rule.constants.RuleCategory;
 import cli.rule.constants.RuleSeverity;
@@ -29,7 +30,6 @@ public class CRUDRule implements IRestRule {
     private static final String[] CRUD_OPERATIONS = {"get", "post", "delete", "put", "create",
             "read", "update", "patch", "insert", "select", "fetch", "purge", "retrieve", "add"};
     private static final String PATH_TO_CRUD_DICTIONARY = "/CRUD_words.txt";
-    private final List<Violation> violationList = new ArrayList<>();
     private boolean isActive;
 
     public CRUDRule(boolean isActive) {
@@ -74,6 +74,13 @@ public class CRUDRule implements IRestRule {
      */
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         // Duplicate code --> Refactor --> Code is more often used
         Set<String> paths = new HashSet<>(openAPI.getPaths().keySet());
 
@@ -81,6 +88,8 @@ public class CRUDRule implements IRestRule {
         int totalPaths = paths.size();
         // Every path is split at each segment
         for (String path : paths) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
 
@@ -96,10 +105,9 @@ public class CRUDRule implements IRestRule {
                 if (Utility.getPathSegmentContained(segment, PATH_TO_CRUD_DICTIONARY))
                     continue;
                 // The segment is checked if it contains a CRUD operation
-                checkCRUDInSegment(segment, path);
+                checkCRUDInSegment(segment, path, sink);
             }
         }
-        return this.violationList;
     }
 
     /**
@@ -107,12 +115,13 @@ public class CRUDRule implements IRestRule {
      *
      * @param segment the currently examined segment
      * @param path the whole request path
+     * @param sink receives the violation
      */
-    private void checkCRUDInSegment(String segment, String path) {
+    private void checkCRUDInSegment(String segment, String path, ViolationSink sink) {
         for (String crudOperation : CRUD_OPERATIONS) {
             if (segment.toLowerCase().contains(crudOperation)) {
-                this.violationList.add(new Violation(this,
-                        RestAnalyzer.locMapper.getLOCOfPath(path),
+                sink.accept(new Violation(this,
+                        RestAnalyzer.getLocMapper().getLOCOfPath(path),
                         "URIS should not be " + "used " + "to " + "indicate that a CRUD function ("
                                 + crudOperation.toUpperCase() + ") is " + "performed, "
                                 + "instead HTTP request methods should be used for this.",
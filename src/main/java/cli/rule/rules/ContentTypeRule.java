@@ -1,8 +1,10 @@
 package cli.rule.rules;
 
 import cli.analyzer.RestAnalyzer;
+import cli.rule.ComponentIndex;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import cli.utility.Output;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -14,11 +16,8 @@ import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Implementation of the rule: Content-Type must be used.
@@ -30,16 +29,14 @@ public class ContentTypeRule implements IRestRule {
     private static final RuleSeverity SEVERITY = RuleSeverity.CRITICAL;
     private static final List<RuleSoftwareQualityAttribute> SOFTWARE_QUALITY_ATTRIBUTE = Arrays
             .asList(RuleSoftwareQualityAttribute.USABILITY, RuleSoftwareQualityAttribute.COMPATIBILITY);
-    private static final String GET_OPERATION = "GET";
-    private static final String POST_OPERATION = "POST";
-    private static final String PUT_OPERATION = "PUT";
-    private static final String PATCH_OPERATION = "PATCH";
-    private static final String DELETE_OPERATION = "DELETE";
-
-    private final List<Violation> violationList = new ArrayList<>();
-    private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-
-    private OpenAPI openAPI;
+    private static final Set<PathItem.HttpMethod> OPERATIONS_WITH_REQUEST_BODY = EnumSet.of(PathItem.HttpMethod.POST,
+            PathItem.HttpMethod.PUT, PathItem.HttpMethod.PATCH);
+    // responses to these operations usually only consist of headers
+    private static final Set<PathItem.HttpMethod> OPERATIONS_WITHOUT_RESPONSE_CONTENT = EnumSet
+            .of(PathItem.HttpMethod.HEAD, PathItem.HttpMethod.OPTIONS);
+
+    private ComponentIndex componentIndex;
+    private ViolationSink sink;
     private String pathName;
     private boolean isActive;
 
@@ -86,12 +83,22 @@ public class ContentTypeRule implements IRestRule {
      */
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
-        this.openAPI = openAPI;
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
+        this.sink = sink;
+        this.componentIndex = RestAnalyzer.getComponentIndex(openAPI);
         Paths paths = openAPI.getPaths();
 
         int curPath = 1;
         int totalPaths = paths.size();
         for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
             this.pathName = path.getKey();
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
@@ -99,68 +106,25 @@ public class ContentTypeRule implements IRestRule {
             checkParameter(parameters, "path");
             checkContentType(path.getValue());
         }
-        return this.violationList;
     }
 
     /**
-     * Checks for operations defined for the path. GET and DELETE should not have
-     * request bodies --> only responses
-     * need to be checked if content type is defined. POST, PUT and PATCH should
-     * have request bodies --> request body
-     * and responses need the content type defined
+     * Checks for operations defined for the path. GET, DELETE, HEAD, OPTIONS and
+     * TRACE should not have request bodies --> only responses need to be checked if
+     * content type is defined; responses to HEAD and OPTIONS have no content. POST, PUT
+     * and PATCH should have request bodies --> request body and responses need the
+     * content type defined
      *
      * @param path current path to check
      */
     private void checkContentType(PathItem path) {
-        Operation getOp = path.getGet();
-        Operation deleteOp = path.getDelete();
-        Operation postOp = path.getPost();
-        Operation putOp = path.getPut();
-        Operation patchOp = path.getPatch();
-
-        ApiResponses responses;
-        RequestBody requestBody;
-        List<Parameter> parameters;
-
-        if (getOp != null) {
-            responses = getOp.getResponses();
-            parameters = getOp.getParameters();
-            checkParameter(parameters, GET_OPERATION + "-operation");
-            examineResponses(responses, GET_OPERATION);
-        }
-
-        if (deleteOp != null) {
-            parameters = deleteOp.getParameters();
-            checkParameter(parameters, DELETE_OPERATION + "-operation");
-            responses = deleteOp.getResponses();
-            examineResponses(responses, DELETE_OPERATION);
-        }
-
-        if (postOp != null) {
-            parameters = postOp.getParameters();
-            checkParameter(parameters, POST_OPERATION + "-operation");
-            responses = postOp.getResponses();
-            examineResponses(responses, POST_OPERATION);
-            requestBody = postOp.getRequestBody();
-            examineRequestBody(requestBody, POST_OPERATION);
-        }
-
-        if (putOp != null) {
-            parameters = putOp.getParameters();
-            checkParameter(parameters, PUT_OPERATION + "-operation");
-            responses = putOp.getResponses();
-            examineResponses(responses, PUT_OPERATION);
-            requestBody = putOp.getRequestBody();
-            examineRequestBody(requestBody, PUT_OPERATION);
-        }
-
-        if (patchOp != null) {
-            parameters = patchOp.getParameters();
-            checkParameter(parameters, PATCH_OPERATION + "-operation");
-            responses = patchOp.getResponses();
-            examineResponses(responses, PATCH_OPERATION);
-            requestBody = patchOp.getRequestBody();
-            examineRequestBody(requestBody, PATCH_OPERATION);
+        for (Entry<PathItem.HttpMethod, Operation> operation : path.readOperationsMap().entrySet()) {
+            String method = operation.getKey().name();
+            checkParameter(operation.getValue().getParameters(), method + "-operation");
+            if (!OPERATIONS_WITHOUT_RESPONSE_CONTENT.contains(operation.getKey()))
+                examineResponses(operation.getValue().getResponses(), method);
+            if (OPERATIONS_WITH_REQUEST_BODY.contains(operation.getKey()))
+                examineRequestBody(operation.getValue().getRequestBody(), method);
         }
     }
 
@@ -185,7 +149,7 @@ public class ContentTypeRule implements IRestRule {
 
             // No content and no reference to components defined
             if (emptyContent && response.getValue().get$ref() == null) {
-                this.violationList.add(getResponseContentTypeViolation(response.getKey(), operation));
+                this.sink.accept(getResponseContentTypeViolation(response.getKey(), operation));
             }
             // No content but ref to components
             else if (emptyContent && response.getValue().get$ref() != null) {
@@ -195,21 +159,14 @@ public class ContentTypeRule implements IRestRule {
 
                 // Check if in responses defined (needs this structure)
                 if (!ref.endsWith("/components/responses/" + refLastIndex)) {
-                    this.violationList
-                            .add(getResponseContentTypeRefViolation(refLastIndex, response.getKey(), operation));
+                    this.sink.accept(getResponseContentTypeRefViolation(refLastIndex, response.getKey(), operation));
                     continue;
                 }
 
                 // Checks if ref has content type defined. If again ref to another component -->
                 // violation
-                Map<String, ApiResponse> compResponses = this.openAPI.getComponents().getResponses();
-
-                if (compResponses != null)
-                    checkContentTypeInRefs(compResponses, refLastIndex,
-                            getResponseContentTypeRefViolation(refLastIndex, response.getKey(), operation));
-                else
-                    this.violationList
-                            .add(getResponseContentTypeRefViolation(refLastIndex, response.getKey(), operation));
+                if (!this.componentIndex.hasResponseContent(refLastIndex))
+                    this.sink.accept(getResponseContentTypeRefViolation(refLastIndex, response.getKey(), operation));
             }
         }
     }
@@ -230,7 +187,7 @@ public class ContentTypeRule implements IRestRule {
 
         // No content type defined in response body and no ref to components
         if (emptyContent && requestBody.get$ref() == null)
-            this.violationList.add(getRequestBodyContentTypeViolation(operation));
+            this.sink.accept(getRequestBodyContentTypeViolation(operation));
         // No content but ref to components
         else if (emptyContent && requestBody.get$ref() != null) {
             // Ref to content type
@@ -239,17 +196,13 @@ public class ContentTypeRule implements IRestRule {
 
             // Check if in request bodies defined (needs this structure)
             if (!ref.endsWith("/components/requestBodies/" + refLastIndex)) {
-                this.violationList.add(getRequestBodyContentTypeRefViolation(refLastIndex, operation));
+                this.sink.accept(getRequestBodyContentTypeRefViolation(refLastIndex, operation));
                 return;
             }
 
             // Check if content type defined in components (ref exists)
-            Map<String, RequestBody> compRequestBodies = this.openAPI.getComponents().getRequestBodies();
-            if (!compRequestBodies.isEmpty())
-                checkContentTypeInRefs(compRequestBodies, refLastIndex,
-                        getRequestBodyContentTypeRefViolation(refLastIndex, operation));
-            else
-                this.violationList.add(getRequestBodyContentTypeRefViolation(refLastIndex, operation));
+            if (!this.componentIndex.hasRequestBodyContent(refLastIndex))
+                this.sink.accept(getRequestBodyContentTypeRefViolation(refLastIndex, operation));
         }
     }
 
@@ -263,7 +216,7 @@ public class ContentTypeRule implements IRestRule {
             boolean emptyContent = (parameter.getSchema() == null);
 
             if (emptyContent && parameter.get$ref() == null) {
-                this.violationList.add(getParameterContentTypeViolation(pathLevel));
+                this.sink.accept(getParameterContentTypeViolation(pathLevel));
             } else if (emptyContent && parameter.get$ref() != null) {
                 // Ref to content type
                 String ref = parameter.get$ref();
@@ -271,113 +224,24 @@ public class ContentTypeRule implements IRestRule {
 
                 // Check if in request bodies defined (needs this structure)
                 if (!ref.endsWith("/parameters/" + refLastIndex)) {
-                    System.out.println("ref err: " + ref);
-                    this.violationList.add(getParameterContentTypeRefViolation(refLastIndex,
+                    this.sink.accept(getParameterContentTypeRefViolation(refLastIndex,
                             pathLevel));
                     return;
                 }
 
                 // Check if content type defined in components (ref exists)
-                Map<String, Parameter> compParameters = this.openAPI.getComponents().getParameters();
-                if (!compParameters.isEmpty())
-                    checkSchemaInRefs(compParameters, refLastIndex,
-                            getParameterContentTypeRefViolation(refLastIndex, pathLevel));
-                else {
-                    System.out.println("ref err ende: " + ref);
-                    this.violationList.add(getParameterContentTypeRefViolation(refLastIndex,
+                if (!this.componentIndex.hasParameterSchema(refLastIndex))
+                    this.sink.accept(getParameterContentTypeRefViolation(refLastIndex,
                             pathLevel));
-                }
-            }
-        }
-    }
-
-    /**
-     * Checks if the ref has a content type defined.
-     *
-     * @param component        ApiResponse or RequestBody component of openAPI
-     *                         definition
-     * @param refLastIndex     the last index of the ref (../xyz)
-     * @param violation        the violation that is added if no content type is
-     *                         defined
-     */
-    private void checkContentTypeInRefs(Map<String, ?> component, String refLastIndex, Violation violation) {
-        boolean refFound = false;
-        for (Entry<String, ?> comp : component.entrySet()) {
-            // Ref found --> further checks if content type defined
-            if (comp.getKey().equals(refLastIndex))
-                refFound = true;
-            else
-                continue;
-
-            Object content;
-            Object value = comp.getValue();
-            try {
-                // Call comp.getValue().getContent()
-                content = value.getClass().getMethod("getContent").invoke(value);
-
-                // Check comp.getValue().getContent() is null or empty (second term)
-                if (content == null || (boolean) content.getClass().getMethod("isEmpty").invoke(content)) {
-                    System.out.println("ref err ganz ende: " + refLastIndex);
-                    System.out.println("ref value: " + comp.getValue());
-                    this.violationList.add(violation);
-                }
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                    | NoSuchMethodException | SecurityException e) {
-                logger.log(Level.SEVERE, "Exception when accessing the content in refs: {0}", e.getMessage());
-            }
-        }
-        // Ref not found --> Invalid ref path defined in response or request body
-        if (!refFound) {
-            this.violationList.add(violation);
-        }
-    }
-
-    /**
-     * Checks if the ref has a content type defined.
-     *
-     * @param component        ApiResponse or RequestBody component of openAPI
-     *                         definition
-     * @param refLastIndex     the last index of the ref (../xyz)
-     * @param violation        the violation that is added if no content type is
-     *                         defined
-     */
-    private void checkSchemaInRefs(Map<String, ?> component, String refLastIndex, Violation violation) {
-        boolean refFound = false;
-        for (Entry<String, ?> comp : component.entrySet()) {
-            // Ref found --> further checks if content type defined
-            if (comp.getKey().equals(refLastIndex))
-                refFound = true;
-            else
-                continue;
-
-            Object schema;
-            Object value = comp.getValue();
-            try {
-                // Call comp.getValue().getContent()
-                schema = value.getClass().getMethod("getSchema").invoke(value);
-
-                // Check comp.getValue().getContent() is null or empty (second term)
-                if (schema == null) {
-                    System.out.println("ref err ganz ende: " + refLastIndex);
-                    System.out.println("ref value: " + comp.getValue());
-                    this.violationList.add(violation);
-                }
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                    | NoSuchMethodException | SecurityException e) {
-                logger.log(Level.SEVERE, "Exception when accessing the content in refs: {0}", e.getMessage());
             }
         }
-        // Ref not found --> Invalid ref path defined in response or request body
-        if (!refFound) {
-            this.violationList.add(violation);
-        }
     }
 
     private Violation getParameterContentTypeViolation(String pathLevel) {
         String improvementSuggestion = String.format(
                 "Specify content type of parameter in the %s, because clients and servers rely on the value of this header to know how to process the sequence of bytes in the message body.",
                 pathLevel);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
                 ErrorMessage.CONTENT_TYPE);
     }
 
@@ -385,7 +249,7 @@ public class ContentTypeRule implements IRestRule {
         String improvementSuggestion = String.format(
                 "Define content of path parameters in refs in /parameters/%s or directly in the path in the %s operation.",
                 refLastIndex, pathLevel);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
                 ErrorMessage.CONTENT_TYPE);
     }
 
@@ -393,7 +257,7 @@ public class ContentTypeRule implements IRestRule {
         String improvementSuggestion = String.format(
                 "Specify content type in request body in the %s operation, because clients and servers rely on the value of this header to know how to process the sequence of bytes in the message body.",
                 operation);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion,
                 this.pathName, ErrorMessage.CONTENT_TYPE);
     }
 
@@ -401,7 +265,7 @@ public class ContentTypeRule implements IRestRule {
         String improvementSuggestion = String.format(
                 "Define content of request bodies in refs in /requestBodies/%s or directly in the request body in the %s operation.",
                 refLastIndex, operation);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion, this.pathName,
                 ErrorMessage.CONTENT_TYPE);
     }
 
@@ -409,7 +273,7 @@ public class ContentTypeRule implements IRestRule {
         String improvementSuggestion = String.format(
                 "Specify content type in %s response in %s operation, because clients and servers rely on the value of this header to know how to process the sequence of bytes in the message body.",
                 statusCode, operation);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion,
                 this.pathName, ErrorMessage.CONTENT_TYPE);
     }
 
@@ -417,7 +281,7 @@ public class ContentTypeRule implements IRestRule {
         String improvementSuggestion = String.format(
                 "Define content of responses in refs in /responses/%s or directly in the %s response in %s operation.",
                 refLastIndex, statusCode, operation);
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(this.pathName), improvementSuggestion,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(this.pathName), improvementSuggestion,
                 this.pathName, ErrorMessage.CONTENT_TYPE);
     }
 }
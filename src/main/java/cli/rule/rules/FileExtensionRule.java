@@ -1,17 +1,14 @@
 package cli.rule.rules;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.logging.Logger;
 import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
+import cli.rule.Utility;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.ErrorMessage;
 import cli.rule.constants.RuleCategory;
 import cli.rule.constants.RuleSeverity;
@@ -26,8 +23,6 @@ public class FileExtensionRule implements IRestRule {
     private static final RuleSeverity SEVERITY = RuleSeverity.ERROR;
     private static final List<RuleSoftwareQualityAttribute> SOFTWARE_QUALITY_ATTRIBUTES =
             List.of(RuleSoftwareQualityAttribute.MAINTAINABILITY);
-    private static final List<Violation> violationList = new ArrayList<>();
-    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     private boolean isActive;
 
@@ -73,11 +68,22 @@ public class FileExtensionRule implements IRestRule {
      */
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         Set<String> paths = new HashSet<>(openAPI.getPaths().keySet());
+        // File that contains about 838 file extensions; it is only read once per JVM
+        List<String> fileExtensions = Utility.getResourceLines(PATH_TO_FILE_EXTENSIONS);
 
         int curPath = 1;
         int totalPaths = paths.size();
         for (String path : paths) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             String[] segments = path.split("/");
@@ -85,28 +91,19 @@ public class FileExtensionRule implements IRestRule {
                 String segmentWithoutParameters =
                         segment.replaceAll("\\{" + ".*" + "\\}", "").toUpperCase();
 
-                // Reads file that contains about 838 file extensions
-                try (InputStream is = this.getClass().getResourceAsStream(PATH_TO_FILE_EXTENSIONS);
-                        BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-                    String line;
-                    while ((line = br.readLine()) != null) {
-                        // Stops when one violation is found --> rest of extensions are not checked
-                        if (segmentWithoutParameters.endsWith("." + line.toUpperCase())) {
-                            violationList.add(new Violation(this,
-                                    RestAnalyzer.locMapper.getLOCOfPath(path),
-                                    "To indicate the format " + "of a message's entity body ("
-                                            + line + ") rely on the "
-                                            + "media type inside the Content-Type header.",
-                                    path, ErrorMessage.FILE_EXTENSION));
-                            break;
-                        }
+                for (String line : fileExtensions) {
+                    // Stops when one violation is found --> rest of extensions are not checked
+                    if (segmentWithoutParameters.endsWith("." + line.toUpperCase())) {
+                        sink.accept(new Violation(this,
+                                RestAnalyzer.getLocMapper().getLOCOfPath(path),
+                                "To indicate the format " + "of a message's entity body ("
+                                        + line + ") rely on the "
+                                        + "media type inside the Content-Type header.",
+                                path, ErrorMessage.FILE_EXTENSION));
+                        break;
                     }
-                } catch (IOException e) {
-                    logger.severe(
-                            "Error on trying to read the file extension file: " + e.getMessage());
                 }
             }
         }
-        return violationList;
     }
 }
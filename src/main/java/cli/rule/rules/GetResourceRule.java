@@ -3,6 +3,7 @@ package cli.rule.rules;
 import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import cli.utility.Output;
 
@@ -69,7 +70,13 @@ public class GetResourceRule implements IRestRule {
 
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
-        List<Violation> violationList = new ArrayList<>();
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
 
         //collect necessary data
         Paths paths = openAPI.getPaths();
@@ -77,6 +84,8 @@ public class GetResourceRule implements IRestRule {
         int curPath = 1;
         int totalPaths = paths.keySet().size();
         for (Map.Entry<String, PathItem> entry : paths.entrySet()) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             
@@ -90,15 +99,13 @@ public class GetResourceRule implements IRestRule {
 
             //check request for request body
             Violation violation = checkForRequestBody(getRequest, path);
-            if (violation != null) violationList.add(violation);
+            if (violation != null) sink.accept(violation);
 
             //check request for missing response representation
             violation = checkForValidResponse(getRequest, path);
-            if (violation != null) violationList.add(violation);
+            if (violation != null) sink.accept(violation);
 
         }
-
-        return violationList;
     }
 
     /**
@@ -112,7 +119,7 @@ public class GetResourceRule implements IRestRule {
     private Violation checkForRequestBody(Operation getRequest, String path) {
         if (getRequest.getRequestBody() == null) return null;
         //Get requests should not have a request body
-        return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE_REQUEST_BODY,
+        return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE_REQUEST_BODY,
                 path, ErrorMessage.GET_RESOURCE_REQUEST_BODY);
     }
 
@@ -133,17 +140,17 @@ public class GetResourceRule implements IRestRule {
         //Checks if a HTTP 200 response or a default response definition exists
         if (okResponse != null) {
             if ((okResponse.getContent() == null || okResponse.getContent().isEmpty()) && okResponse.get$ref() == null ) {
-                return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE, path,
+                return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE, path,
                         ErrorMessage.GET_RESOURCE);
             }
         } else if (defaultResponse != null) {
             if ((defaultResponse.getContent() == null || defaultResponse.getContent().isEmpty()) && defaultResponse.get$ref() == null) {
-                return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE, path,
+                return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path), ImprovementSuggestion.GET_RESOURCE, path,
                         ErrorMessage.GET_RESOURCE);
             }
         } else {
             //if there is no response for HTTP 200 or default case
-            return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path),
+            return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path),
                     ImprovementSuggestion.GET_RESOURCE_MISSING_RESPONSE, path,
                     ErrorMessage.GET_RESOURCE_MISSING_RESPONSE);
         }
@@ -4,13 +4,15 @@ import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.utility.Output;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import static cli.analyzer.RestAnalyzer.locMapper;
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+import static cli.analyzer.RestAnalyzer.getLocMapper;
 
 public class LowercaseRule implements IRestRule {
 
@@ -65,17 +67,24 @@ public class LowercaseRule implements IRestRule {
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
         List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
 
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         // Get the paths from the OpenAPI object
         Set<String> paths = openAPI.getPaths().keySet();
 
         if (paths.isEmpty())
-            return violations;
+            return;
 
         int curPath = 1;
         int totalPaths = paths.size();
         // Loop through the paths
         for (String path : paths) {
+            if (getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             if (path.trim().equals(""))
@@ -86,12 +95,10 @@ public class LowercaseRule implements IRestRule {
             String pathWithoutParametersLowerCase = pathWithoutParameters.toLowerCase();
             // Check if the path contains only lowercase letters
             if (!pathWithoutParametersLowerCase.equals(pathWithoutParameters)) {
-                violations.add(new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.LOWERCASE, path,
+                sink.accept(new Violation(this, getLocMapper().getLOCOfPath(path), ImprovementSuggestion.LOWERCASE, path,
                         ErrorMessage.LOWERCASE));
             }
 
         }
-
-        return violations;
     }
 }
@@ -3,12 +3,17 @@ package cli.rule.rules;
 import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
 import cli.rule.IRestRule;
+import cli.rule.ResourceTree;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.utility.Output;
 
 import java.util.*;
 
-import static cli.analyzer.RestAnalyzer.locMapper;
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+import static cli.analyzer.RestAnalyzer.getLocMapper;
+import static cli.analyzer.RestAnalyzer.getPathSegments;
+import static cli.analyzer.RestAnalyzer.getResourceTree;
 import static cli.rule.Utility.*;
 
 public class PluralNameRule implements IRestRule {
@@ -55,88 +60,122 @@ public class PluralNameRule implements IRestRule {
         this.isActive = isActive;
     }
 
+    @Override
+    public boolean supportsSampling() {
+        return true;
+    }
+
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
         List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
 
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         // Get the paths from the OpenAPI object
         Set<String> paths = openAPI.getPaths().keySet();
 
         if (paths.isEmpty())
-            return violations;
+            return;
         // Loop through the paths
-        return getLstViolations(violations, paths);
+        getLstViolations(sink, openAPI, paths);
     }
 
-    private List<Violation> getLstViolations(List<Violation> violations, Set<String> paths) {
+    private void getLstViolations(ViolationSink sink, OpenAPI openAPI, Set<String> paths) {
         int curPath = 1;
         int totalPaths = paths.size();
+        // The alternation is carried down the tree of the path segments, so a prefix shared by several paths is only
+        // checked once.
+        Map<String, AlternationState> pathStates = getResourceTree(openAPI).getPathStates(AlternationState.UNCHECKED,
+                this::getNextState);
         for (String path : paths) {
             Output.progressPercentage(curPath, totalPaths);
             if (path.trim().equals(""))
                 continue;
-            // Get the path without the curly braces
-            String[] pathSegments = path.split("/");
-            // Extract path segments based on / char and check if there are violations
-            Violation violation = getLstViolationsFromPathSegments(path, pathSegments);
-            if (violation != null)
-                violations.add(violation);
+            AlternationState state = pathStates.get(path);
+            if (state.violatingPathSegment != null)
+                sink.accept(new Violation(this, getLocMapper().getLOCOfPath(path), state.improvementSuggestion, path,
+                        ErrorMessage.PLURAL_NAME + WITH_PATH_SEGMENT + state.violatingPathSegment));
 
             curPath++;
 
         }
-        return violations;
     }
 
-    private Violation getLstViolationsFromPathSegments(String path, String[] pathSegments) {
-        String firstPathSegment = "";
-        List<String> listPathSegments = new ArrayList<>(List.of(pathSegments));
-        listPathSegments.removeAll(Arrays.asList("", null));
-        listPathSegments.removeAll(Arrays.asList(" ", null));
-        // Check if a path is starting with a plural or singular word.
-        if (!listPathSegments.isEmpty())
-            firstPathSegment = listPathSegments.get(0).trim().toLowerCase();
-        // Set the switch based on the firstPathSegment. We need to see if a path has
-        // the form singular/plural/singular.. or plural/singular/plural.. based on the
-        // firstPathSegment
-        String initialToken = getTokenNLP(firstPathSegment);
-        if (initialToken == null)
-            return null;
-        String switchPathSegment = getTokenFromWord(initialToken);
-
-        for (String pathSegment : listPathSegments) {
-            if (listPathSegments.get(0).equals(pathSegment))
-                continue;
-            if (pathSegment.isEmpty())
-                continue;
-            // If a pathSegment contains a curly brace, it is a parameter, and we don't need
-            // to check it. But we know that such a pathSegment is automatically singular.
-            // In this case is important to see if the previous switchPathSegment is plural
-            // or singular. If was singular,and we have a pathSegment with curly braces,
-            // then we have a violation because singular/singular path.
-            if (pathSegment.contains("{") && switchPathSegment.equals(SingularDocumentNameRule.SINGULAR)) {
-                return new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.SINGULAR_DOCUMENT_NAME,
-                        path, ErrorMessage.PLURAL_NAME + WITH_PATH_SEGMENT + pathSegment);
-            } else if (pathSegment.contains("{") && switchPathSegment.equals(SingularDocumentNameRule.PLURAL)) {
-                // Switch to plural because the curly brace pathSegment is singular and the
-                // previous pathSegment was
-                // plural.
-                switchPathSegment = SingularDocumentNameRule.SINGULAR;
-                continue;
-            }
-            // Get singular or plural based on the token
-            String token = getTokenNLP(pathSegment);
-            String currentSwitchPathSegment = getTokenFromWord(token);
-            // If the word is singular but the current switchPathSegment is plural, then we
-            // have a violation.
-            if (switchPathSegment.equals(SingularDocumentNameRule.SINGULAR) && currentSwitchPathSegment.equals(SingularDocumentNameRule.SINGULAR)) {
-                return new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.PLURAL_NAME, path,
-                        ErrorMessage.PLURAL_NAME + WITH_PATH_SEGMENT + pathSegment);
-            }
-
-            switchPathSegment = getControlPathSegmentForRule(switchPathSegment.equals(SingularDocumentNameRule.PLURAL));
+    private AlternationState getNextState(AlternationState state, ResourceTree.Node node) {
+        // The paths below a node that is reached after the rule was stopped are not checked.
+        if (getCancellationToken().isCancelled())
+            return AlternationState.UNCHECKED;
+        String pathSegment = node.getSegment();
+        if (node.isFirstSegment()) {
+            // Set the switch based on the firstPathSegment. We need to see if a path has
+            // the form singular/plural/singular.. or plural/singular/plural.. based on the
+            // firstPathSegment
+            String initialToken = getPathSegments().getTokenNLP(pathSegment.trim().toLowerCase());
+            if (initialToken == null)
+                return AlternationState.UNCHECKED;
+            return new AlternationState(pathSegment, getTokenFromWord(initialToken), null, null);
+        }
+        // Nothing to check below a path segment with a violation or below a path that is not checked.
+        if (state.switchPathSegment == null || state.violatingPathSegment != null)
+            return state;
+        if (state.firstPathSegment.equals(pathSegment))
+            return state;
+        if (pathSegment.isEmpty())
+            return state;
+        // If a pathSegment contains a curly brace, it is a parameter, and we don't need
+        // to check it. But we know that such a pathSegment is automatically singular.
+        // In this case is important to see if the previous switchPathSegment is plural
+        // or singular. If was singular,and we have a pathSegment with curly braces,
+        // then we have a violation because singular/singular path.
+        if (pathSegment.contains("{") && state.switchPathSegment.equals(SingularDocumentNameRule.SINGULAR)) {
+            return state.violation(ImprovementSuggestion.SINGULAR_DOCUMENT_NAME, pathSegment);
+        } else if (pathSegment.contains("{") && state.switchPathSegment.equals(SingularDocumentNameRule.PLURAL)) {
+            // Switch to plural because the curly brace pathSegment is singular and the
+            // previous pathSegment was
+            // plural.
+            return state.next(SingularDocumentNameRule.SINGULAR);
+        }
+        // Get singular or plural based on the token
+        String token = getPathSegments().getTokenNLP(pathSegment);
+        String currentSwitchPathSegment = getTokenFromWord(token);
+        // If the word is singular but the current switchPathSegment is plural, then we
+        // have a violation.
+        if (state.switchPathSegment.equals(SingularDocumentNameRule.SINGULAR) && currentSwitchPathSegment.equals(SingularDocumentNameRule.SINGULAR)) {
+            return state.violation(ImprovementSuggestion.PLURAL_NAME, pathSegment);
+        }
+
+        return state.next(getControlPathSegmentForRule(state.switchPathSegment.equals(SingularDocumentNameRule.PLURAL)));
+    }
+
+    /**
+     * The alternation of singular and plural from the first path segment up to a path segment.
+     */
+    private static final class AlternationState {
+        // the path is not checked, e.g. because the first path segment has no token
+        private static final AlternationState UNCHECKED = new AlternationState(null, null, null, null);
+        private final String firstPathSegment;
+        private final String switchPathSegment;
+        private final String violatingPathSegment;
+        private final String improvementSuggestion;
+
+        private AlternationState(String firstPathSegment, String switchPathSegment, String violatingPathSegment,
+                String improvementSuggestion) {
+            this.firstPathSegment = firstPathSegment;
+            this.switchPathSegment = switchPathSegment;
+            this.violatingPathSegment = violatingPathSegment;
+            this.improvementSuggestion = improvementSuggestion;
+        }
+
+        private AlternationState next(String nextSwitchPathSegment) {
+            return new AlternationState(this.firstPathSegment, nextSwitchPathSegment, null, null);
+        }
+
+        private AlternationState violation(String suggestion, String pathSegment) {
+            return new AlternationState(this.firstPathSegment, this.switchPathSegment, pathSegment, suggestion);
         }
-        return null;
     }
 
 }
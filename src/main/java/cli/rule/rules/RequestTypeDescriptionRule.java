@@ -3,15 +3,18 @@ package cli.rule.rules;
 import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import cli.weka.RequestMethodsWekaClassifier;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 public class RequestTypeDescriptionRule implements IRestRule {
     static final String TITLE = "Description of request should match with the type of the request.";
@@ -20,7 +23,7 @@ public class RequestTypeDescriptionRule implements IRestRule {
     static final List<RuleSoftwareQualityAttribute> SOFTWARE_QUALITY_ATTRIBUTES = List.of(RuleSoftwareQualityAttribute.MAINTAINABILITY);
     private static final String IMPROVEMNT_SUB_STRING = " The request should be of type: ";
     private boolean isActive;
-    final String MODEL = "/models/request_model.dat";
+    public static final String MODEL = "/models/request_model.dat";
 
     public RequestTypeDescriptionRule(boolean isActive) {
         this.isActive = isActive;
@@ -56,67 +59,93 @@ public class RequestTypeDescriptionRule implements IRestRule {
         this.isActive = isActive;
     }
 
+    @Override
+    public boolean supportsSampling() {
+        return true;
+    }
+
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         RequestMethodsWekaClassifier wt = new RequestMethodsWekaClassifier();
         wt.loadModel(MODEL);
-        List<Violation> violations = new ArrayList<>();
 
         // Get the paths from the OpenAPI object
-        Set<String> paths = openAPI.getPaths().keySet();
-        Paths pathsTest = openAPI.getPaths();
-
-        if (paths.isEmpty()) return violations;
-        pathsTest.values().forEach(pathItem -> {
-            String keyPath = pathsTest.keySet().stream().filter(key -> pathsTest.get(key).equals(pathItem)).findFirst().get();
-            if(pathItem.getGet() != null){
-                String description = pathItem.getGet().getDescription();
-                String summary = pathItem.getGet().getSummary();
-                if(summary != null && !summary.isEmpty()){
-                   getViolationGetRequest(wt, keyPath, summary, ErrorMessage.REQUESTTYPETUNNELINGGET, "get", ImprovementSuggestion.REQUESTTYPEGET, true, violations);
-                }else if (description != null && !description.isEmpty()){
-                    getViolationGetRequest(wt, keyPath, description, ErrorMessage.REQUESTTYPETUNNELINGGET, "get", ImprovementSuggestion.REQUESTTYPEGET, true, violations);
-                }
-
-            }
-            if(pathItem.getPost() != null){
-                String description = pathItem.getPost().getDescription();
-                String summary = pathItem.getPost().getSummary();
-                if(summary != null && !summary.isEmpty()){
-                   getViolationGetRequest(wt, keyPath, summary, ErrorMessage.REQUESTTYPETUNNELINGPOST, "post", ImprovementSuggestion.REQUESTTYPEPOST, true, violations);
-                }else if (description != null && !description.isEmpty()){
-                    getViolationGetRequest(wt, keyPath, description, ErrorMessage.REQUESTTYPETUNNELINGPOST, "post", ImprovementSuggestion.REQUESTTYPEPOST, true, violations);
-                }
-            }
-            if(pathItem.getPut() != null){
-                String description = pathItem.getPut().getDescription();
-                String summary = pathItem.getPut().getSummary();
-                if(summary != null && !summary.isEmpty()){
-                    getViolationGetRequest(wt, keyPath, summary, "", "put", ImprovementSuggestion.REQUESTTYPEPUT, false, violations);
-                }else if (description != null && !description.isEmpty()){
-                    getViolationGetRequest(wt, keyPath, description, "", "put", ImprovementSuggestion.REQUESTTYPEPUT, false, violations);
-                }
-            }
-            if(pathItem.getDelete() != null){
-                String description = pathItem.getDelete().getDescription();
-                String summary = pathItem.getDelete().getSummary();
-                if(summary != null && !summary.isEmpty()){
-                    getViolationGetRequest(wt, keyPath, summary, "", "delete", ImprovementSuggestion.REQUESTTYPEDELETE, false, violations);
-                }else if (description != null && !description.isEmpty()){
-                   getViolationGetRequest(wt, keyPath, description, "", "delete", ImprovementSuggestion.REQUESTTYPEDELETE, false, violations);
-                }
-            }
-        });
+        Paths paths = openAPI.getPaths();
+
+        if (paths.isEmpty()) return;
+        // The texts of all requests are collected first and classified as one job.
+        List<Request> requests = new ArrayList<>();
+        for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
+            String keyPath = path.getKey();
+            PathItem pathItem = path.getValue();
+            addRequest(requests, keyPath, pathItem.getGet(), ErrorMessage.REQUESTTYPETUNNELINGGET, "get", ImprovementSuggestion.REQUESTTYPEGET, true);
+            addRequest(requests, keyPath, pathItem.getPost(), ErrorMessage.REQUESTTYPETUNNELINGPOST, "post", ImprovementSuggestion.REQUESTTYPEPOST, true);
+            addRequest(requests, keyPath, pathItem.getPut(), "", "put", ImprovementSuggestion.REQUESTTYPEPUT, false);
+            addRequest(requests, keyPath, pathItem.getDelete(), "", "delete", ImprovementSuggestion.REQUESTTYPEDELETE, false);
+        }
+        if (requests.isEmpty()) return;
 
-        return violations;
+        List<String> texts = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            texts.add(request.text);
+        }
+        List<ImmutablePair<String, Double>> predictions = wt.predict(texts);
+        for (int i = 0; i < requests.size(); i++) {
+            getViolationGetRequest(requests.get(i), predictions.get(i), sink);
+        }
+    }
+
+    /**
+     * Adds the request of an operation if its summary or else its description can be classified.
+     */
+    private static void addRequest(List<Request> requests, String keyPath, Operation operation, String requestTypeTunnelingType, String requestType, String requestTypeMessage, boolean switchRequestType) {
+        if (operation == null)
+            return;
+        String description = operation.getDescription();
+        String summary = operation.getSummary();
+        if (summary != null && !summary.isEmpty()) {
+            requests.add(new Request(keyPath, summary, requestTypeTunnelingType, requestType, requestTypeMessage, switchRequestType));
+        } else if (description != null && !description.isEmpty()) {
+            requests.add(new Request(keyPath, description, requestTypeTunnelingType, requestType, requestTypeMessage, switchRequestType));
+        }
+    }
+
+    private void getViolationGetRequest(Request request, ImmutablePair<String, Double> predictionValues, ViolationSink sink) {
+        String keyPath = request.keyPath;
+        if ((predictionValues != null && predictionValues.right != null && predictionValues.left != null) && predictionValues.left.equals("invalid") && (predictionValues.right >= 0.75) && request.switchRequestType) {
+            sink.accept(new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(keyPath), ImprovementSuggestion.REQUESTTYPETUNELING, keyPath, request.requestTypeTunnelingType));
+        } else if ((predictionValues != null && predictionValues.right != null && predictionValues.left != null) && !predictionValues.left.equals(request.requestType) && (predictionValues.right >= 0.75)) {
+            sink.accept(new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(keyPath), request.requestTypeMessage + IMPROVEMNT_SUB_STRING + predictionValues.left.toUpperCase(), keyPath, ErrorMessage.REQUESTTYPE));
+        }
     }
 
-    private void getViolationGetRequest(RequestMethodsWekaClassifier wt, String keyPath, String description, String requestTypeTunnelingType, String requestType, String requestTypeMessage, boolean switchRequestType, List<Violation> violations) {
-        ImmutablePair<String, Double> predictionValues = wt.predict(description);
-        if ((predictionValues != null && predictionValues.right != null && predictionValues.left != null) && predictionValues.left.equals("invalid") && (predictionValues.right >= 0.75) && switchRequestType) {
-            violations.add(new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(keyPath), ImprovementSuggestion.REQUESTTYPETUNELING, keyPath, requestTypeTunnelingType));
-        } else if ((predictionValues != null && predictionValues.right != null && predictionValues.left != null) && !predictionValues.left.equals(requestType) && (predictionValues.right >= 0.75)) {
-            violations.add(new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(keyPath), requestTypeMessage + IMPROVEMNT_SUB_STRING + predictionValues.left.toUpperCase(), keyPath, ErrorMessage.REQUESTTYPE));
+    /**
+     * The text of a request that is classified and what is reported if it does not match the type of the request.
+     */
+    private static final class Request {
+        private final String keyPath;
+        private final String text;
+        private final String requestTypeTunnelingType;
+        private final String requestType;
+        private final String requestTypeMessage;
+        private final boolean switchRequestType;
+
+        private Request(String keyPath, String text, String requestTypeTunnelingType, String requestType, String requestTypeMessage, boolean switchRequestType) {
+            this.keyPath = keyPath;
+            this.text = text;
+            this.requestTypeTunnelingType = requestTypeTunnelingType;
+            this.requestType = requestType;
+            this.requestTypeMessage = requestTypeMessage;
+            this.switchRequestType = switchRequestType;
         }
     }
 
@@ -4,13 +4,15 @@ import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.utility.Output;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static cli.analyzer.RestAnalyzer.locMapper;
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+import static cli.analyzer.RestAnalyzer.getLocMapper;
 
 /**
  * RULE: Forward slash separator (/) must be used to indicate a hierarchical
@@ -67,6 +69,11 @@ public class SeparatorRule implements IRestRule {
         return checkSeparator(paths);
     }
 
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
+        checkSeparator(openAPI.getPaths().keySet(), sink);
+    }
+
     /**
      * checks a given path for potential rule violations
      *
@@ -74,35 +81,40 @@ public class SeparatorRule implements IRestRule {
      * @return
      */
     public List<Violation> checkSeparator(Set<String> pathList) {
-
         List<Violation> violationList = new ArrayList<>();
+        checkSeparator(pathList, violationList::add);
+        return violationList;
+    }
+
+    private void checkSeparator(Set<String> pathList, ViolationSink sink) {
         // expected Pattern
         Pattern expectedPattern = Pattern.compile("^(\\/((\\{[^\\/{}\\(\\)\\[\\]]+\\})|[-a-zA-Z0-9@%_\\+~&=]+))+\\/?$");
 
         int curPath = 1;
         int totalPaths = pathList.size();
         for (String path : pathList) {
+            if (getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
 
             Matcher matcher = expectedPattern.matcher(path);
 
-            int currentSize = violationList.size();
             // check if path has expected format
             if (!matcher.find()) {
 
                 // find illegal separators
-                violationList.addAll(findInvalidSeparators(path));
+                List<Violation> invalidSeparators = findInvalidSeparators(path);
+                invalidSeparators.forEach(sink::accept);
 
                 // unknown case:
-                Violation unknownCase = catchUnknownCase(currentSize, violationList.size(), path);
+                Violation unknownCase = catchUnknownCase(0, invalidSeparators.size(), path);
                 if (unknownCase != null) {
-                    violationList.add(unknownCase);
+                    sink.accept(unknownCase);
                 }
 
             }
         }
-        return violationList;
     }
 
     /**
@@ -183,7 +195,7 @@ public class SeparatorRule implements IRestRule {
                     String suggestion = "replace '" + c
                             + "' with a forward slash '/' to indicate a hierarchical relationship";
 
-                    violationList.add(new Violation(this, locMapper.getLOCOfPath(path), suggestion, path,
+                    violationList.add(new Violation(this, getLocMapper().getLOCOfPath(path), suggestion, path,
                             ErrorMessage.SEPARATOR));
 
                 }
@@ -205,10 +217,10 @@ public class SeparatorRule implements IRestRule {
         if (violationListSize == currentSize) {
             // check for '?' and '#' as they are illegal in paths
             if (path.contains("#") || path.contains("?")) {
-                return new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.SEPARATOR, path,
+                return new Violation(this, getLocMapper().getLOCOfPath(path), ImprovementSuggestion.SEPARATOR, path,
                         ErrorMessage.SEPARATOR);
             } else {
-                return new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.SEPARATOR_UNKNOWN, path,
+                return new Violation(this, getLocMapper().getLOCOfPath(path), ImprovementSuggestion.SEPARATOR_UNKNOWN, path,
                         ErrorMessage.SEPARATOR);
             }
 
@@ -4,12 +4,17 @@ import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
 
 import cli.rule.IRestRule;
+import cli.rule.ResourceTree;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.utility.Output;
 
 import java.util.*;
 
-import static cli.analyzer.RestAnalyzer.locMapper;
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+import static cli.analyzer.RestAnalyzer.getLocMapper;
+import static cli.analyzer.RestAnalyzer.getPathSegments;
+import static cli.analyzer.RestAnalyzer.getResourceTree;
 import static cli.rule.Utility.*;
 
 public class SingularDocumentNameRule implements IRestRule {
@@ -57,6 +62,11 @@ public class SingularDocumentNameRule implements IRestRule {
         this.isActive = isActive;
     }
 
+    @Override
+    public boolean supportsSampling() {
+        return true;
+    }
+
     /**
      * Rule to check if the path segments could contain more than one word, if so
      * there is a violation.
@@ -66,78 +76,99 @@ public class SingularDocumentNameRule implements IRestRule {
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
         List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
 
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         // Get the paths from the OpenAPI object
         Set<String> paths = openAPI.getPaths().keySet();
 
         if (paths.isEmpty())
-            return violations;
+            return;
         // Loop through the paths
-        return getLstViolations(violations, paths);
+        getLstViolations(sink, openAPI, paths);
     }
 
-    private List<Violation> getLstViolations(List<Violation> violations, Set<String> paths) {
+    private void getLstViolations(ViolationSink sink, OpenAPI openAPI, Set<String> paths) {
         int curPath = 1;
         int totalPaths = paths.size();
+        // The alternation is carried down the tree of the path segments, so a prefix shared by several paths is only
+        // checked once.
+        Map<String, AlternationState> pathStates = getResourceTree(openAPI).getPathStates(AlternationState.UNCHECKED,
+                this::getNextState);
         for (String path : paths) {
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             if (path.trim().equals(""))
                 continue;
-            // Get the path without the curly braces
-            String[] pathSegments = path.split("/");
-            // Extract path segments based on / char and check if there are violations
-            Violation violation = getLstViolationsFromPathSegments(path, pathSegments);
-            if (violation != null)
-                violations.add(violation);
+            AlternationState state = pathStates.get(path);
+            if (state.violatingPathSegment != null)
+                sink.accept(new Violation(this, getLocMapper().getLOCOfPath(path), ImprovementSuggestion.SINGULAR_DOCUMENT_NAME,
+                        path, ErrorMessage.SINGULAR_DOCUMENT_NAME + WITH_PATH_SEGMENT + state.violatingPathSegment));
 
         }
-        return violations;
     }
 
-    private Violation getLstViolationsFromPathSegments(String path, String[] pathSegments) {
-        String switchPathSegment = "";
-        String firstPathSegment = "";
-        List<String> listPathSegments = new ArrayList<>(List.of(pathSegments));
-        listPathSegments.removeAll(Arrays.asList("", null));
-        listPathSegments.removeAll(Arrays.asList(" ", null));
-        // Check if a path is starting with a plural or singular word.
-        if (!listPathSegments.isEmpty())
-            firstPathSegment = listPathSegments.get(0).trim().toLowerCase();
-        // Set the switch based on the firstPathSegment. We need to see if a path has
-        // the form singular/plural/singular.. or plural/singular/plural.. based on the
-        // firstPathSegment
-        String initialToken = getTokenNLP(firstPathSegment);
-        if (initialToken == null)
-            return null;
-        switchPathSegment = getTokenFromWord(initialToken);
-
-        for (String pathSegment : listPathSegments) {
-            // Skip the first path segment. It was already controlled.
-            if (listPathSegments.get(0).equals(pathSegment))
-                continue;
-            // If a pathSegment contains a curly brace, it is a parameter, and we don't need
-            // to check it. But we know that such a pathSegment is automatically singular.
-            if (pathSegment.contains("{")) {
-                // Switch to plural because the curly brace pathSegment is singular
-                switchPathSegment = SINGULAR;
-                continue;
-            }
-
-            // Get singular or plural based on the token
-            String token = getTokenNLP(pathSegment);
-            String currentSwitchPathSegment = getTokenFromWord(token);
-            // If the word is plural but the current switchPathSegment is singular, then we
-            // have a violation.
-            if (switchPathSegment.equals(PLURAL) && currentSwitchPathSegment.equals(PLURAL)) {
-                return new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.SINGULAR_DOCUMENT_NAME,
-                        path, ErrorMessage.SINGULAR_DOCUMENT_NAME + WITH_PATH_SEGMENT + pathSegment);
-            }
-            // Change the switchPathSegment based on the current form.
-            switchPathSegment = getControlPathSegmentForRule(switchPathSegment.equals(PLURAL));
+    private AlternationState getNextState(AlternationState state, ResourceTree.Node node) {
+        // The paths below a node that is reached after the rule was stopped are not checked.
+        if (getCancellationToken().isCancelled())
+            return AlternationState.UNCHECKED;
+        String pathSegment = node.getSegment();
+        if (node.isFirstSegment()) {
+            // Set the switch based on the firstPathSegment. We need to see if a path has
+            // the form singular/plural/singular.. or plural/singular/plural.. based on the
+            // firstPathSegment
+            String initialToken = getPathSegments().getTokenNLP(pathSegment.trim().toLowerCase());
+            if (initialToken == null)
+                return AlternationState.UNCHECKED;
+            return new AlternationState(pathSegment, getTokenFromWord(initialToken), null);
+        }
+        // Nothing to check below a path segment with a violation or below a path that is not checked.
+        if (state.switchPathSegment == null || state.violatingPathSegment != null)
+            return state;
+        // Skip the first path segment. It was already controlled.
+        if (state.firstPathSegment.equals(pathSegment))
+            return state;
+        // If a pathSegment contains a curly brace, it is a parameter, and we don't need
+        // to check it. But we know that such a pathSegment is automatically singular.
+        if (pathSegment.contains("{")) {
+            // Switch to plural because the curly brace pathSegment is singular
+            return state.next(SINGULAR);
+        }
+
+        // Get singular or plural based on the token
+        String token = getPathSegments().getTokenNLP(pathSegment);
+        String currentSwitchPathSegment = getTokenFromWord(token);
+        // If the word is plural but the current switchPathSegment is singular, then we
+        // have a violation.
+        if (state.switchPathSegment.equals(PLURAL) && currentSwitchPathSegment.equals(PLURAL)) {
+            return new AlternationState(state.firstPathSegment, state.switchPathSegment, pathSegment);
+        }
+        // Change the switchPathSegment based on the current form.
+        return state.next(getControlPathSegmentForRule(state.switchPathSegment.equals(PLURAL)));
+    }
+
+    /**
+     * The alternation of singular and plural from the first path segment up to a path segment.
+     */
+    private static final class AlternationState {
+        // the path is not checked, e.g. because the first path segment has no token
+        private static final AlternationState UNCHECKED = new AlternationState(null, null, null);
+        private final String firstPathSegment;
+        private final String switchPathSegment;
+        private final String violatingPathSegment;
+
+        private AlternationState(String firstPathSegment, String switchPathSegment, String violatingPathSegment) {
+            this.firstPathSegment = firstPathSegment;
+            this.switchPathSegment = switchPathSegment;
+            this.violatingPathSegment = violatingPathSegment;
+        }
 
+        private AlternationState next(String nextSwitchPathSegment) {
+            return new AlternationState(this.firstPathSegment, nextSwitchPathSegment, null);
         }
-        return null;
     }
 
 }
@@ -3,6 +3,7 @@ package cli.rule.rules;
 import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import cli.utility.Output;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -56,29 +57,36 @@ public class TrailingRule implements IRestRule {
 
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         Set<String> paths = openAPI.getPaths().keySet();
 
-        return checkForTrailingSlashes(paths);
+        checkForTrailingSlashes(paths, sink);
     }
 
     /**
      * searches a Set of path segments for trailing forward slashes '/'
      * 
      * @param paths set of path strings
-     * @return list of Violations for this rule
+     * @param sink  receives the Violations for this rule
      */
-    private List<Violation> checkForTrailingSlashes(Set<String> paths) {
-        List<Violation> violations = new ArrayList<>();
+    private void checkForTrailingSlashes(Set<String> paths, ViolationSink sink) {
         int curPath = 1;
         int totalPaths = paths.size();
         for (String path : paths) {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             if (path.endsWith("/")) {
-                violations.add(new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path), ImprovementSuggestion.TRAILING_SLASH,
+                sink.accept(new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path), ImprovementSuggestion.TRAILING_SLASH,
                         path, ErrorMessage.TRAILINGSLASH));
             }
         }
-        return violations;
     }
 }
@@ -2,6 +2,7 @@ package cli.rule.rules;
 
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import cli.utility.Output;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -12,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+
 public class TunnelingRule implements IRestRule {
 
     private static final String TITLE = "GET and POST must not be used to tunnel other request methods";
@@ -59,6 +62,12 @@ public class TunnelingRule implements IRestRule {
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
         List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         Paths paths = openAPI.getPaths();
 
         // check CRUD violations for further violations
@@ -69,17 +78,17 @@ public class TunnelingRule implements IRestRule {
         int curViolation = 1;
         int totalViolations = crudViolations.size();
         for (Violation crudViolation : crudViolations) {
+            if (getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curViolation, totalViolations);
             curViolation++;
 
             Violation tunnelingViolation = checkCRUDForTunneling(crudViolation, paths);
 
             if (tunnelingViolation != null)
-                violations.add(tunnelingViolation);
+                sink.accept(tunnelingViolation);
 
         }
-
-        return violations;
     }
 
     /**
@@ -2,18 +2,17 @@ package cli.rule.rules;
 
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.*;
 import cli.utility.Output;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
-import java.util.logging.Logger;
 
 import static cli.analyzer.RestAnalyzer.*;
 
@@ -29,10 +28,6 @@ public class UnauthorizedRule implements IRestRule {
     private static final List<RuleSoftwareQualityAttribute> SOFTWARE_QUALITY_ATTRIBUTE = Arrays.asList(
             RuleSoftwareQualityAttribute.COMPATIBILITY, RuleSoftwareQualityAttribute.MAINTAINABILITY,
             RuleSoftwareQualityAttribute.USABILITY);
-    private static final List<String> OPERATION_METHOD_NAMES = List.of("getGet", "getPut", "getPost", "getDelete",
-            "getPatch");
-    private static final String OPERATION_METHOD_SECURITY = "getSecurity";
-    private final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private boolean isActive;
     private OpenAPI openAPI;
 
@@ -84,7 +79,16 @@ public class UnauthorizedRule implements IRestRule {
     public List<Violation> checkViolation(OpenAPI openAPI) {
         this.openAPI = openAPI;
 
-        return staticAnalysis();
+        List<Violation> violations = new ArrayList<>();
+        staticAnalysis(violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
+        this.openAPI = openAPI;
+
+        staticAnalysis(sink);
     }
 
     /**
@@ -92,9 +96,10 @@ public class UnauthorizedRule implements IRestRule {
      * is globally defined --> each path
      * needs 401 response; or the security is locally defined --> only paths with
      * defined security need the 401 response
+     *
+     * @param sink receives the violations
      */
-    private List<Violation> staticAnalysis() {
-        List<Violation> violationList = new ArrayList<>();
+    private void staticAnalysis(ViolationSink sink) {
         List<SecurityRequirement> security = this.openAPI.getSecurity();
         boolean globalSec = security != null && !security.isEmpty();
         Paths paths = this.openAPI.getPaths();
@@ -102,22 +107,25 @@ public class UnauthorizedRule implements IRestRule {
         int curPath = 1;
         int totalPaths = paths.keySet().size();
         for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            if (getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
 
             Map<String, Operation> operations = getPathOperations(path.getValue(), globalSec);
 
             for (Map.Entry<String, Operation> operation : operations.entrySet()) {
-                if (operation.getValue().getResponses().containsKey("401"))
+                // an operation without responses has no 401 response either
+                ApiResponses responses = operation.getValue().getResponses();
+                if (responses != null && responses.containsKey("401"))
                     continue;
 
-                violationList.add(new Violation(this, locMapper.getLOCOfPath(path.getKey()),
+                sink.accept(new Violation(this, getLocMapper().getLOCOfPath(path.getKey()),
                         "Provide the 401 " + "response in the " + "definition of the path in the operation (here: "
                                 + operation.getKey() + ")",
                         path.getKey(), ErrorMessage.UNAUTHORIZED));
             }
         }
-        return violationList;
     }
 
     /**
@@ -129,26 +137,13 @@ public class UnauthorizedRule implements IRestRule {
      * @return the list of operations for the specified path
      */
     private Map<String, Operation> getPathOperations(PathItem pathItem, boolean globalSec) {
-        Map<String, Operation> operations = new HashMap<>();
-
-        for (String method : OPERATION_METHOD_NAMES) {
-            try {
-                Method operationMethod = PathItem.class.getMethod(method);
-                Method securityMethod = Operation.class.getMethod(OPERATION_METHOD_SECURITY);
-
-                Operation curOperation = (Operation) operationMethod.invoke(pathItem);
-
-                if (curOperation == null)
-                    continue;
-
-                Object secOb = securityMethod.invoke(curOperation);
+        Map<String, Operation> operations = new LinkedHashMap<>();
 
-                if ((globalSec && secOb == null) || (secOb != null && !secOb.toString().equals("[]"))) {
-                    operations.put(method.replace("get", "").toUpperCase(), curOperation);
-                }
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                logger.severe(
-                        "Exception when trying to get method to get the operations from a path: " + e.getMessage());
+        for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+            // Security defined for the operation overrides the global security, an empty list removes it
+            List<SecurityRequirement> security = operation.getValue().getSecurity();
+            if ((globalSec && security == null) || (security != null && !security.isEmpty())) {
+                operations.put(operation.getKey().name(), operation.getValue());
             }
         }
 
@@ -4,6 +4,7 @@ import cli.rule.constants.*;
 import io.swagger.v3.oas.models.OpenAPI;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.utility.Output;
 
 import java.util.ArrayList;
@@ -11,7 +12,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static cli.analyzer.RestAnalyzer.locMapper;
+import static cli.analyzer.RestAnalyzer.getCancellationToken;
+import static cli.analyzer.RestAnalyzer.getLocMapper;
 
 /**
  * Implementation of the rule: Underscores (_) should not be used in URI.
@@ -22,7 +24,6 @@ public class UnderscoreRule implements IRestRule {
     private static final RuleSeverity SEVERITY = RuleSeverity.ERROR;
     private static final List<RuleSoftwareQualityAttribute> SOFTWARE_QUALITY_ATTRIBUTES = List
             .of(RuleSoftwareQualityAttribute.MAINTAINABILITY);
-    private static final List<Violation> violationList = new ArrayList<>();
 
     private boolean isActive;
 
@@ -68,6 +69,13 @@ public class UnderscoreRule implements IRestRule {
      * @return the list of violations.
      */
     public List<Violation> checkViolation(OpenAPI openAPI) {
+        List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         Set<String> paths = new HashSet<>();
         paths.addAll(openAPI.getPaths().keySet());
 
@@ -75,13 +83,14 @@ public class UnderscoreRule implements IRestRule {
         int totalPaths = paths.size();
         // Validate the underscore rule for the path list
         for (String path : paths) {
+            if (getCancellationToken().isCancelled())
+                break;
             Output.progressPercentage(curPath, totalPaths);
             curPath++;
             if (path.trim().isEmpty())
                 continue;
-            checkUnderscore(path);
+            checkUnderscore(path, sink);
         }
-        return violationList;
     }
 
     /**
@@ -89,13 +98,14 @@ public class UnderscoreRule implements IRestRule {
      * within the path, it will be deleted.
      *
      * @param path the path to check if it contains an underscore.
+     * @param sink the sink the violation is passed to
      */
-    private void checkUnderscore(String path) {
+    private void checkUnderscore(String path, ViolationSink sink) {
         String pathWithoutVariable = path.replaceAll("\\{" + ".*" + "\\}", "");
         if (!pathWithoutVariable.contains("_"))
             return;
 
-        violationList.add(new Violation(this, locMapper.getLOCOfPath(path), ImprovementSuggestion.UNDERSCORE, path,
+        sink.accept(new Violation(this, getLocMapper().getLOCOfPath(path), ImprovementSuggestion.UNDERSCORE, path,
                 ErrorMessage.UNDERSCORE));
 
     }
@@ -1,7 +1,6 @@
 package cli.rule.rules;
 
-import static cli.rule.Utility.getTokenNLP;
-import static cli.rule.Utility.splitContiguousWords;
+import static cli.analyzer.RestAnalyzer.getPathSegments;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -12,6 +11,7 @@ import java.util.logging.Logger;
 import cli.analyzer.RestAnalyzer;
 import cli.rule.IRestRule;
 import cli.rule.Violation;
+import cli.rule.ViolationSink;
 import cli.rule.constants.ErrorMessage;
 import cli.rule.constants.ImprovementSuggestion;
 import cli.rule.constants.RuleCategory;
@@ -69,29 +69,43 @@ public class VerbPhraseRule implements IRestRule {
 
     }
 
+    @Override
+    public boolean supportsSampling() {
+        return true;
+    }
+
     @Override
     public List<Violation> checkViolation(OpenAPI openAPI) {
         List<Violation> violations = new ArrayList<>();
+        checkViolation(openAPI, violations::add);
+        return violations;
+    }
+
+    @Override
+    public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
         Paths openApiPaths = openAPI.getPaths();
         // Get the paths from the OpenAPI object
         Set<String> paths = openAPI.getPaths().keySet();
 
         if (paths.isEmpty())
-            return violations;
+            return;
         // Loop through the paths
-        return getLstViolations(violations, openApiPaths);
+        getLstViolations(sink, openApiPaths);
     }
 
     /**
-     * Get list of violation for the rule 5 (Verb Phrase Rule)
+     * Get the violations for the rule 5 (Verb Phrase Rule)
      * 
-     * @param violations
+     * @param sink
      * @param paths
-     * @return
      */
-    private List<Violation> getLstViolations(List<Violation> violations, Paths paths) {
+    private void getLstViolations(ViolationSink sink, Paths paths) {
         int totalPaths = paths.keySet().size();
+        // the progress starts again on every check, otherwise a second check of the same rule fails
+        this.curPath = 1;
         paths.forEach((path, pathItem) -> {
+            if (RestAnalyzer.getCancellationToken().isCancelled())
+                return;
             Output.progressPercentage(this.curPath, totalPaths);
             this.curPath++;
             if (!path.trim().equals("")) {
@@ -105,10 +119,9 @@ public class VerbPhraseRule implements IRestRule {
                 Violation violation = getLstViolationsFromPathSegments(path, pathSegments,
                         getOperation, postOperation);
                 if (violation != null)
-                    violations.add(violation);
+                    sink.accept(violation);
             }
         });
-        return violations;
     }
 
     /**
@@ -129,19 +142,19 @@ public class VerbPhraseRule implements IRestRule {
         String lastPathSegment = pathSegments[pathSegments.length - 1];
         try {
             // Get the words forming the pathSegment
-            List<String> subStringFromPath = splitContiguousWords(lastPathSegment);
+            List<String> subStringFromPath = getPathSegments().splitContiguousWords(lastPathSegment);
             List<String> pathWithoutParameterDictionaryMatching =
                     Arrays.asList(subStringFromPath.get(0).split(" "));
             // Check if the first word is a verb
             if (pathWithoutParameterDictionaryMatching.get(0).equals(""))
                 return null;
 
-            String token = getTokenNLP(pathWithoutParameterDictionaryMatching.get(0));
+            String token = getPathSegments().getTokenNLP(pathWithoutParameterDictionaryMatching.get(0));
             // If the first word is a verb but the request is not of type get or post then
             // we have a violation.
             boolean isTokenVerb = token.equals("VBZ") || token.equals("VBP") || token.equals("VB");
             if (isTokenVerb && (getOperation == null && postOperation == null)) {
-                return new Violation(this, RestAnalyzer.locMapper.getLOCOfPath(path),
+                return new Violation(this, RestAnalyzer.getLocMapper().getLOCOfPath(path),
                         ImprovementSuggestion.VERB_PHRASE, path, ErrorMessage.VERBPHRASE);
             }
 
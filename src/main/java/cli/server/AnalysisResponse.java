@@ -0,0 +1,53 @@
+package cli.server;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.micronaut.core.annotation.Introspected;
+
+import java.util.List;
+
+/**
+ * Response of the lint service: either the violations of the definition or the reason why it could not be analyzed.
+ */
+@Introspected
+public class AnalysisResponse {
+    private final int violationCount;
+    private final List<ViolationResponse> violations;
+    private final String errorMessage;
+    private final List<String> parseMessages;
+
+    private AnalysisResponse(List<ViolationResponse> violations, String errorMessage, List<String> parseMessages) {
+        this.violationCount = violations.size();
+        this.violations = violations;
+        this.errorMessage = errorMessage;
+        this.parseMessages = parseMessages;
+    }
+
+    public static AnalysisResponse ofViolations(List<ViolationResponse> violations, List<String> parseMessages) {
+        return new AnalysisResponse(violations, null, parseMessages);
+    }
+
+    public static AnalysisResponse ofError(String errorMessage, List<String> parseMessages) {
+        return new AnalysisResponse(List.of(), errorMessage, parseMessages);
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public List<ViolationResponse> getViolations() {
+        return violations;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public List<String> getParseMessages() {
+        return parseMessages;
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return errorMessage == null;
+    }
+}
@@ -0,0 +1,81 @@
+package cli.server;
+
+import cli.analyzer.AnalysisExecutor;
+import cli.analyzer.RestAnalyzer;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the analyses of the lint service on a bounded executor. The rule configuration is read once and the models and
+ * dictionaries stay loaded, so a request only pays for parsing its definition and checking the rules. When all
+ * workers are busy and the queue is full, new analyses are rejected instead of piling up. Optionally every analysis
+ * runs on a virtual thread and only the rule checks use the bounded pool (see {@link AnalysisExecutor}).
+ */
+@Singleton
+public class AnalysisService {
+    private final List<IRestRule> rules;
+    private final AnalysisExecutor executor;
+    // running and queued analyses, a request only gets an analysis if a permit is left
+    private final Semaphore permits;
+
+    /**
+     * @param threads        maximum number of definitions analyzed at the same time, 0 for the number of processors
+     * @param queueSize      maximum number of analyses waiting for a free worker
+     * @param virtualThreads true to run every analysis on a virtual thread
+     */
+    public AnalysisService(@Value("${rest-ruler.server.threads:0}") int threads,
+                           @Value("${rest-ruler.server.queue-size:100}") int queueSize,
+                           @Value("${rest-ruler.server.virtual-threads:false}") boolean virtualThreads) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new AnalysisExecutor(workers, virtualThreads);
+        this.permits = new Semaphore(workers + Math.max(1, queueSize));
+        RestAnalyzer.warmUp();
+        this.rules = new ActiveRules().getAllRuleObjects();
+    }
+
+    /**
+     * Queues the analysis of the definition.
+     *
+     * @param contents the OpenAPI definition in JSON or YAML
+     * @return the result of the analysis
+     * @throws RejectedExecutionException if the service is saturated
+     */
+    public CompletableFuture<AnalysisResponse> analyze(String contents) {
+        if (!this.permits.tryAcquire())
+            throw new RejectedExecutionException("All workers are busy and the queue is full");
+        try {
+            return CompletableFuture.supplyAsync(() -> runAnalysis(contents), this.executor)
+                    .whenComplete((response, e) -> this.permits.release());
+        } catch (RejectedExecutionException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    private AnalysisResponse runAnalysis(String contents) {
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(contents);
+        if (restAnalyzer.openAPI == null || restAnalyzer.openAPI.getPaths() == null)
+            return AnalysisResponse.ofError("The definition could not be parsed", restAnalyzer.getParseMessages());
+        List<Violation> violations = this.executor.runRuleViolationChecks(restAnalyzer,
+                ActiveRules.copyRuleObjects(this.rules));
+        return AnalysisResponse.ofViolations(violations.stream()
+                .sorted(Violation.getComparator())
+                .map(ViolationResponse::new)
+                .collect(Collectors.toList()), restAnalyzer.getParseMessages());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package cli.server;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * HTTP interface of the lint service. The definition is sent as request body, the violations are returned as JSON.
+ * The analysis runs on the executor of the {@link AnalysisService}, not on the event loop of the server.
+ */
+@Controller
+public class AnalyzeController {
+    // Seconds a rejected client should wait before sending the definition again
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private final AnalysisService analysisService;
+
+    public AnalyzeController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * Analyzes the definition in the request body with all active rules.
+     *
+     * @param definition the OpenAPI definition in JSON or YAML
+     * @return 200 with the violations, 400 if the definition could not be parsed or 503 if the service is saturated
+     */
+    @Post(value = "/analyze", consumes = {MediaType.APPLICATION_JSON, "application/yaml", MediaType.APPLICATION_YAML,
+            MediaType.TEXT_PLAIN}, produces = MediaType.APPLICATION_JSON)
+    public CompletableFuture<HttpResponse<AnalysisResponse>> analyze(@Body String definition) {
+        try {
+            return this.analysisService.analyze(definition).thenApply(response -> response.isSuccessful()
+                    ? HttpResponse.ok(response)
+                    : HttpResponse.<AnalysisResponse>badRequest().body(response));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(HttpResponse.<AnalysisResponse>status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS));
+        }
+    }
+}
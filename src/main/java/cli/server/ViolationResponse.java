@@ -0,0 +1,56 @@
+package cli.server;
+
+import cli.rule.Violation;
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * JSON representation of a violation in the responses of the lint service.
+ */
+@Introspected
+public class ViolationResponse {
+    private final String rule;
+    private final String category;
+    private final String severity;
+    private final int line;
+    private final String key;
+    private final String message;
+    private final String suggestion;
+
+    public ViolationResponse(Violation violation) {
+        this.rule = violation.getRule().getTitle();
+        this.category = violation.getRule().getCategory().name();
+        this.severity = violation.getRule().getSeverityType().name();
+        this.line = violation.getLineViolation();
+        this.key = violation.getKeyViolation();
+        this.message = violation.getErrorMessage();
+        this.suggestion = violation.getImprovementSuggestion();
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getSuggestion() {
+        return suggestion;
+    }
+}
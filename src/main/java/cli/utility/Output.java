@@ -1,19 +1,40 @@
 package cli.utility;
 
+import cli.analyzer.Baseline;
+import cli.analyzer.BatchAnalyzer;
+import cli.daemon.DaemonClient;
+import cli.daemon.DaemonServer;
+import cli.report.Report;
+import cli.server.AnalysisService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
 import cli.rule.ActiveRules;
 import cli.analyzer.RestAnalyzer;
+import cli.analyzer.SpecDiff;
 import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import cli.rule.constants.RuleSeverity;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Class in which all outputs are made for the cli
  */
 public class Output {
     private static final String UNDERLINE = "----------------------------------------------";
+    // false while several analyses run at the same time, their progress bars would only garble the console
+    private static volatile boolean interactive = true;
     private final Scanner scanner = new Scanner(System.in);
 
     /**
@@ -95,47 +116,338 @@ public class Output {
     }
 
     /**
-     * This method starts the analysis with the given path from the user.
+     * This method starts the analysis with the given path from the user. The violations are only passed to the
+     * report, they are not kept.
      *
      * @param pathToFile path to the OpenAPI definition to be examined
      * @param generateReport if true, a report will be generated
+     * @param failOn the lowest severity that fails the analysis, null if no severity does
+     * @return true if the definition has no violation with at least the severity, false if it has one or cannot be
+     * read
      */
-    public void startAnalysis(String pathToFile, boolean generateReport) {
+    public boolean startAnalysis(String pathToFile, boolean generateReport, RuleSeverity failOn) {
 
-        if (pathToFile.toLowerCase().startsWith("http") && !checkURL(pathToFile)) {
-            System.err.println("The URL was not reachable. Please check the URL and try again.");
-            return;
-        } else if (!pathToFile.toLowerCase().startsWith("http") && !checkFileLocation(pathToFile)) {
-            System.err.println(
-                    "The file was not found. Please check the path to the file and try again.");
-            return;
-        }
+        if (!checkLocation(pathToFile))
+            return false;
 
         RestAnalyzer restAnalyzer = new RestAnalyzer(pathToFile);
         printStartAnalysis(pathToFile);
-        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), generateReport);
+        AtomicBoolean failed = new AtomicBoolean();
+        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), generateReport, failOnSink(failOn, failed));
+        printBaselineSummary(restAnalyzer);
+        return !failed.get();
     }
 
     /**
-     * This method starts the analysis with the given path from the user.
+     * This method starts the analysis with the given path from the user. The violations are only passed to the
+     * report, they are not kept.
      *
      * @param pathToFile path to the OpenAPI definition to be examined
      * @param title title of the report that will be generated
+     * @param failOn the lowest severity that fails the analysis, null if no severity does
+     * @return true if the definition has no violation with at least the severity, false if it has one or cannot be
+     * read
      */
-    public void startAnalysis(String pathToFile, String title) {
+    public boolean startAnalysis(String pathToFile, String title, RuleSeverity failOn) {
 
-        if (pathToFile.toLowerCase().startsWith("http") && !checkURL(pathToFile)) {
-            System.err.println("The URL was not reachable. Please check the URL and try again.");
+        if (!checkLocation(pathToFile))
+            return false;
+
+        RestAnalyzer restAnalyzer = new RestAnalyzer(pathToFile);
+        printStartAnalysis(pathToFile);
+        AtomicBoolean failed = new AtomicBoolean();
+        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), title, failOnSink(failOn, failed));
+        printBaselineSummary(restAnalyzer);
+        return !failed.get();
+    }
+
+    /**
+     * This method analyzes only the paths of the head that differ from the base, e.g. for a pull request, and reports
+     * only the violations that the same paths of the base do not have.
+     *
+     * @param basePath path to the old version of the OpenAPI definition
+     * @param headPath path to the new version of the OpenAPI definition
+     * @param generateReport true to generate a report file
+     * @param failOn the lowest severity that fails the analysis, null if no severity does
+     * @return true if there is no new violation with at least the severity, false if there is one or a definition
+     * cannot be read
+     */
+    public boolean startDiffAnalysis(String basePath, String headPath, boolean generateReport, RuleSeverity failOn) {
+        RestAnalyzer restAnalyzer = prepareDiffAnalysis(basePath, headPath);
+        if (restAnalyzer == null)
+            return false;
+        AtomicBoolean failed = new AtomicBoolean();
+        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), generateReport, failOnSink(failOn, failed));
+        printBaselineSummary(restAnalyzer);
+        return !failed.get();
+    }
+
+    /**
+     * This method analyzes only the paths of the head that differ from the base, e.g. for a pull request, and reports
+     * only the violations that the same paths of the base do not have.
+     *
+     * @param basePath path to the old version of the OpenAPI definition
+     * @param headPath path to the new version of the OpenAPI definition
+     * @param title title of the report that will be generated
+     * @param failOn the lowest severity that fails the analysis, null if no severity does
+     * @return true if there is no new violation with at least the severity, false if there is one or a definition
+     * cannot be read
+     */
+    public boolean startDiffAnalysis(String basePath, String headPath, String title, RuleSeverity failOn) {
+        RestAnalyzer restAnalyzer = prepareDiffAnalysis(basePath, headPath);
+        if (restAnalyzer == null)
+            return false;
+        AtomicBoolean failed = new AtomicBoolean();
+        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), title, failOnSink(failOn, failed));
+        printBaselineSummary(restAnalyzer);
+        return !failed.get();
+    }
+
+    /**
+     * @return a sink that only notes whether a violation with at least the severity was found
+     */
+    private static ViolationSink failOnSink(RuleSeverity failOn, AtomicBoolean failed) {
+        return violation -> {
+            if (failOn != null && violation.getRule().getSeverityType().isAtLeast(failOn))
+                failed.set(true);
+        };
+    }
+
+    /**
+     * Checks the changed paths of the base and returns the analysis of the head, which only checks its changed paths
+     * and only passes on their new violations.
+     */
+    private RestAnalyzer prepareDiffAnalysis(String basePath, String headPath) {
+        if (!checkLocation(basePath) || !checkLocation(headPath))
+            return null;
+
+        RestAnalyzer base = new RestAnalyzer(basePath);
+        RestAnalyzer head = new RestAnalyzer(headPath);
+        if (base.openAPI == null || head.openAPI == null) {
+            System.err.println("The definition " + (base.openAPI == null ? basePath : headPath)
+                    + " could not be parsed. Please check the file and try again.");
+            return null;
+        }
+        SpecDiff diff = new SpecDiff(base.openAPI, head.openAPI);
+        printStartAnalysis(headPath);
+        System.out.printf("%d of %d paths with %d operations differ from %s%n%n", diff.getChangedPaths().size(),
+                head.openAPI.getPaths() != null ? head.openAPI.getPaths().size() : 0,
+                diff.getChangedOperationCount(), basePath);
+        base.setScope(diff.getBaseOpenAPI());
+        List<Violation> baseViolations = diff.getBaseOpenAPI().getPaths().isEmpty() ? List.of()
+                : base.runRuleViolationChecks(new ActiveRules().getAllRuleObjects());
+        head.setScope(diff.getHeadOpenAPI());
+        head.setViolationFilter(SpecDiff.newViolations(baseViolations));
+        return head;
+    }
+
+    /**
+     * This method analyzes the definition and writes all of its violations to a baseline file, so that later
+     * analyses with this baseline only report new violations.
+     *
+     * @param pathToFile path to the OpenAPI definition to be examined
+     * @param baselineFile the file the baseline is written to, it is overwritten
+     * @return true if the baseline was written
+     */
+    public boolean startBaselineUpdate(String pathToFile, Path baselineFile) {
+        if (!checkLocation(pathToFile))
+            return false;
+
+        RestAnalyzer restAnalyzer = new RestAnalyzer(pathToFile);
+        printStartAnalysis(pathToFile);
+        List<IRestRule> rules = new ActiveRules().getAllRuleObjects();
+        Baseline baseline = new Baseline(restAnalyzer.openAPI, rules, restAnalyzer.runRuleViolationChecks(rules));
+        try {
+            baseline.write(baselineFile);
+        } catch (IOException e) {
+            System.err.println("The baseline " + baselineFile + " could not be written: " + e.getMessage());
+            return false;
+        }
+        System.out.println(baseline.size() + " violations were written to the baseline "
+                + baselineFile.toAbsolutePath());
+        return true;
+    }
+
+    /**
+     * This method checks the definition only until the first violation with at least the given severity is found,
+     * e.g. for a merge gate that only needs to know whether such a violation exists. No report is generated.
+     *
+     * @param pathToFile path to the OpenAPI definition to be examined
+     * @param severity the lowest severity that fails the check
+     * @return true if the definition has no violation with at least the severity, false if it has one or cannot be
+     * read
+     */
+    public boolean startFailFastAnalysis(String pathToFile, RuleSeverity severity) {
+        if (!checkLocation(pathToFile))
+            return false;
+
+        RestAnalyzer restAnalyzer = new RestAnalyzer(pathToFile);
+        printStartAnalysis(pathToFile);
+        Optional<Violation> violation = restAnalyzer.findFirstViolation(new ActiveRules().getAllRuleObjects(),
+                severity);
+        if (violation.isEmpty()) {
+            System.out.println("No violation with severity " + severity + " or higher was found.");
+            return true;
+        }
+        System.out.printf("%s:%d: %s: %s [%s]%n    %s%n", pathToFile, violation.get().getLineViolation(),
+                violation.get().getRule().getSeverityType(), violation.get().getRule().getTitle(),
+                violation.get().getKeyViolation(), violation.get().getImprovementSuggestion());
+        System.out.println("A violation with severity " + severity + " or higher was found, the remaining rules "
+                + "were not checked.");
+        return false;
+    }
+
+    /**
+     * This method starts the analysis of several OpenAPI definitions in one run. Directories and glob patterns are
+     * expanded to the JSON and YAML files they contain. A report is written for every definition as well as an
+     * aggregated report for all of them.
+     *
+     * @param inputs paths, URLs, directories or glob patterns of the OpenAPI definitions to be examined
+     * @param threads maximum number of definitions that are analyzed at the same time; with virtual threads the
+     *                maximum number of definitions whose rules are checked at the same time
+     * @param virtualThreads true to analyze every definition on its own virtual thread
+     */
+    public void startBatchAnalysis(List<String> inputs, int threads, boolean virtualThreads) {
+        List<String> locations;
+        try {
+            locations = BatchAnalyzer.resolveLocations(inputs);
+        } catch (IOException e) {
+            System.err.println("The given paths could not be searched for OpenAPI definitions: " + e.getMessage());
             return;
-        } else if (!pathToFile.toLowerCase().startsWith("http") && !checkFileLocation(pathToFile)) {
+        }
+        if (locations.isEmpty()) {
+            System.err.println("No OpenAPI definitions were found. Please check the paths and try again.");
+            return;
+        }
+
+        String timestamp = DateTimeFormatter.ofPattern("yyyy_MM_dd-HH_mm_ss").format(LocalDateTime.now());
+        BatchAnalyzer batchAnalyzer = new BatchAnalyzer(threads, virtualThreads,
+                Report.getDefaultOutputDir().resolve("Batch_" + timestamp));
+
+        System.out.println("\n----------------START ANALYSIS----------------");
+        System.out.println(UNDERLINE);
+        System.out.println("\nBegin with the analysis of " + locations.size() + " OpenAPI definitions "
+                + (virtualThreads ? "on virtual threads, checking the rules of up to " : "with up to ")
+                + threads + " definitions at the same time\n");
+        System.out.println(UNDERLINE);
+        setInteractive(false);
+        try {
+            batchAnalyzer.runBatchAnalyse(locations, new ActiveRules().getAllRuleObjects());
+        } finally {
+            setInteractive(true);
+        }
+    }
+
+    /**
+     * Starts the daemon and blocks until it shuts down after the idle timeout or on request of a client.
+     *
+     * @param socketPath file of the Unix domain socket the daemon listens on
+     * @param idleTimeout time without requests after which the daemon shuts down
+     * @param threads maximum number of definitions that are analyzed at the same time
+     */
+    public void startDaemon(Path socketPath, Duration idleTimeout, int threads) {
+        System.out.println("Starting the daemon on " + socketPath + ", it shuts down after "
+                + idleTimeout.toMinutes() + " minutes without requests");
+        try {
+            new DaemonServer(socketPath, idleTimeout, threads).run();
+        } catch (IOException e) {
+            System.err.println("The daemon could not be started: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lets a running daemon analyze the definition and prints the violations one per line. If no daemon of the same
+     * version is running, the definition is analyzed in this process instead.
+     *
+     * @param pathToFile path to the OpenAPI definition to be examined
+     * @param socketPath file of the Unix domain socket the daemon listens on
+     */
+    public void startClientAnalysis(String pathToFile, Path socketPath) {
+        boolean isUrl = pathToFile.toLowerCase().startsWith("http");
+        if (!isUrl && !checkFileLocation(pathToFile)) {
             System.err.println(
                     "The file was not found. Please check the path to the file and try again.");
             return;
         }
+        // the daemon does not share the working directory of the client
+        String location = isUrl ? pathToFile : Path.of(pathToFile).toAbsolutePath().toString();
+        try {
+            Optional<Integer> violationCount = new DaemonClient(socketPath).analyze(location, violation ->
+                    System.out.printf("%s:%d: %s: %s [%s]%n    %s%n", pathToFile, violation.getLineViolation(),
+                            violation.getSeverity(), violation.getRuleTitle(), violation.getKeyViolation(),
+                            violation.getImprovementSuggestion()));
+            if (violationCount.isPresent()) {
+                System.out.println(violationCount.get() + " violations found");
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("The daemon could not analyze the definition: " + e.getMessage());
+            return;
+        }
+        System.err.println("No daemon of this version is running on " + socketPath
+                + ", the definition is analyzed without it. Start one with --daemon.");
+        startAnalysis(pathToFile, false, null);
+    }
 
-        RestAnalyzer restAnalyzer = new RestAnalyzer(pathToFile);
-        printStartAnalysis(pathToFile);
-        restAnalyzer.runAnalyse(new ActiveRules().getAllRuleObjects(), title);
+    /**
+     * Asks the daemon listening on the socket to shut down.
+     *
+     * @param socketPath file of the Unix domain socket the daemon listens on
+     */
+    public void stopDaemon(Path socketPath) {
+        if (new DaemonClient(socketPath).shutdown())
+            System.out.println("The daemon was stopped.");
+        else
+            System.out.println("No daemon is running on " + socketPath + ".");
+    }
+
+    /**
+     * Starts the HTTP lint service and blocks until the process is terminated.
+     *
+     * @param port port of the service
+     * @param threads maximum number of definitions that are analyzed at the same time
+     * @param queueSize maximum number of analyses waiting for a free worker before requests are rejected
+     * @param virtualThreads true to run every analysis on a virtual thread and only the rule checks on the threads
+     */
+    public void startServer(int port, int threads, int queueSize, boolean virtualThreads) {
+        setInteractive(false);
+        ApplicationContext context = ApplicationContext.builder()
+                .properties(Map.of("micronaut.server.port", port,
+                        "rest-ruler.server.threads", threads,
+                        "rest-ruler.server.queue-size", queueSize,
+                        "rest-ruler.server.virtual-threads", virtualThreads))
+                .start();
+        // loads the rules and models before the first request arrives
+        context.getBean(AnalysisService.class);
+        EmbeddedServer server = context.getBean(EmbeddedServer.class);
+        server.start();
+        System.out.println("The lint service is running on " + server.getURL() + "/analyze");
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            context.close();
+            stopped.countDown();
+        }));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            context.close();
+        }
+    }
+
+    /**
+     * @return true if only a single analysis is running and its progress can be shown on the console
+     */
+    public static boolean isInteractive() {
+        return interactive;
+    }
+
+    /**
+     * @param isInteractive false to hide the progress of the rules, e.g. when several analyses run concurrently
+     */
+    public static void setInteractive(boolean isInteractive) {
+        interactive = isInteractive;
     }
 
     /**
@@ -159,6 +471,24 @@ public class Output {
         return false;
     }
 
+    /**
+     * Checks if the URL is reachable or the file exists and prints why not.
+     *
+     * @param pathToFile path or URL to the OpenAPI definition
+     * @return <code>true</code> if the definition can be read, <code>false</code> otherwise
+     */
+    private boolean checkLocation(String pathToFile) {
+        if (pathToFile.toLowerCase().startsWith("http") && !checkURL(pathToFile)) {
+            System.err.println("The URL was not reachable. Please check the URL and try again.");
+            return false;
+        } else if (!pathToFile.toLowerCase().startsWith("http") && !checkFileLocation(pathToFile)) {
+            System.err.println(
+                    "The file was not found. Please check the path to the file and try again.");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Checks if the given path is a valid path to a file and not a dir.
      * 
@@ -170,25 +500,26 @@ public class Output {
         return f.exists() && !f.isDirectory();
     }
 
+    /**
+     * Updates the progress of the rule that is checked on the current thread; the bar is drawn by the
+     * {@link ProgressService}, so this can be called for every path.
+     *
+     * @param remain number of checked paths, including the current one
+     * @param total number of all paths
+     */
     public static void progressPercentage(int remain, int total) {
         if (remain > total) {
             throw new IllegalArgumentException();
         }
-        int maxBareSize = 10; // 10unit for 100%
-        int remainProcent = ((100 * remain) / total) / maxBareSize;
-        char defaultChar = ' ';
-        String icon = "=";
-        String bare = new String(new char[maxBareSize]).replace('\0', defaultChar) + "]";
-        StringBuilder bareDone = new StringBuilder();
-        bareDone.append("[");
-        for (int i = 0; i < remainProcent; i++) {
-            bareDone.append(icon);
-        }
-        String bareRemain = bare.substring(remainProcent, bare.length());
-        System.out.print("\r" + bareDone + bareRemain + " " + remainProcent * 10 + "%");
-        if (remain == total) {
-            System.out.print("\n");
-        }
+        ProgressService.update(remain, total);
+    }
+
+    private void printBaselineSummary(RestAnalyzer restAnalyzer) {
+        int baselined = restAnalyzer.getBaselinedViolationCount();
+        int skipped = restAnalyzer.getSkippedPathCount();
+        if (baselined > 0 || skipped > 0)
+            System.out.println(baselined + " known violations of the baseline were not reported, " + skipped
+                    + " unchanged paths were not checked.");
     }
 
     private void printStartAnalysis(final String path) {
@@ -0,0 +1,145 @@
+package cli.utility;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows the progress of the rules that are currently checked as one bar on the console. The rules only update the
+ * counters of their task (see {@link Output#progressPercentage(int, int)}), which costs no more than two volatile
+ * writes; a single thread draws the bar ten times per second if it has changed. Several rules checked at the same
+ * time share the bar instead of overwriting each other. Nothing is drawn if the standard output is not a terminal,
+ * e.g. when it is redirected to a file or a CI log, or if the analysis is not interactive.
+ */
+public class ProgressService {
+    private static final long RENDER_INTERVAL_MILLIS = 100;
+    private static final int BAR_SIZE = 10;
+    private static final boolean TERMINAL = System.console() != null;
+    private static final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Task> currentTask = new ThreadLocal<>();
+    private static final Task NONE = new Task();
+    private static ScheduledExecutorService renderer;
+    // the bar that is on the console, null if none is drawn
+    private static String renderedBar;
+
+    private ProgressService() {
+    }
+
+    /**
+     * @return true if the progress is drawn on the console
+     */
+    public static boolean isEnabled() {
+        return TERMINAL && Output.isInteractive();
+    }
+
+    /**
+     * Starts a task, e.g. the check of a rule, whose progress the current thread updates until it is closed.
+     *
+     * @return the started task, a task that is not shown if the progress is not drawn
+     */
+    public static Task begin() {
+        if (!isEnabled())
+            return NONE;
+        Task task = new Task();
+        tasks.add(task);
+        currentTask.set(task);
+        startRenderer();
+        return task;
+    }
+
+    /**
+     * @param done  number of finished steps of the task of the current thread, e.g. checked paths
+     * @param total number of all steps of the task
+     */
+    static void update(int done, int total) {
+        Task task = currentTask.get();
+        if (task != null)
+            task.update(done, total);
+    }
+
+    private static synchronized void startRenderer() {
+        if (renderer != null)
+            return;
+        renderer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renderer.scheduleAtFixedRate(ProgressService::render, RENDER_INTERVAL_MILLIS, RENDER_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized void render() {
+        long done = 0;
+        long total = 0;
+        int count = 0;
+        for (Task task : tasks) {
+            done += task.done;
+            total += task.total;
+            count++;
+        }
+        if (count == 0 || total == 0)
+            return;
+        String bar = formatBar(done, total, count);
+        if (bar.equals(renderedBar))
+            return;
+        System.out.print("\r" + bar);
+        renderedBar = bar;
+    }
+
+    /**
+     * Ends the bar with a new line once the last task is closed, so the next output starts on its own line.
+     */
+    private static synchronized void finish(Task task) {
+        tasks.remove(task);
+        if (!tasks.isEmpty() || renderedBar == null)
+            return;
+        System.out.print("\r" + formatBar(1, 1, 1) + "\n");
+        renderedBar = null;
+    }
+
+    /**
+     * @param done  finished steps of all running tasks
+     * @param total all steps of the running tasks
+     * @param tasks number of running tasks
+     * @return the bar, e.g. {@code [=====     ] 50%}
+     */
+    static String formatBar(long done, long total, int tasks) {
+        int filled = (int) Math.min(BAR_SIZE, BAR_SIZE * done / Math.max(1, total));
+        StringBuilder bar = new StringBuilder(BAR_SIZE + 16).append('[');
+        for (int i = 0; i < BAR_SIZE; i++) {
+            bar.append(i < filled ? '=' : ' ');
+        }
+        bar.append("] ").append(filled * 100 / BAR_SIZE).append('%');
+        if (tasks > 1)
+            bar.append(" (").append(tasks).append(" rules)");
+        return bar.toString();
+    }
+
+    /**
+     * The progress of one rule check.
+     */
+    public static final class Task implements AutoCloseable {
+        private volatile int done;
+        private volatile int total;
+
+        private Task() {
+        }
+
+        private void update(int done, int total) {
+            this.done = done;
+            this.total = total;
+        }
+
+        @Override
+        public void close() {
+            if (this == NONE)
+                return;
+            if (currentTask.get() == this)
+                currentTask.remove();
+            finish(this);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package cli.weka;
 
+import cli.jfr.ModelLoadEvent;
+import cli.jfr.PredictionEvent;
+
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import weka.classifiers.bayes.NaiveBayesMultinomial;
@@ -22,8 +28,11 @@ import weka.core.Instances;
  * @see https://www.cs.waikato.ac.nz/ml/index.html
  */
 public class RequestMethodsWekaClassifier {
+    // Deserialized models by file name. Loading a model is expensive, so it is only done once per JVM.
+    private static final Map<String, FilteredClassifier> loadedModels = new ConcurrentHashMap<>();
     Logger LOGGER = Logger.getLogger("RequestMethodsService");
     private FilteredClassifier classifier;
+    private String modelName;
     // declare attributes of Instance
     private ArrayList<Attribute> wekaAttributes;
 
@@ -80,14 +89,53 @@ public class RequestMethodsWekaClassifier {
      * @return a class label (income or outcome )
      */
     public ImmutablePair<String, Double> predict(String text) {
-        try {
-            // create new Instance for prediction.
-            DenseInstance newinstance = new DenseInstance(2);
+        return predict(List.of(text)).get(0);
+    }
 
+    /**
+     * Classifies several messages as one job: the dataset is created once, every distinct text is only classified
+     * once and the shared model is only locked once.
+     *
+     * @param texts to be classified.
+     * @return the class label and its percentage for every text in the same order, null for a text that could not
+     * be classified
+     */
+    public List<ImmutablePair<String, Double>> predict(List<String> texts) {
+        PredictionEvent predictionEvent = new PredictionEvent();
+        predictionEvent.begin();
+        Map<String, ImmutablePair<String, Double>> predictions = new HashMap<>();
+        try {
             // weka demand a dataset to be set to new Instance
-            Instances newDataset = new Instances("predictiondata", wekaAttributes, 1);
+            Instances newDataset = new Instances("predictiondata", wekaAttributes, texts.size());
             newDataset.setClassIndex(0);
 
+            // the filter of the classifier keeps state while converting an instance, therefore a shared model
+            // must not be used by several threads at once
+            synchronized (classifier) {
+                for (String text : texts) {
+                    if (!predictions.containsKey(text))
+                        predictions.put(text, predict(newDataset, text));
+                }
+            }
+        } finally {
+            predictionEvent.end();
+            if (predictionEvent.shouldCommit()) {
+                predictionEvent.setModel(this.modelName);
+                predictionEvent.setInstanceCount(predictions.size());
+                predictionEvent.commit();
+            }
+        }
+        List<ImmutablePair<String, Double>> predictionValues = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            predictionValues.add(predictions.get(text));
+        }
+        return predictionValues;
+    }
+
+    private ImmutablePair<String, Double> predict(Instances newDataset, String text) {
+        try {
+            // create new Instance for prediction.
+            DenseInstance newinstance = new DenseInstance(2);
             newinstance.setDataset(newDataset);
 
             // text attribute value set to value to be predicted
@@ -95,18 +143,14 @@ public class RequestMethodsWekaClassifier {
 
             // predict most likely class for the instance
             double prediction = classifier.classifyInstance(newinstance);
-            String predictionValue = newDataset.classAttribute().value((int) prediction);
 
             // Percentage of the prediction
             double[] percentage = classifier.distributionForInstance(newinstance);
+            String predictionValue = newDataset.classAttribute().value((int) prediction);
             double percentageOfPredictedValue = percentage[(int) prediction];
 
             // Create pair containing the prediction value and the percentage of accuracy
-            ImmutablePair<String, Double> predictionValues =
-                    new ImmutablePair<>(predictionValue, percentageOfPredictedValue);
-
-            // return original label
-            return predictionValues;
+            return new ImmutablePair<>(predictionValue, percentageOfPredictedValue);
         } catch (Exception e) {
             LOGGER.warning(e.getMessage());
             return null;
@@ -114,17 +158,28 @@ public class RequestMethodsWekaClassifier {
     }
 
     /**
-     * Model loader
+     * Model loader. The model is only read on the first call for a file, afterwards the already loaded model is used.
      *
      * @param filename The name of the file that stores the text.
      */
     public void loadModel(String filename) {
+        this.modelName = filename;
+        FilteredClassifier loadedModel = loadedModels.get(filename);
+        if (loadedModel != null) {
+            classifier = loadedModel;
+            return;
+        }
         try {
+            ModelLoadEvent modelLoadEvent = new ModelLoadEvent();
+            modelLoadEvent.begin();
             ObjectInputStream in =
                     new ObjectInputStream(this.getClass().getResourceAsStream(filename));
             Object tmp = in.readObject();
-            classifier = (FilteredClassifier) tmp;
+            classifier = loadedModels.computeIfAbsent(filename, key -> (FilteredClassifier) tmp);
             in.close();
+            modelLoadEvent.setModel(filename);
+            modelLoadEvent.setKind("Weka model");
+            modelLoadEvent.commit();
         } catch (FileNotFoundException e) {
             LOGGER.warning(e.getMessage());
         } catch (IOException e) {
@@ -0,0 +1,73 @@
+package cli.analyzer;
+
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisProfileTest {
+
+    private static final String DEFINITION = "src/test/java/cli/rule/crudtest/InvalidOpenAPICRUDRule.json";
+
+    @AfterEach
+    void disableProfiling() {
+        AnalysisProfile.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Test that checks if parsing, line mapping and every active rule of an analysis are measured.")
+    void profileAnalysis() throws IOException {
+        AnalysisProfile.setEnabled(true);
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(rules);
+
+        AnalysisProfile profile = restAnalyzer.getProfile();
+        assertNotNull(profile);
+        assertEquals(List.of(AnalysisProfile.PARSE, AnalysisProfile.LOC_MAPPING),
+                profile.getPhases().stream().map(AnalysisProfile.Entry::getName).collect(Collectors.toList()));
+        assertEquals(rules.stream().filter(IRestRule::getIsActive).count(), profile.getRules().size());
+        assertEquals(violations.size(), profile.getRules().stream().mapToInt(AnalysisProfile.Entry::getViolations).sum());
+        assertTrue(profile.getRules().stream().allMatch(entry -> entry.getWallNanos() >= 0));
+
+        StringWriter json = new StringWriter();
+        profile.writeJson(json);
+        JsonNode node = new ObjectMapper().readTree(json.toString());
+        assertEquals(1, node.get("analyses").asInt());
+        assertEquals(profile.getRules().size(), node.get("rules").size());
+        assertTrue(profile.toMarkdownTable().contains("| Total"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the profiles of several analyses are added up per rule.")
+    void aggregate() {
+        AnalysisProfile.setEnabled(true);
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        AnalysisProfile total = AnalysisProfile.aggregate();
+        int violationCount = 0;
+        for (int i = 0; i < 2; i++) {
+            RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+            // like in batch mode, every analysis works on its own copy of the rules
+            violationCount += restAnalyzer.runRuleViolationChecks(ActiveRules.copyRuleObjects(rules)).size();
+            total.add(restAnalyzer.getProfile());
+        }
+
+        assertEquals(2, total.getAnalysisCount());
+        assertEquals(rules.stream().filter(IRestRule::getIsActive).count(), total.getRules().size());
+        assertEquals(violationCount, total.getRules().stream().mapToInt(AnalysisProfile.Entry::getViolations).sum());
+
+        AnalysisProfile.setEnabled(false);
+        assertNull(new RestAnalyzer(DEFINITION).getProfile(), "Analyses should only be profiled if enabled.");
+    }
+}
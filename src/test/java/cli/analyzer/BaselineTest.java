@@ -0,0 +1,139 @@
+package cli.analyzer;
+
+import cli.generator.SpecGenerator;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineTest {
+
+    private static final String DEFINITION = new SpecGenerator(5).paths(80).violationsPerRule(2)
+            .generate(SpecGenerator.Format.JSON);
+    private static final String NEW_PATH = "/order_Items";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void reset() {
+        RestAnalyzer.setBaseline(null, false);
+    }
+
+    @Test
+    @DisplayName("Test that checks if the fingerprint ignores the line and the spacing and case of the texts.")
+    void fingerprint() {
+        IRestRule rule = getRules().get(0);
+        String fingerprint = Baseline.getFingerprint(new Violation(rule, 10, "suggestion", "/users", "A message"));
+
+        assertEquals(fingerprint, Baseline.getFingerprint(
+                new Violation(rule, 250, " Suggestion", "/users", "  a   MESSAGE ")));
+        assertNotEquals(fingerprint, Baseline.getFingerprint(
+                new Violation(rule, 10, "other suggestion", "/users", "A message")),
+                "The suggestion names e.g. the operation of the violation.");
+        assertNotEquals(fingerprint, Baseline.getFingerprint(
+                new Violation(rule, 10, "suggestion", "/orders", "A message")));
+        assertNotEquals(fingerprint, Baseline.getFingerprint(
+                new Violation(getRules().get(1), 10, "suggestion", "/users", "A message")));
+    }
+
+    @Test
+    @DisplayName("Test that checks if only the violations that are not in the baseline are reported.")
+    void knownViolations() throws IOException {
+        Path file = writeBaseline();
+        RestAnalyzer.setBaseline(Baseline.read(file), false);
+
+        RestAnalyzer unchanged = RestAnalyzer.fromContents(DEFINITION);
+        assertTrue(unchanged.runRuleViolationChecks(getRules()).isEmpty());
+        assertTrue(unchanged.getBaselinedViolationCount() > 0);
+        assertEquals(0, unchanged.getSkippedPathCount());
+
+        List<Violation> violations = RestAnalyzer.fromContents(withNewPath()).runRuleViolationChecks(getRules());
+        assertFalse(violations.isEmpty());
+        violations.forEach(violation -> assertEquals(NEW_PATH, violation.getKeyViolation()));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the unchanged paths are not checked again.")
+    void skipUnchangedPaths() throws IOException {
+        Path file = writeBaseline();
+        RestAnalyzer.setBaseline(Baseline.read(file), true);
+        int pathCount = parse(DEFINITION).getPaths().size();
+
+        RestAnalyzer unchanged = RestAnalyzer.fromContents(DEFINITION);
+        assertTrue(unchanged.runRuleViolationChecks(getRules()).isEmpty());
+        assertEquals(pathCount, unchanged.getSkippedPathCount());
+
+        RestAnalyzer changed = RestAnalyzer.fromContents(withNewPath());
+        List<Violation> violations = changed.runRuleViolationChecks(getRules());
+        assertEquals(pathCount, changed.getSkippedPathCount());
+        assertFalse(violations.isEmpty());
+        violations.forEach(violation -> assertEquals(NEW_PATH, violation.getKeyViolation()));
+
+        List<IRestRule> otherRules = getRules();
+        otherRules.get(0).setIsActive(false);
+        RestAnalyzer otherAnalysis = RestAnalyzer.fromContents(DEFINITION);
+        otherAnalysis.runRuleViolationChecks(otherRules);
+        assertEquals(0, otherAnalysis.getSkippedPathCount(), "Other rules may find other violations.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if the paths are checked again when the security changes.")
+    void changedSecurity() throws IOException {
+        Path file = writeBaseline();
+        RestAnalyzer.setBaseline(Baseline.read(file), true);
+        OpenAPI withoutSecurity = parse(DEFINITION);
+        withoutSecurity.setSecurity(null);
+        OpenAPI changedScheme = parse(DEFINITION);
+        changedScheme.getComponents().getSecuritySchemes().values().iterator().next().setBearerFormat("JWT");
+
+        for (OpenAPI changed : List.of(withoutSecurity, changedScheme)) {
+            RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(Json.pretty(changed));
+            restAnalyzer.runRuleViolationChecks(getRules());
+            assertEquals(0, restAnalyzer.getSkippedPathCount());
+        }
+    }
+
+    private Path writeBaseline() throws IOException {
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(DEFINITION);
+        List<IRestRule> rules = getRules();
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(rules);
+        assertFalse(violations.isEmpty());
+        Path file = this.directory.resolve("baseline.json");
+        new Baseline(restAnalyzer.openAPI, rules, violations).write(file);
+        return file;
+    }
+
+    private static String withNewPath() {
+        OpenAPI openAPI = parse(DEFINITION);
+        openAPI.getPaths().addPathItem(NEW_PATH, new PathItem().get(new Operation().responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("The order items")))));
+        return Json.pretty(openAPI);
+    }
+
+    private static OpenAPI parse(String contents) {
+        return new OpenAPIParser().readContents(contents, null, null).getOpenAPI();
+    }
+
+    private static List<IRestRule> getRules() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        return rules;
+    }
+}
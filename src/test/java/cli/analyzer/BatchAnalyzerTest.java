@@ -0,0 +1,89 @@
+package cli.analyzer;
+
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.rules.LowercaseRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAnalyzerTest {
+
+    private static final String RULE_TESTS = "src/test/java/cli/rule";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test that checks if directories and glob patterns are expanded to the contained definitions.")
+    void resolveLocations() throws IOException {
+        List<String> fromDirectory = BatchAnalyzer.resolveLocations(List.of(RULE_TESTS + "/underscoreTest"));
+        List<String> fromGlob = BatchAnalyzer.resolveLocations(List.of(RULE_TESTS + "/*Test/*.json"));
+
+        assertEquals(List.of(Path.of(RULE_TESTS, "underscoreTest", "InvalidOpenAPIUnderscroeRule.json").toString()),
+                fromDirectory);
+        assertTrue(fromGlob.size() > 5, "The glob should match the definitions of several rule tests.");
+        assertTrue(fromGlob.stream().allMatch(location -> location.endsWith(".json")));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the analysis on virtual threads finds the same violations as on platform threads.")
+    void virtualThreads() throws IOException {
+        List<String> locations = BatchAnalyzer.resolveLocations(List.of(RULE_TESTS + "/*Test/*.json"));
+        List<IRestRule> rules = new ActiveRules().getAllRuleObjects();
+
+        List<BatchResult> platform = new BatchAnalyzer(2, false, tempDir.resolve("platform")).runBatchAnalyse(locations, rules);
+        List<BatchResult> virtual = new BatchAnalyzer(2, true, tempDir.resolve("virtual")).runBatchAnalyse(locations, rules);
+
+        assertEquals(locations.size(), virtual.size());
+        assertEquals(counts(platform), counts(virtual), "Both modes should find the same violations.");
+        assertTrue(Files.exists(tempDir.resolve("virtual").resolve("Report_Summary.md")));
+    }
+
+    @Test
+    @DisplayName("Test that checks if no more definitions than the threads and the fetch window are analyzed at once.")
+    void boundedAnalyses() throws IOException {
+        List<String> locations = BatchAnalyzer.resolveLocations(List.of(RULE_TESTS + "/*Test/*.json"));
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        BatchAnalyzer batchAnalyzer = new BatchAnalyzer(1, true, 1, tempDir);
+
+        List<BatchResult> results = batchAnalyzer.runBatchAnalyse(locations, rules);
+
+        assertEquals(locations.size(), results.size());
+        assertEquals(2, batchAnalyzer.getMaxAnalysesInFlight());
+        assertTrue(batchAnalyzer.getPeakAnalyses() > 0);
+        assertTrue(batchAnalyzer.getPeakAnalyses() <= 2,
+                "At most " + batchAnalyzer.getMaxAnalysesInFlight() + " definitions may be held in memory.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if an analysis is only the current one of a thread while its rules are checked.")
+    void currentAnalysis() {
+        RestAnalyzer restAnalyzer = new RestAnalyzer(RULE_TESTS + "/lowercaseTests/lowercaseInvalid6Violations.json");
+
+        // outside of an analysis the rule still works, it only does not know the lines
+        List<Violation> outside = new LowercaseRule(true).checkViolation(restAnalyzer.openAPI);
+        List<Violation> inside = restAnalyzer.runRuleViolationChecks(List.of(new LowercaseRule(true)));
+
+        assertEquals(6, outside.size());
+        assertTrue(outside.stream().allMatch(violation -> violation.getLineViolation() == 0));
+        assertEquals(6, inside.size());
+        assertTrue(inside.stream().allMatch(violation -> violation.getLineViolation() > 0));
+        assertEquals(0, RestAnalyzer.getLocMapper().getLOCOfPath(inside.get(0).getKeyViolation()));
+    }
+
+    private static List<String> counts(List<BatchResult> results) {
+        return results.stream().map(result -> result.getLocation() + "=" + result.getViolationCount()
+                        + (result.getErrorMessage() != null ? " " + result.getErrorMessage() : ""))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+package cli.analyzer;
+
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    private static final String DEFINITION = "src/test/java/cli/rule/crudtest/InvalidOpenAPICRUDRule.json";
+
+    @AfterEach
+    void reset() {
+        RestAnalyzer.setRuleBudget(null);
+        RestAnalyzer.setAnalysisBudget(null);
+    }
+
+    @Test
+    @DisplayName("Test that checks if a token is cancelled by its budget, by itself and by its parent.")
+    void cancellation() {
+        CancellationToken analysis = new CancellationToken(null, null);
+        CancellationToken rule = new CancellationToken(Duration.ofHours(1), analysis);
+        assertFalse(rule.isCancelled());
+        assertFalse(rule.hasStopped());
+
+        analysis.cancel();
+        assertTrue(rule.isCancelled());
+        assertTrue(rule.hasStopped());
+        assertFalse(rule.isExpired(), "A cancelled token has not used up its budget.");
+
+        CancellationToken expired = new CancellationToken(Duration.ZERO, null);
+        assertTrue(expired.isExpired());
+        assertTrue(expired.isCancelled());
+
+        CancellationToken.none().cancel();
+        assertFalse(CancellationToken.none().isCancelled());
+    }
+
+    @Test
+    @DisplayName("Test that checks if rules without time left are stopped and reported as incomplete.")
+    void ruleBudgetUsedUp() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        RestAnalyzer.setRuleBudget(Duration.ZERO);
+        RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(rules);
+
+        assertTrue(violations.isEmpty(), "A rule without time left should not check any path.");
+        assertEquals(rules.stream().map(IRestRule::getTitle).sorted().collect(Collectors.toList()),
+                restAnalyzer.getIncompleteRules().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Test that checks if rules within their budget are complete.")
+    void budgetNotUsedUp() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        List<Violation> expected = new RestAnalyzer(DEFINITION).runRuleViolationChecks(rules);
+        RestAnalyzer.setRuleBudget(Duration.ofHours(1));
+        RestAnalyzer.setAnalysisBudget(Duration.ofHours(1));
+        RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(ActiveRules.copyRuleObjects(rules));
+
+        assertEquals(expected.size(), violations.size());
+        assertTrue(restAnalyzer.getIncompleteRules().isEmpty());
+    }
+}
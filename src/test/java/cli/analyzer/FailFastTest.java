@@ -0,0 +1,74 @@
+package cli.analyzer;
+
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.constants.RuleSeverity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailFastTest {
+
+    private static final String DEFINITION = "src/test/java/cli/rule/crudtest/InvalidOpenAPICRUDRule.json";
+
+    @AfterEach
+    void reset() {
+        RestAnalyzer.setRuleThreads(1);
+        AnalysisProfile.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Test that checks if the checks stop after the first rule with a violation of the severity.")
+    void stopAtFirstViolation() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        List<Violation> violations = new RestAnalyzer(DEFINITION).runRuleViolationChecks(rules);
+        assertTrue(violations.stream().anyMatch(violation -> isCritical(violation.getRule())),
+                "The definition should have critical violations.");
+
+        AnalysisProfile.setEnabled(true);
+        RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+        Optional<Violation> violation = restAnalyzer.findFirstViolation(ActiveRules.copyRuleObjects(rules),
+                RuleSeverity.CRITICAL);
+
+        assertTrue(violation.isPresent());
+        assertEquals(RuleSeverity.CRITICAL, violation.get().getRule().getSeverityType());
+        List<AnalysisProfile.Entry> checked = restAnalyzer.getProfile().getRules();
+        assertEquals(1, checked.stream().filter(entry -> entry.getViolations() > 0).count(),
+                "The checks should stop after the first rule with a violation.");
+        assertTrue(checked.stream().allMatch(entry -> rules.stream().anyMatch(rule ->
+                isCritical(rule) && rule.getClass().getSimpleName().equals(entry.getId()))),
+                "Only critical rules should be checked.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if no violation is found if no rule of the severity finds one.")
+    void noViolationOfSeverity() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(!isCritical(rule)));
+
+        assertTrue(new RestAnalyzer(DEFINITION).findFirstViolation(rules, RuleSeverity.CRITICAL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that checks if a violation of the severity is found with several rule threads.")
+    void parallelRuleChecks() {
+        RestAnalyzer.setRuleThreads(4);
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+
+        Optional<Violation> violation = new RestAnalyzer(DEFINITION).findFirstViolation(rules, RuleSeverity.ERROR);
+        assertTrue(violation.isPresent());
+        assertTrue(violation.get().getRule().getSeverityType().isAtLeast(RuleSeverity.ERROR));
+    }
+
+    private static boolean isCritical(IRestRule rule) {
+        return rule.getSeverityType() == RuleSeverity.CRITICAL;
+    }
+}
@@ -1,5 +1,6 @@
 package cli.analyzer;
 
+import cli.generator.SpecGenerator;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.apache.commons.io.FilenameUtils;
@@ -7,8 +8,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -43,6 +48,32 @@ class LOCMapperTest {
         assertEquals(183, this.mapper.getOpenAPIKeyLOC().get("paths").get("/movies"));
     }
 
+    @Test
+    void yamlAndQuotedPaths() throws IOException {
+        String yaml = "openapi: 3.0.1\ninfo:\n  title: Test\n  version: 1.0.0\npaths:\n"
+                + "  /users:\n    get:\n      responses:\n        '200':\n          description: OK\n"
+                + "  '/users/{id}':\n    get:\n      responses:\n        '200':\n          description: OK\n"
+                + "  \"/orders\":\n    get:\n      responses:\n        '200':\n          description: OK\n";
+        this.openAPI = new OpenAPIParser().readContents(yaml, null, null).getOpenAPI();
+        this.mapper = new LOCMapper(openAPI, null);
+        this.mapper.mapOpenAPIKeysToLOC(new BufferedReader(new StringReader(yaml)));
+        assertEquals(6, this.mapper.getLOCOfPath("/users"));
+        assertEquals(11, this.mapper.getLOCOfPath("/users/{id}"));
+        assertEquals(16, this.mapper.getLOCOfPath("/orders"));
+    }
+
+    @Test
+    void generatedDefinition() throws IOException {
+        String json = new SpecGenerator(3).paths(1000).generate(SpecGenerator.Format.JSON);
+        this.openAPI = new OpenAPIParser().readContents(json, null, null).getOpenAPI();
+        this.mapper = new LOCMapper(openAPI, null);
+        this.mapper.mapOpenAPIKeysToLOC(new BufferedReader(new StringReader(json)));
+        List<String> lines = List.of(json.split("\n"));
+        for (String path : this.openAPI.getPaths().keySet()) {
+            assertEquals("\"" + path + "\" : {", lines.get(this.mapper.getLOCOfPath(path) - 1).trim());
+        }
+    }
+
     @Test
     void fileNotFoundInput() {
         String fileNotFoundURL = "/asd/asd.json";
@@ -0,0 +1,98 @@
+package cli.analyzer;
+
+import cli.generator.SpecGenerator;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.rules.HyphensRule;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSampleTest {
+
+    private static final String DEFINITION = new SpecGenerator(1).paths(400).violationsPerRule(8)
+            .generate(SpecGenerator.Format.JSON);
+
+    @AfterEach
+    void reset() {
+        RestAnalyzer.setSampling(0, RestAnalyzer.DEFAULT_SAMPLE_SEED);
+    }
+
+    @Test
+    @DisplayName("Test that checks if every first segment is sampled and the same seed draws the same paths.")
+    void stratifiedSample() {
+        OpenAPI openAPI = new OpenAPIParser().readContents(DEFINITION, null, null).getOpenAPI();
+        PathSample sample = new PathSample(openAPI, 0.25, 7);
+
+        Set<String> sampledPaths = sample.getOpenAPI().getPaths().keySet();
+        assertTrue(sampledPaths.size() >= 100 && sampledPaths.size() < 400);
+        assertEquals(getFirstSegments(openAPI.getPaths().keySet()), getFirstSegments(sampledPaths));
+        assertEquals(new ArrayList<>(sampledPaths),
+                new ArrayList<>(new PathSample(openAPI, 0.25, 7).getOpenAPI().getPaths().keySet()));
+        assertNotEquals(new ArrayList<>(sampledPaths),
+                new ArrayList<>(new PathSample(openAPI, 0.25, 8).getOpenAPI().getPaths().keySet()));
+        assertSame(openAPI.getComponents(), sample.getOpenAPI().getComponents());
+    }
+
+    @Test
+    @DisplayName("Test that checks if the estimate of a complete sample is exact.")
+    void completeSample() {
+        OpenAPI openAPI = new OpenAPIParser().readContents(DEFINITION, null, null).getOpenAPI();
+        PathSample sample = new PathSample(openAPI, 1, 7);
+        List<String> violatingPaths = new ArrayList<>(openAPI.getPaths().keySet()).subList(0, 40);
+
+        PathSample.Estimate estimate = sample.estimate(new HyphensRule(true), violatingPaths);
+
+        assertEquals(0.1, estimate.getRate(), 1e-9);
+        assertEquals(estimate.getRate(), estimate.getLowerBound(), 1e-9);
+        assertEquals(estimate.getRate(), estimate.getUpperBound(), 1e-9);
+        assertEquals(40, estimate.getEstimatedViolatingPaths());
+    }
+
+    @Test
+    @DisplayName("Test that checks if only the rules that support sampling check the sample.")
+    void sampledRules() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        List<Violation> all = RestAnalyzer.fromContents(DEFINITION).runRuleViolationChecks(rules);
+
+        RestAnalyzer.setSampling(0.25, 7);
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(DEFINITION);
+        List<Violation> sampled = restAnalyzer.runRuleViolationChecks(ActiveRules.copyRuleObjects(rules));
+
+        for (IRestRule rule : rules) {
+            List<String> expected = getKeys(all, rule);
+            List<String> actual = getKeys(sampled, rule);
+            if (rule.supportsSampling())
+                assertTrue(expected.containsAll(actual), rule.getTitle());
+            else
+                assertEquals(expected, actual, rule.getTitle());
+        }
+        List<PathSample.Estimate> estimates = restAnalyzer.getSamplingEstimates();
+        assertEquals(rules.stream().filter(IRestRule::supportsSampling).count(), estimates.size());
+        for (PathSample.Estimate estimate : estimates) {
+            assertEquals(400, estimate.getTotalPaths());
+            assertTrue(estimate.getLowerBound() <= estimate.getRate() && estimate.getRate() <= estimate.getUpperBound());
+        }
+    }
+
+    private static Set<String> getFirstSegments(Set<String> paths) {
+        return paths.stream().map(path -> path.split("/")[1]).collect(Collectors.toSet());
+    }
+
+    private static List<String> getKeys(List<Violation> violations, IRestRule rule) {
+        return violations.stream().filter(violation -> violation.getRule().getTitle().equals(rule.getTitle()))
+                .map(violation -> violation.getKeyViolation() + " " + violation.getLineViolation())
+                .collect(Collectors.toList());
+    }
+}
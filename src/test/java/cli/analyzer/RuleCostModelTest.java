@@ -0,0 +1,109 @@
+package cli.analyzer;
+
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.ViolationSink;
+import cli.rule.rules.CRUDRule;
+import cli.rule.rules.FileExtensionRule;
+import cli.rule.rules.LowercaseRule;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCostModelTest {
+
+    private static final String DEFINITION = "src/test/java/cli/rule/crudtest/InvalidOpenAPICRUDRule.json";
+
+    @AfterEach
+    void reset() {
+        RestAnalyzer.setRuleThreads(1);
+        AnalysisProfile.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Test that checks if the declared costs of the rules scale with the number of paths.")
+    void declaredCosts() {
+        RuleCostModel costModel = new RuleCostModel();
+        IRestRule lowercase = new LowercaseRule(true);
+
+        assertTrue(costModel.estimate(new FileExtensionRule(true), 100) > costModel.estimate(lowercase, 100));
+        assertEquals(10 * costModel.estimate(lowercase, 10), costModel.estimate(lowercase, 100));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the estimate of a rule moves towards the measured time.")
+    void recordMeasurement() {
+        RuleCostModel costModel = new RuleCostModel();
+        IRestRule rule = new LowercaseRule(true);
+        long declared = costModel.estimate(rule, 10);
+        long measured = 1000 * declared;
+
+        costModel.record(rule, 10, measured);
+        long estimated = costModel.estimate(rule, 10);
+        assertTrue(estimated > declared && estimated < measured);
+        costModel.record(rule, 10, measured);
+        assertTrue(costModel.estimate(rule, 10) > estimated);
+    }
+
+    @Test
+    @DisplayName("Test that checks if rules checked on several threads find the same violations.")
+    void parallelRuleChecks() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        List<String> sequential = toStrings(new RestAnalyzer(DEFINITION).runRuleViolationChecks(rules));
+
+        RestAnalyzer.setRuleThreads(4);
+        AnalysisProfile.setEnabled(true);
+        RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+        List<String> parallel = toStrings(restAnalyzer.runRuleViolationChecks(ActiveRules.copyRuleObjects(rules)));
+
+        // the violations of the rules are passed on as they are found, so only their order may differ
+        assertEquals(sequential.stream().sorted().collect(Collectors.toList()),
+                parallel.stream().sorted().collect(Collectors.toList()));
+        AnalysisProfile profile = restAnalyzer.getProfile();
+        assertEquals(rules.stream().filter(IRestRule::getIsActive).count(), profile.getRules().size());
+        assertTrue(profile.getRules().stream().allMatch(entry -> entry.getEstimatedNanos() > 0));
+        assertTrue(profile.toMarkdownTable().contains("Estimated (ms)"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the violations of a rule are passed on while the rules before it are still checked.")
+    void parallelViolationsAreNotHeldBack() {
+        RestAnalyzer.setRuleThreads(4);
+        CountDownLatch crudViolation = new CountDownLatch(1);
+        AtomicBoolean passedOn = new AtomicBoolean();
+        // the first rule only finishes once the sink has received a violation of the rule after it
+        IRestRule waitingRule = new LowercaseRule(true) {
+            @Override
+            public void checkViolation(OpenAPI openAPI, ViolationSink sink) {
+                try {
+                    passedOn.set(crudViolation.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.checkViolation(openAPI, sink);
+            }
+        };
+
+        new RestAnalyzer(DEFINITION).runRuleViolationChecks(List.of(waitingRule, new CRUDRule(true)), violation -> {
+            if (violation.getRule() instanceof CRUDRule)
+                crudViolation.countDown();
+        });
+
+        assertTrue(passedOn.get(), "The violations of the second rule should not wait for the first rule.");
+    }
+
+    private static List<String> toStrings(List<Violation> violations) {
+        return violations.stream().map(violation -> violation.getRule().getTitle() + " " + violation.getKeyViolation()
+                + " " + violation.getLineViolation()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,159 @@
+package cli.analyzer;
+
+import cli.generator.SpecGenerator;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.rules.UnauthorizedRule;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecDiffTest {
+
+    private static final String DEFINITION = new SpecGenerator(3).paths(60).generate(SpecGenerator.Format.JSON);
+    private static final String NEW_PATH = "/order_Items";
+
+    @Test
+    @DisplayName("Test that checks if two equal definitions have no changed paths.")
+    void unchanged() {
+        SpecDiff diff = new SpecDiff(parse(DEFINITION), parse(DEFINITION));
+
+        assertTrue(diff.isEmpty());
+        assertTrue(diff.getChangedComponents().isEmpty());
+        assertTrue(diff.getHeadOpenAPI().getPaths().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that checks if new paths and changed operations are found.")
+    void changedOperations() {
+        OpenAPI head = parse(DEFINITION);
+        String changedPath = head.getPaths().keySet().iterator().next();
+        Map.Entry<PathItem.HttpMethod, Operation> operation = head.getPaths().get(changedPath).readOperationsMap()
+                .entrySet().iterator().next();
+        operation.getValue().setSummary("A changed summary");
+        head.getPaths().addPathItem(NEW_PATH, newPathItem());
+
+        SpecDiff diff = new SpecDiff(parse(DEFINITION), head);
+
+        assertEquals(List.of(changedPath, NEW_PATH), new ArrayList<>(diff.getChangedPaths().keySet()));
+        assertEquals(List.of(operation.getKey()), diff.getChangedPaths().get(changedPath));
+        assertEquals(List.of(PathItem.HttpMethod.GET), diff.getChangedPaths().get(NEW_PATH));
+        assertEquals(List.of(changedPath), new ArrayList<>(diff.getBaseOpenAPI().getPaths().keySet()));
+        assertSame(head.getComponents(), diff.getHeadOpenAPI().getComponents());
+    }
+
+    @Test
+    @DisplayName("Test that checks if the paths that reference a changed component are changed.")
+    void changedComponent() {
+        OpenAPI head = parse(DEFINITION);
+        // the first schema is the error of every response, the second one belongs to the paths of one resource
+        Map.Entry<String, Schema> schema = new ArrayList<>(head.getComponents().getSchemas().entrySet()).get(1);
+        schema.getValue().setDescription("A changed description");
+
+        SpecDiff diff = new SpecDiff(parse(DEFINITION), head);
+
+        assertTrue(diff.getChangedComponents().contains("schemas/" + schema.getKey()));
+        assertFalse(diff.isEmpty());
+        assertTrue(diff.getChangedPaths().size() < head.getPaths().size(),
+                "Only the paths that reference the schema should be changed.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if a change of the global security or of a security scheme changes every path.")
+    void changedSecurity() {
+        OpenAPI base = parse(DEFINITION);
+        base.setSecurity(null);
+        OpenAPI head = parse(DEFINITION);
+
+        SpecDiff diff = new SpecDiff(base, head);
+
+        assertEquals(head.getPaths().size(), diff.getChangedPaths().size());
+        head.getPaths().forEach((path, pathItem) -> assertEquals(pathItem.readOperationsMap().size(),
+                diff.getChangedPaths().get(path).size()));
+
+        OpenAPI changedScheme = parse(DEFINITION);
+        changedScheme.getComponents().getSecuritySchemes().values().iterator().next().setBearerFormat("JWT");
+        assertEquals(head.getPaths().size(), new SpecDiff(parse(DEFINITION), changedScheme).getChangedPaths().size());
+    }
+
+    @Test
+    @DisplayName("Test that checks if the missing 401 responses are new violations when global security is added.")
+    void addedGlobalSecurity() {
+        String definition = new SpecGenerator(3).paths(60).violationsPerRule(2).generate(SpecGenerator.Format.JSON);
+        OpenAPI base = parse(definition);
+        base.setSecurity(null);
+        List<Violation> baseViolations = RestAnalyzer.fromContents(Json.pretty(base)).runRuleViolationChecks(getRules());
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(definition);
+        SpecDiff diff = new SpecDiff(parse(Json.pretty(base)), restAnalyzer.openAPI);
+        restAnalyzer.setScope(diff.getHeadOpenAPI());
+        restAnalyzer.setViolationFilter(SpecDiff.newViolations(baseViolations));
+
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(getRules());
+
+        assertFalse(violations.isEmpty());
+        assertTrue(violations.stream().allMatch(violation -> violation.getRule() instanceof UnauthorizedRule),
+                "Only the missing 401 responses should be new.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if only the new violations of the changed paths are reported.")
+    void newViolations() {
+        OpenAPI head = parse(DEFINITION);
+        head.getPaths().addPathItem(NEW_PATH, newPathItem());
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(Json.pretty(head));
+        SpecDiff diff = new SpecDiff(parse(DEFINITION), restAnalyzer.openAPI);
+        restAnalyzer.setScope(diff.getHeadOpenAPI());
+        restAnalyzer.setViolationFilter(SpecDiff.newViolations(List.of()));
+
+        List<Violation> violations = restAnalyzer.runRuleViolationChecks(getRules());
+
+        assertFalse(violations.isEmpty());
+        for (Violation violation : violations) {
+            assertTrue(violation.getKeyViolation().contains(NEW_PATH), violation.getKeyViolation());
+            assertTrue(violation.getLineViolation() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that checks if every violation of the base only cancels out one violation of the head.")
+    void knownViolations() {
+        List<Violation> baseViolations = RestAnalyzer.fromContents(
+                new SpecGenerator(3).paths(60).violationsPerRule(2).generate(SpecGenerator.Format.JSON))
+                .runRuleViolationChecks(getRules());
+        assertFalse(baseViolations.isEmpty());
+        Predicate<Violation> filter = SpecDiff.newViolations(baseViolations);
+
+        assertTrue(baseViolations.stream().noneMatch(filter));
+        assertTrue(filter.test(baseViolations.get(0)));
+    }
+
+    private static OpenAPI parse(String contents) {
+        return new OpenAPIParser().readContents(contents, null, null).getOpenAPI();
+    }
+
+    private static PathItem newPathItem() {
+        return new PathItem().get(new Operation().responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("The order items"))));
+    }
+
+    private static List<IRestRule> getRules() {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        return rules;
+    }
+}
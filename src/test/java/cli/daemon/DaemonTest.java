@@ -0,0 +1,82 @@
+package cli.daemon;
+
+import cli.analyzer.RestAnalyzer;
+import cli.rule.ActiveRules;
+import cli.rule.Violation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaemonTest {
+
+    private static final String URL = "src/test/java/cli/rule/underscoreTest/InvalidOpenAPIUnderscroeRule.json";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test that checks if the daemon finds the same violations as an analysis in the same process.")
+    void analyzeWithDaemon() throws Exception {
+        Path socket = tempDir.resolve("daemon.sock");
+        DaemonServer server = new DaemonServer(socket, Duration.ofMinutes(1), 2);
+        Thread serverThread = startServer(server, socket);
+
+        Optional<List<DaemonViolation>> violations = new DaemonClient(socket).analyze(Path.of(URL).toAbsolutePath().toString());
+        List<Violation> expected = new RestAnalyzer(URL).runRuleViolationChecks(new ActiveRules().getAllRuleObjects());
+
+        assertTrue(violations.isPresent(), "The daemon should answer the client.");
+        assertEquals(expected.size(), violations.get().size(), "The daemon should find the same violations.");
+        assertTrue(violations.get().stream().anyMatch(v -> v.getRuleTitle().equals("Underscores (_) should not be used in URI")));
+
+        assertTrue(new DaemonClient(socket).shutdown(), "The daemon should stop on request.");
+        serverThread.join(10_000);
+        assertFalse(server.isRunning());
+        assertFalse(Files.exists(socket), "The socket file should be removed.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if the daemon shuts down after the idle timeout.")
+    void idleTimeout() throws Exception {
+        Path socket = tempDir.resolve("idle.sock");
+        DaemonServer server = new DaemonServer(socket, Duration.ofMillis(300), 1);
+        Thread serverThread = startServer(server, socket);
+
+        serverThread.join(10_000);
+        assertFalse(serverThread.isAlive(), "The daemon should shut down when it is idle.");
+        assertEquals(Optional.empty(), new DaemonClient(socket).analyze(URL), "No daemon should answer anymore.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if violations with special characters are transferred unchanged.")
+    void escapeFields() {
+        String field = "a\tb\\n\nc\\";
+        assertEquals(field, DaemonProtocol.unescape(DaemonProtocol.escape(field)));
+        assertFalse(DaemonProtocol.escape(field).contains("\t"));
+        assertFalse(DaemonProtocol.escape(field).contains("\n"));
+    }
+
+    private static Thread startServer(DaemonServer server, Path socket) throws InterruptedException {
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        serverThread.start();
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!server.isRunning() && serverThread.isAlive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(socket), "The daemon should listen on the socket.");
+        return serverThread;
+    }
+}
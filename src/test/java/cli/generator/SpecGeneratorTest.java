@@ -0,0 +1,69 @@
+package cli.generator;
+
+import cli.analyzer.RestAnalyzer;
+import cli.rule.IRestRule;
+import cli.rule.rules.ContentTypeRule;
+import cli.rule.rules.FileExtensionRule;
+import cli.rule.rules.LowercaseRule;
+import cli.rule.rules.TrailingRule;
+import cli.rule.rules.TunnelingRule;
+import cli.rule.rules.UnauthorizedRule;
+import cli.rule.rules.UnderscoreRule;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecGeneratorTest {
+
+    @Test
+    @DisplayName("Test that checks if the same seed always generates the same definition.")
+    void deterministic() {
+        String first = new SpecGenerator(7).paths(200).violationsPerRule(2).generate(SpecGenerator.Format.JSON);
+        String second = new SpecGenerator(7).paths(200).violationsPerRule(2).generate(SpecGenerator.Format.JSON);
+        String other = new SpecGenerator(8).paths(200).violationsPerRule(2).generate(SpecGenerator.Format.JSON);
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    @DisplayName("Test that checks if the JSON and the YAML definition are valid and contain the same paths.")
+    void jsonAndYaml() {
+        SpecGenerator generator = new SpecGenerator(1).paths(500).operations(4);
+        OpenAPI json = new OpenAPIParser().readContents(generator.generate(SpecGenerator.Format.JSON), null, null)
+                .getOpenAPI();
+        OpenAPI yaml = new OpenAPIParser().readContents(generator.generate(SpecGenerator.Format.YAML), null, null)
+                .getOpenAPI();
+
+        assertEquals(500, json.getPaths().size());
+        assertEquals(json.getPaths().keySet(), yaml.getPaths().keySet());
+        assertNotNull(json.getComponents().getSchemas().get("OrderDetails1"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the rules without NLP find exactly the injected violations.")
+    void injectedViolations() {
+        int violationsPerRule = 3;
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(new SpecGenerator(11).paths(300)
+                .violationsPerRule(violationsPerRule).generate(SpecGenerator.Format.JSON));
+
+        for (IRestRule rule : List.of(new ContentTypeRule(true), new FileExtensionRule(true),
+                new LowercaseRule(true), new TrailingRule(true), new TunnelingRule(true), new UnauthorizedRule(true),
+                new UnderscoreRule(true))) {
+            assertEquals(violationsPerRule, restAnalyzer.runRuleViolationChecks(List.of(rule)).size(),
+                    rule.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that checks if more injected violations than paths are rejected.")
+    void tooManyViolations() {
+        SpecGenerator generator = new SpecGenerator(1).paths(10).violationsPerRule(1);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(SpecGenerator.Format.JSON));
+    }
+}
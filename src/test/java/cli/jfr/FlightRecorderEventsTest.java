@@ -0,0 +1,67 @@
+package cli.jfr;
+
+import cli.analyzer.RestAnalyzer;
+import cli.report.Report;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.rule.ViolationSink;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private static final String DEFINITION = "src/test/java/cli/rule/crudtest/InvalidOpenAPICRUDRule.json";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test that checks if fetching, parsing, line mapping, every rule and the report are recorded.")
+    void analysisEvents() throws IOException {
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        Path recordingFile = tempDir.resolve("analysis.jfr");
+        int violationCount;
+        try (Recording recording = new Recording()) {
+            recording.enable("restruler.*");
+            recording.start();
+            RestAnalyzer restAnalyzer = new RestAnalyzer(DEFINITION);
+            try (ViolationSink report = Report.getInstance().openReportFile(tempDir.resolve("Report.md"), DEFINITION, rules)) {
+                violationCount = restAnalyzer.runRuleViolationChecks(rules, report);
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertEquals(1, count(events, "restruler.Fetch"));
+        assertEquals(1, count(events, "restruler.LocMapping"));
+        RecordedEvent parse = events.stream().filter(event -> event.getEventType().getName().equals("restruler.Parse"))
+                .findFirst().orElseThrow();
+        assertTrue(parse.getBoolean("successful"));
+        assertTrue(parse.getInt("segmentCount") >= parse.getInt("pathCount"));
+
+        List<RecordedEvent> ruleEvents = events.stream()
+                .filter(event -> event.getEventType().getName().equals("restruler.Rule")).collect(Collectors.toList());
+        assertEquals(rules.stream().filter(IRestRule::getIsActive).count(), ruleEvents.size());
+        assertEquals(violationCount, ruleEvents.stream().mapToInt(event -> event.getInt("violationCount")).sum());
+
+        RecordedEvent report = events.stream().filter(event -> event.getEventType().getName().equals("restruler.Report"))
+                .findFirst().orElseThrow();
+        assertEquals(violationCount, report.getInt("violationCount"));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+}
@@ -0,0 +1,200 @@
+package cli.performance;
+
+import cli.analyzer.AnalysisProfile;
+import cli.analyzer.RestAnalyzer;
+import cli.generator.SpecGenerator;
+import cli.rule.ActiveRules;
+import cli.rule.IRestRule;
+import cli.utility.Output;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the whole analysis (line mapping and all rules) on generated definitions of a fixed size and compares time and
+ * allocated bytes per path and the peak heap with the committed baseline. The time is the CPU time of the analysis,
+ * which depends less on other processes than the wall time; the wall time is only used if the JVM cannot measure the
+ * CPU time. Run with
+ * {@code ./gradlew performanceTest}; {@code -Pperformance.updateBaseline=true} writes the measured values as new
+ * baseline and {@code -Pperformance.tolerance=3} allows more than the tolerance of the baseline file.
+ */
+@Tag("performance")
+class PipelinePerformanceTest {
+
+    private static final Path BASELINE = Path.of("src/test/java/cli/performance/baseline.properties");
+    private static final int SMALL = 500;
+    private static final int LARGE = 2000;
+    private static final long SEED = 1;
+    // the fastest of several analyses is taken, it depends least on other processes and the garbage collector
+    private static final int REPETITIONS = 3;
+    // time per path may grow a little with the size, but not with the number of paths like a quadratic algorithm
+    private static final double MAX_GROWTH_PER_PATH = 2.5;
+    private static final Properties baseline = new Properties();
+    private static final Properties measured = new Properties();
+    private static final Map<Integer, Measurement> measurements = new HashMap<>();
+
+    @BeforeAll
+    static void loadBaseline() throws IOException {
+        Output.setInteractive(false);
+        if (Files.exists(BASELINE)) {
+            try (Reader in = Files.newBufferedReader(BASELINE, StandardCharsets.UTF_8)) {
+                baseline.load(in);
+            }
+        }
+        RestAnalyzer.warmUp();
+        // the first analysis is slower since the hot code of the rules is compiled while it runs
+        measure(LARGE);
+    }
+
+    @AfterAll
+    static void updateBaseline() throws IOException {
+        if (!Boolean.getBoolean("performance.updateBaseline"))
+            return;
+        measured.setProperty("tolerance", baseline.getProperty("tolerance", "2.0"));
+        StringBuilder properties = new StringBuilder("# Baseline of PipelinePerformanceTest, written with "
+                + "./gradlew performanceTest -Pperformance.updateBaseline=true\n");
+        new TreeMap<>(measured).forEach((key, value) -> properties.append(key).append('=').append(value).append('\n'));
+        try (Writer out = Files.newBufferedWriter(BASELINE, StandardCharsets.UTF_8)) {
+            out.write(properties.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that checks if the analysis of a definition with 500 paths stays within the baseline.")
+    void smallDefinition() {
+        assertWithinBaseline(SMALL, measurement(SMALL));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the analysis of a definition with 2000 paths stays within the baseline.")
+    void largeDefinition() {
+        assertWithinBaseline(LARGE, measurement(LARGE));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the time per path does not grow with the number of paths.")
+    void linearScaling() {
+        Measurement small = measurement(SMALL);
+        Measurement large = measurement(LARGE);
+
+        assertTrue(large.timeNanosPerPath <= small.timeNanosPerPath * MAX_GROWTH_PER_PATH,
+                String.format(Locale.ROOT, "%.0f ns per path with %d paths, but %.0f ns per path with %d paths",
+                        large.timeNanosPerPath, LARGE, small.timeNanosPerPath, SMALL));
+        if (small.allocatedBytesPerPath >= 0 && large.allocatedBytesPerPath >= 0)
+            assertTrue(large.allocatedBytesPerPath <= small.allocatedBytesPerPath * MAX_GROWTH_PER_PATH,
+                    String.format(Locale.ROOT, "%.0f bytes per path with %d paths, but %.0f bytes per path with %d "
+                            + "paths", large.allocatedBytesPerPath, LARGE, small.allocatedBytesPerPath, SMALL));
+    }
+
+    private static void assertWithinBaseline(int paths, Measurement measurement) {
+        measured.setProperty(paths + ".timeNanosPerPath",
+                String.valueOf(Math.round(measurement.timeNanosPerPath)));
+        measured.setProperty(paths + ".allocatedBytesPerPath",
+                String.valueOf(Math.round(measurement.allocatedBytesPerPath)));
+        measured.setProperty(paths + ".peakHeapBytes", String.valueOf(measurement.peakHeapBytes));
+        if (Boolean.getBoolean("performance.updateBaseline"))
+            return;
+
+        double tolerance = Double.parseDouble(System.getProperty("performance.tolerance",
+                baseline.getProperty("tolerance", "2.0")));
+        assertBelow(paths + ".timeNanosPerPath", measurement.timeNanosPerPath, tolerance);
+        if (measurement.allocatedBytesPerPath >= 0)
+            assertBelow(paths + ".allocatedBytesPerPath", measurement.allocatedBytesPerPath, tolerance);
+        assertBelow(paths + ".peakHeapBytes", measurement.peakHeapBytes, tolerance);
+    }
+
+    private static void assertBelow(String key, double value, double tolerance) {
+        String expected = baseline.getProperty(key);
+        assertNotNull(expected, "No baseline for " + key + " in " + BASELINE);
+        double limit = Double.parseDouble(expected) * tolerance;
+        assertTrue(value <= limit, String.format(Locale.ROOT, "%s is %.0f, but the baseline allows at most %.0f "
+                + "(%s x %.1f)", key, value, limit, expected, tolerance));
+    }
+
+    /**
+     * @return the lowest values of several analyses of the given size, every size is only measured once
+     */
+    private static Measurement measurement(int paths) {
+        return measurements.computeIfAbsent(paths, size -> {
+            Measurement best = measure(size);
+            for (int i = 1; i < REPETITIONS; i++) {
+                Measurement next = measure(size);
+                best = new Measurement(Math.min(best.timeNanosPerPath, next.timeNanosPerPath),
+                        Math.min(best.allocatedBytesPerPath, next.allocatedBytesPerPath),
+                        Math.min(best.peakHeapBytes, next.peakHeapBytes));
+            }
+            return best;
+        });
+    }
+
+    /**
+     * Analyzes a generated definition with all rules.
+     */
+    private static Measurement measure(int paths) {
+        String contents = new SpecGenerator(SEED).paths(paths).violationsPerRule(paths / 100)
+                .generate(SpecGenerator.Format.JSON);
+        List<IRestRule> rules = ActiveRules.copyRuleObjects(new ActiveRules().getAllRuleObjects());
+        rules.forEach(rule -> rule.setIsActive(true));
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).collect(Collectors.toList());
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        AnalysisProfile.setEnabled(true);
+        try {
+            RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(contents);
+            restAnalyzer.runRuleViolationChecks(rules);
+            AnalysisProfile profile = restAnalyzer.getProfile();
+
+            long wallNanos = 0;
+            long cpuNanos = 0;
+            long allocatedBytes = 0;
+            List<AnalysisProfile.Entry> entries = profile.getPhases();
+            entries.addAll(profile.getRules());
+            for (AnalysisProfile.Entry entry : entries) {
+                wallNanos += entry.getWallNanos();
+                cpuNanos = cpuNanos < 0 || entry.getCpuNanos() < 0 ? -1 : cpuNanos + entry.getCpuNanos();
+                allocatedBytes = allocatedBytes < 0 || entry.getAllocatedBytes() < 0
+                        ? -1 : allocatedBytes + entry.getAllocatedBytes();
+            }
+            long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            return new Measurement((double) (cpuNanos < 0 ? wallNanos : cpuNanos) / paths,
+                    allocatedBytes < 0 ? -1 : (double) allocatedBytes / paths, peakHeapBytes);
+        } finally {
+            AnalysisProfile.setEnabled(false);
+        }
+    }
+
+    private static class Measurement {
+        private final double timeNanosPerPath;
+        private final double allocatedBytesPerPath;
+        private final long peakHeapBytes;
+
+        Measurement(double timeNanosPerPath, double allocatedBytesPerPath, long peakHeapBytes) {
+            this.timeNanosPerPath = timeNanosPerPath;
+            this.allocatedBytesPerPath = allocatedBytesPerPath;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package cli.report;
+
+import cli.rule.Violation;
+import cli.rule.rules.UnderscoreRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonReportWriterTest {
+
+    @Test
+    @DisplayName("Test that checks if every violation is written as one JSON object per line as soon as it is received.")
+    void oneObjectPerLine() throws IOException {
+        UnderscoreRule rule = new UnderscoreRule(true);
+        StringWriter out = new StringWriter();
+        NdjsonReportWriter writer = new NdjsonReportWriter(out, "openapi.yaml", true, false);
+
+        writer.accept(new Violation(rule, 7, "Use hyphens", "/user_id", "Underscore found"));
+        assertTrue(out.toString().endsWith("}\n"), "The line should be written before the writer is closed.");
+        writer.accept(new Violation(rule, 9, null, "/order_id", null));
+        writer.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("openapi.yaml", first.get("location").asText());
+        assertEquals(7, first.get("line").asInt());
+        assertEquals("/user_id", first.get("key").asText());
+        assertEquals(rule.getTitle(), first.get("rule").asText());
+        assertEquals(rule.getSeverityType().name(), first.get("severity").asText());
+        assertEquals("Use hyphens", first.get("suggestion").asText());
+        assertTrue(new ObjectMapper().readTree(lines[1]).get("suggestion").isNull());
+    }
+}
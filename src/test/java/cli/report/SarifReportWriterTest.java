@@ -0,0 +1,61 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.rules.CRUDRule;
+import cli.rule.rules.LowercaseRule;
+import cli.rule.rules.UnderscoreRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SarifReportWriterTest {
+
+    @Test
+    @DisplayName("Test that checks if the SARIF log describes every active rule once and references it from the results.")
+    void sarifLog() throws IOException {
+        IRestRule underscoreRule = new UnderscoreRule(true);
+        IRestRule lowercaseRule = new LowercaseRule(true);
+        List<IRestRule> rules = List.of(underscoreRule, lowercaseRule, new CRUDRule(false));
+
+        StringWriter out = new StringWriter();
+        try (SarifReportWriter writer = new SarifReportWriter(out, "specs/openapi.json", rules)) {
+            writer.accept(new Violation(lowercaseRule, 12, "Use lowercase", "/Users", "Uppercase letter found"));
+            // a copy of the rule from another analysis refers to the same metadata
+            writer.accept(new Violation(new UnderscoreRule(true), 20, "Use hyphens", "/user_id", "Underscore found"));
+            writer.accept(new Violation(underscoreRule, 0, null, "/other_id", null));
+        }
+
+        JsonNode log = new ObjectMapper().readTree(out.toString());
+        assertEquals("2.1.0", log.get("version").asText());
+        JsonNode run = log.get("runs").get(0);
+        JsonNode ruleNodes = run.get("tool").get("driver").get("rules");
+        assertEquals(2, ruleNodes.size(), "Only the active rules should be described.");
+        assertEquals("UnderscoreRule", ruleNodes.get(0).get("id").asText());
+        assertEquals(underscoreRule.getCategory().name(), ruleNodes.get(0).get("properties").get("category").asText());
+
+        JsonNode results = run.get("results");
+        assertEquals(3, results.size());
+        assertEquals("LowercaseRule", results.get(0).get("ruleId").asText());
+        assertEquals(1, results.get(0).get("ruleIndex").asInt());
+        assertEquals(0, results.get(1).get("ruleIndex").asInt());
+
+        JsonNode location = results.get(0).get("locations").get(0);
+        assertEquals("specs/openapi.json", location.get("physicalLocation").get("artifactLocation").get("uri").asText());
+        assertEquals(12, location.get("physicalLocation").get("region").get("startLine").asInt());
+        assertEquals("/Users", location.get("logicalLocations").get(0).get("fullyQualifiedName").asText());
+        assertEquals("Use lowercase", results.get(0).get("properties").get("improvementSuggestion").asText());
+
+        // unmapped lines have no region, missing messages fall back to the rule title
+        JsonNode unmapped = results.get(2);
+        assertNull(unmapped.get("locations").get(0).get("physicalLocation").get("region"));
+        assertEquals(underscoreRule.getTitle(), unmapped.get("message").get("text").asText());
+    }
+}
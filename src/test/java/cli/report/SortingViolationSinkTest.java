@@ -0,0 +1,78 @@
+package cli.report;
+
+import cli.rule.IRestRule;
+import cli.rule.Violation;
+import cli.rule.rules.LowercaseRule;
+import cli.rule.rules.UnderscoreRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.steppschuh.markdowngenerator.table.Table;
+import net.steppschuh.markdowngenerator.text.heading.Heading;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortingViolationSinkTest {
+
+    @Test
+    @DisplayName("Test that checks if violations spilled to temporary files are merged in the same order as sorted in memory.")
+    void externalSort() throws IOException {
+        List<Violation> violations = createViolations(2500);
+        List<Violation> expected = new ArrayList<>(violations);
+        expected.sort(Violation.getComparator());
+
+        List<Violation> sorted = new ArrayList<>();
+        try (SortingViolationSink sink = new SortingViolationSink(sorted::add, 100)) {
+            violations.forEach(sink::accept);
+        }
+
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(Violation.getComparator().compare(sorted.get(i - 1), sorted.get(i)) <= 0, "The violations should be sorted.");
+        }
+        // violations with the same line, key and rule may be in another order, but nothing may be lost or changed
+        assertEquals(describe(expected).stream().sorted().toList(), describe(sorted).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Test that checks if the streamed Markdown table looks like the table of the Markdown library.")
+    void streamedTable() throws IOException {
+        List<Violation> violations = createViolations(20);
+        Table.Builder expected = new Table.Builder().addRow("Line No.", "Line", "Rule Violated");
+        violations.forEach(v -> expected.addRow(v.getLineViolation(), v.getKeyViolation(), v.getRule().getTitle()));
+
+        StringWriter out = new StringWriter();
+        try (MarkdownReportWriter writer = new MarkdownReportWriter(out, false, true)) {
+            violations.forEach(writer::accept);
+        }
+
+        assertEquals(new Heading(Report.REPORT_HEADING, 1) + "\n" + expected.build() + "\n", out.toString());
+    }
+
+    private static List<Violation> createViolations(int count) {
+        Random random = new Random(42);
+        IRestRule[] rules = {new UnderscoreRule(true), new LowercaseRule(true)};
+        List<Violation> violations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String key = "/path_" + random.nextInt(50);
+            violations.add(new Violation(rules[random.nextInt(rules.length)], random.nextInt(300),
+                    i % 7 == 0 ? null : "suggestion " + i, key, "message\t" + i));
+        }
+        return violations;
+    }
+
+    private static List<String> describe(List<Violation> violations) {
+        List<String> descriptions = new ArrayList<>();
+        for (Violation v : violations) {
+            descriptions.add(v.getLineViolation() + "|" + v.getKeyViolation() + "|" + v.getRule().getTitle() + "|"
+                    + v.getImprovementSuggestion() + "|" + v.getErrorMessage());
+        }
+        return descriptions;
+    }
+}
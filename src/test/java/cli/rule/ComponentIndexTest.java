@@ -0,0 +1,51 @@
+package cli.rule;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentIndexTest {
+
+    @Test
+    @DisplayName("Test that checks if only existing components with content or schema are resolved as defined.")
+    void resolveComponents() {
+        Content content = new Content().addMediaType("application/json", new MediaType().schema(new StringSchema()));
+        Components components = new Components()
+                .addResponses("Ok", new ApiResponse().content(content))
+                .addResponses("NoContent", new ApiResponse().content(new Content()))
+                .addRequestBodies("User", new RequestBody().content(content))
+                .addRequestBodies("Empty", new RequestBody())
+                .addParameters("userId", new Parameter().name("userId").schema(new StringSchema()))
+                .addParameters("noSchema", new Parameter().name("noSchema"));
+
+        ComponentIndex componentIndex = new ComponentIndex(new OpenAPI().components(components));
+
+        assertTrue(componentIndex.hasResponseContent("Ok"));
+        assertFalse(componentIndex.hasResponseContent("NoContent"));
+        assertFalse(componentIndex.hasResponseContent("Missing"));
+        assertFalse(componentIndex.hasResponseContent("User"));
+        assertTrue(componentIndex.hasRequestBodyContent("User"));
+        assertFalse(componentIndex.hasRequestBodyContent("Empty"));
+        assertTrue(componentIndex.hasParameterSchema("userId"));
+        assertFalse(componentIndex.hasParameterSchema("noSchema"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if a definition without components resolves nothing.")
+    void withoutComponents() {
+        ComponentIndex componentIndex = new ComponentIndex(new OpenAPI());
+
+        assertFalse(componentIndex.hasResponseContent("Ok"));
+        assertFalse(componentIndex.hasRequestBodyContent("User"));
+        assertFalse(componentIndex.hasParameterSchema("userId"));
+    }
+}
@@ -0,0 +1,128 @@
+package cli.rule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinguisticCacheTest {
+
+    private static final List<String> SEGMENTS = List.of("users", "order-items", "getCustomer", "approve", "x-2");
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void closeCache() {
+        LinguisticCache.close();
+    }
+
+    @Test
+    @DisplayName("Test that checks if the tags and splits of a run are read from the cache file in the next run.")
+    void reuseAcrossRuns() throws IOException {
+        Map<String, String> tags = new HashMap<>();
+        Map<String, List<String>> splits = new HashMap<>();
+        for (String segment : SEGMENTS) {
+            tags.put(segment, Utility.getTokenNLP(segment));
+            splits.put(segment, Utility.splitContiguousWords(segment));
+        }
+
+        LinguisticCache first = LinguisticCache.open(this.directory);
+        assertEquals(0, first.size());
+        for (String segment : SEGMENTS) {
+            assertEquals(tags.get(segment), Utility.getTokenNLP(segment));
+            assertEquals(splits.get(segment), Utility.splitContiguousWords(segment));
+        }
+        LinguisticCache.close();
+        assertTrue(Files.size(first.getFile()) > 0);
+
+        LinguisticCache second = LinguisticCache.open(this.directory);
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(2 * SEGMENTS.size(), second.size());
+        for (String segment : SEGMENTS) {
+            assertTrue(second.containsTag(segment), segment);
+            assertEquals(tags.get(segment), second.getTag(segment));
+            assertEquals(splits.get(segment), second.getSplit(segment));
+            assertEquals(splits.get(segment), Utility.splitContiguousWords(segment));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that checks if a cache file with an incomplete last entry is read up to that entry.")
+    void incompleteEntry() throws IOException {
+        LinguisticCache cache = new LinguisticCache(this.directory, "test");
+        cache.putTag("users", "NNS");
+        cache.putSplit("orderitems", List.of("order items"));
+        cache.flush();
+        Files.write(cache.getFile(), new byte[]{'S', 0, 9, 'u'}, StandardOpenOption.APPEND);
+
+        LinguisticCache reopened = new LinguisticCache(this.directory, "test");
+        assertEquals(2, reopened.size());
+        assertEquals("NNS", reopened.getTag("users"));
+        assertEquals(List.of("order items"), reopened.getSplit("orderitems"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the entries appended after an incomplete entry can be read.")
+    void appendAfterIncompleteEntry() throws IOException {
+        LinguisticCache cache = new LinguisticCache(this.directory, "test");
+        cache.putTag("users", "NNS");
+        cache.putSplit("orderitems", List.of("order items"));
+        cache.flush();
+        // cut off the last entry in the middle, as if the JVM was killed while writing it
+        byte[] contents = Files.readAllBytes(cache.getFile());
+        Files.write(cache.getFile(), Arrays.copyOf(contents, contents.length - 3));
+
+        LinguisticCache reopened = new LinguisticCache(this.directory, "test");
+        assertEquals(1, reopened.size());
+        reopened.putTag("approve", "VB");
+        reopened.putSplit("getcustomer", List.of("get customer"));
+        reopened.flush();
+
+        LinguisticCache reloaded = new LinguisticCache(this.directory, "test");
+        assertEquals(3, reloaded.size());
+        assertEquals("NNS", reloaded.getTag("users"));
+        assertEquals("VB", reloaded.getTag("approve"));
+        assertEquals(List.of("get customer"), reloaded.getSplit("getcustomer"));
+        assertNull(reloaded.getSplit("orderitems"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if the entries another process appended are kept.")
+    void appendedByOtherProcess() throws IOException {
+        LinguisticCache first = new LinguisticCache(this.directory, "test");
+        LinguisticCache second = new LinguisticCache(this.directory, "test");
+        first.putTag("users", "NNS");
+        first.flush();
+        second.putTag("approve", "VB");
+        second.flush();
+
+        LinguisticCache reloaded = new LinguisticCache(this.directory, "test");
+        assertEquals("NNS", reloaded.getTag("users"));
+        assertEquals("VB", reloaded.getTag("approve"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if another model or dictionary uses another cache file.")
+    void otherChecksum() throws IOException {
+        LinguisticCache cache = new LinguisticCache(this.directory, "a");
+        cache.putTag("users", "NNS");
+        cache.flush();
+
+        LinguisticCache other = new LinguisticCache(this.directory, "b");
+        assertNotEquals(cache.getFile(), other.getFile());
+        assertEquals(0, other.size());
+        assertFalse(LinguisticCache.getChecksum().isEmpty());
+    }
+}
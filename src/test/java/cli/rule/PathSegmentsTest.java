@@ -0,0 +1,53 @@
+package cli.rule;
+
+import cli.analyzer.RestAnalyzer;
+import cli.generator.SpecGenerator;
+import cli.rule.rules.HyphensRule;
+import cli.rule.rules.PluralNameRule;
+import cli.rule.rules.SingularDocumentNameRule;
+import cli.rule.rules.VerbPhraseRule;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSegmentsTest {
+
+    @Test
+    @DisplayName("Test that checks if the NLP rules analyze every distinct path segment only once.")
+    void distinctSegmentsOnce() {
+        String contents = new SpecGenerator(3).paths(300).violationsPerRule(2).generate(SpecGenerator.Format.JSON);
+        RestAnalyzer restAnalyzer = RestAnalyzer.fromContents(contents);
+        restAnalyzer.runRuleViolationChecks(List.of(new PluralNameRule(true), new SingularDocumentNameRule(true),
+                new VerbPhraseRule(true), new HyphensRule(true)));
+
+        PathSegments pathSegments = RestAnalyzer.getPathSegments();
+        int occurrences = new OpenAPIParser().readContents(contents, null, null).getOpenAPI().getPaths().keySet().stream()
+                .mapToInt(path -> path.split("/").length).sum();
+        // every distinct segment is tagged and split once, the rules only tag a few words of the splits on their own
+        assertTrue(pathSegments.getComputations() <= 3 * pathSegments.getSegments().size(),
+                pathSegments.getComputations() + " computations for " + pathSegments.getSegments().size()
+                        + " distinct segments");
+        assertTrue(pathSegments.getSegments().size() < occurrences / 4);
+    }
+
+    @Test
+    @DisplayName("Test that checks if the shared tags and splits are the same as the ones of Utility.")
+    void sameAsUtility() throws IOException {
+        OpenAPI openAPI = new OpenAPIParser().readContents(new SpecGenerator(5).paths(50).violationsPerRule(1)
+                .generate(SpecGenerator.Format.JSON), null, null).getOpenAPI();
+        PathSegments pathSegments = new PathSegments(openAPI);
+
+        for (String segment : pathSegments.getSegments()) {
+            assertEquals(Utility.getTokenNLP(segment), pathSegments.getTokenNLP(segment), segment);
+            assertEquals(Utility.splitContiguousWords(segment), pathSegments.splitContiguousWords(segment), segment);
+        }
+        assertEquals(Utility.getTokenNLP("running"), pathSegments.getTokenNLP("running"));
+        assertEquals(2 * pathSegments.getSegments().size() + 1, pathSegments.getComputations());
+    }
+}
@@ -0,0 +1,60 @@
+package cli.rule;
+
+import cli.generator.SpecGenerator;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceTreeTest {
+
+    @Test
+    @DisplayName("Test that checks if the state of every path is carried down from its first to its last segment.")
+    void pathStates() {
+        Paths paths = new Paths();
+        for (String path : List.of("/customers/{customerId}/orders", "/customers", "/customers/{customerId}",
+                "/customers/{customerId}/orders/{orderId}", "/", "/items/")) {
+            paths.addPathItem(path, new PathItem());
+        }
+        ResourceTree resourceTree = new ResourceTree(new OpenAPI().paths(paths));
+        AtomicInteger transitions = new AtomicInteger();
+
+        Map<String, String> pathStates = resourceTree.getPathStates("", (state, node) -> {
+            transitions.incrementAndGet();
+            return node.isFirstSegment() ? node.getSegment() : state + "|" + node.getSegment();
+        });
+
+        assertEquals(5, resourceTree.getNodeCount());
+        assertEquals(5, transitions.get());
+        assertEquals(new ArrayList<>(paths.keySet()), new ArrayList<>(pathStates.keySet()));
+        assertEquals("customers|{customerId}|orders", pathStates.get("/customers/{customerId}/orders"));
+        assertEquals("customers", pathStates.get("/customers"));
+        assertEquals("customers|{customerId}|orders|{orderId}", pathStates.get("/customers/{customerId}/orders/{orderId}"));
+        assertEquals("", pathStates.get("/"));
+        assertEquals("items", pathStates.get("/items/"));
+    }
+
+    @Test
+    @DisplayName("Test that checks if shared prefixes of a large definition are only one node.")
+    void sharedPrefixes() {
+        OpenAPI openAPI = new OpenAPIParser().readContents(new SpecGenerator(2).paths(1000)
+                .generate(SpecGenerator.Format.JSON), null, null).getOpenAPI();
+        int segments = openAPI.getPaths().keySet().stream().mapToInt(path -> path.substring(1).split("/").length)
+                .sum();
+
+        ResourceTree resourceTree = new ResourceTree(openAPI);
+
+        assertTrue(resourceTree.getNodeCount() < segments, resourceTree.getNodeCount() + " nodes for " + segments
+                + " segments");
+        assertEquals(openAPI.getPaths().size(), resourceTree.getPathStates(0, (depth, node) -> depth + 1).size());
+    }
+}
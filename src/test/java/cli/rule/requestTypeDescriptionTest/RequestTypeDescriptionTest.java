@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.net.MalformedURLException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -38,6 +39,18 @@ public class RequestTypeDescriptionTest {
                 "Detection of violations should work.");
     }
 
+    @Test
+    @DisplayName("Test that equal requests of different paths are reported for their own path.")
+    void checkViolationOnEqualPathItems() {
+
+        String url = "src/test/java/cli/rule/requestTypeDescriptionTest/requestTypeDescriptionSamePathItems.yaml";
+        List<Violation> violationToTest = new RestAnalyzer(url)
+                .runRuleViolationChecks(List.of(new RequestTypeDescriptionRule(true)));
+
+        assertEquals(List.of("/orders", "/invoices"),
+                violationToTest.stream().map(Violation::getKeyViolation).collect(Collectors.toList()));
+    }
+
     private List<Violation> runMethodUnderTest(String url) throws MalformedURLException {
 
         this.restAnalyzer = new RestAnalyzer(url);
@@ -17,6 +17,8 @@ class UnauthorizedRuleTest {
             "/InvalidOpernAPIUnauthorizedRuleGlobalSec.json";
     final static String PATH_LOCAL_SEC = "src/test/java/cli/rule/unauthorizedTest" +
             "/InvalidOpenAPIUnauthorizedRuleLocalSec.json";
+    final static String PATH_ALL_METHODS = "src/test/java/cli/rule/unauthorizedTest" +
+            "/InvalidOpenAPIUnauthorizedRuleAllMethods.yaml";
     final static String PATH_TO_VALIDOPEAPI = "src/test/java/cli/validopenapi/validOpenAPI.json";
     final static List<String> PATHS_TO_OPENAPI = List.of(PATH_GLOBAL_SEC, PATH_LOCAL_SEC);
 
@@ -41,6 +43,15 @@ class UnauthorizedRuleTest {
         assertTrue(violations.isEmpty());
     }
 
+    @Test
+    @DisplayName("Test that checks if HEAD, OPTIONS and TRACE and operations without responses are checked.")
+    void checkStaticAllMethods() {
+        List<Violation> violations = runMethodUnderTest(PATH_ALL_METHODS);
+        assertEquals(2, violations.size());
+        assertTrue(violations.get(0).getImprovementSuggestion().contains("HEAD"));
+        assertTrue(violations.get(1).getImprovementSuggestion().contains("TRACE"));
+    }
+
     private List<Violation> runMethodUnderTest(String path) {
         this.restAnalyzer = new RestAnalyzer(path);
         this.unauthorizedRule = new UnauthorizedRule(true);
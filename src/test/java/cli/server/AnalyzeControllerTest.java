@@ -0,0 +1,70 @@
+package cli.server;
+
+import cli.analyzer.RestAnalyzer;
+import cli.rule.ActiveRules;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyzeControllerTest {
+
+    private static final String URL = "src/test/java/cli/rule/underscoreTest/InvalidOpenAPIUnderscroeRule.json";
+    private static EmbeddedServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() {
+        server = ApplicationContext.run(EmbeddedServer.class, Map.of("micronaut.server.port", -1));
+        client = HttpClient.create(server.getURL());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test that checks if the service returns the same violations as an analysis of the file.")
+    @SuppressWarnings("unchecked")
+    void analyzeDefinition() throws Exception {
+        String definition = Files.readString(Path.of(URL));
+
+        HttpResponse<Map> response = client.toBlocking().exchange(HttpRequest.POST("/analyze", definition)
+                .contentType(MediaType.APPLICATION_JSON_TYPE), Map.class);
+        int expected = new RestAnalyzer(URL).runRuleViolationChecks(new ActiveRules().getAllRuleObjects()).size();
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        Map<?, ?> body = response.getBody().orElseThrow();
+        assertEquals(expected, body.get("violationCount"), "The service should find the same violations.");
+        List<Map<?, ?>> violations = (List<Map<?, ?>>) body.get("violations");
+        assertTrue(violations.stream().anyMatch(v -> v.get("rule").equals("Underscores (_) should not be used in URI")
+                && (int) v.get("line") > 0), "The violations should contain the line of the path.");
+    }
+
+    @Test
+    @DisplayName("Test that checks if a definition that cannot be parsed is rejected with 400.")
+    void invalidDefinition() {
+        HttpClientResponseException e = assertThrows(HttpClientResponseException.class, () -> client.toBlocking()
+                .exchange(HttpRequest.POST("/analyze", "no definition").contentType(MediaType.TEXT_PLAIN_TYPE),
+                        Map.class));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+}
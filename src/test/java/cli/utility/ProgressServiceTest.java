@@ -0,0 +1,39 @@
+package cli.utility;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressServiceTest {
+
+    @Test
+    @DisplayName("Test that checks if the bar shows the share of finished steps in steps of ten percent.")
+    void formatBar() {
+        assertEquals("[          ] 0%", ProgressService.formatBar(0, 10, 1));
+        assertEquals("[=====     ] 50%", ProgressService.formatBar(5, 10, 1));
+        assertEquals("[=====     ] 50%", ProgressService.formatBar(59, 100, 1));
+        assertEquals("[==========] 100%", ProgressService.formatBar(10, 10, 1));
+        assertEquals("[===       ] 30% (3 rules)", ProgressService.formatBar(3, 10, 3));
+        assertEquals("[          ] 0%", ProgressService.formatBar(0, 0, 1));
+    }
+
+    @Test
+    @DisplayName("Test that checks if nothing is drawn when the output is not a terminal.")
+    void disabledWithoutTerminal() {
+        if (System.console() != null)
+            return;
+        assertFalse(ProgressService.isEnabled());
+        try (ProgressService.Task first = ProgressService.begin();
+             ProgressService.Task second = ProgressService.begin()) {
+            assertSame(first, second);
+            Output.progressPercentage(1, 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that checks if more checked than existing paths are rejected.")
+    void invalidProgress() {
+        assertThrows(IllegalArgumentException.class, () -> Output.progressPercentage(3, 2));
+    }
+}